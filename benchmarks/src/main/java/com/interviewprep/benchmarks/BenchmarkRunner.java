@@ -0,0 +1,43 @@
+package com.interviewprep.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Entry point of benchmarks.jar.
+ *
+ * Accepts the usual JMH command line (e.g. {@code -p size=10,1000 ListBenchmark}) and
+ * defaults to JSON output in {@code results/collections.json}, the file the app reads
+ * to show published numbers instead of one-off timings.
+ */
+public class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "results/collections.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("com\\.interviewprep\\.benchmarks\\..*Benchmark");
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        String resultFile = commandLine.getResult().orElse(DEFAULT_RESULT_FILE);
+        File parent = new File(resultFile).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        options.result(resultFile);
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package com.interviewprep.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Pre-boxed lookup keys so the benchmarks measure the collection, not Integer.valueOf()
+ */
+final class Keys {
+
+    static final int COUNT = 1024;
+    static final int MASK = COUNT - 1;
+
+    private static final long SEED = 42L;
+
+    private Keys() {
+    }
+
+    /**
+     * Random keys in [0, size), all present in a collection filled with 0..size-1
+     */
+    static Integer[] present(int size) {
+        Random random = new Random(SEED);
+        Integer[] keys = new Integer[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = random.nextInt(size);
+        }
+        return keys;
+    }
+
+    /**
+     * Random keys in [size, 2 * size), never present in a collection filled with 0..size-1
+     */
+    static Integer[] absent(int size) {
+        Random random = new Random(SEED + 1);
+        Integer[] keys = new Integer[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = size + random.nextInt(size);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,75 @@
+package com.interviewprep.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArrayList vs LinkedList, the comparison made in CollectionsExamples.demonstrateLists()
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class ListBenchmark {
+
+    @Param({"ArrayList", "LinkedList"})
+    public String type;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private List<Integer> list;
+    private final Integer element = 42;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = "ArrayList".equals(type) ? new ArrayList<>() : new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+    }
+
+    /**
+     * Insert and remove at the head, keeping the size constant between invocations
+     */
+    @Benchmark
+    public Integer addFirst() {
+        list.add(0, element);
+        return list.remove(0);
+    }
+
+    /**
+     * Append and remove at the tail
+     */
+    @Benchmark
+    public Integer addLast() {
+        list.add(element);
+        return list.remove(list.size() - 1);
+    }
+
+    /**
+     * Positional access in the middle of the list
+     */
+    @Benchmark
+    public Integer getMiddle() {
+        return list.get(size / 2);
+    }
+
+    /**
+     * Full traversal through the iterator
+     */
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : list) {
+            sum += value;
+        }
+        return sum;
+    }
+}
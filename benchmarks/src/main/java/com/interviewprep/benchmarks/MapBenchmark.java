@@ -0,0 +1,74 @@
+package com.interviewprep.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashMap vs TreeMap, the structures used in CollectionsExamples.demonstrateMaps()
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class MapBenchmark {
+
+    @Param({"HashMap", "TreeMap"})
+    public String type;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private Map<Integer, Integer> map;
+    private Integer[] presentKeys;
+    private Integer[] absentKeys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = "HashMap".equals(type) ? new HashMap<>() : new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(i, i);
+        }
+        presentKeys = Keys.present(size);
+        absentKeys = Keys.absent(size);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(presentKeys[cursor++ & Keys.MASK]);
+    }
+
+    /**
+     * Overwrite the value of an existing key
+     */
+    @Benchmark
+    public Integer putExisting() {
+        Integer key = presentKeys[cursor++ & Keys.MASK];
+        return map.put(key, key);
+    }
+
+    /**
+     * Insert a new key and remove it again, keeping the size constant
+     */
+    @Benchmark
+    public Integer putRemove() {
+        Integer key = absentKeys[cursor++ & Keys.MASK];
+        map.put(key, key);
+        return map.remove(key);
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+}
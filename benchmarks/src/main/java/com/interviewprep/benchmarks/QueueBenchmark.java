@@ -0,0 +1,53 @@
+package com.interviewprep.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedList;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PriorityQueue vs LinkedList used as a Queue, as in CollectionsExamples.demonstrateQueues()
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class QueueBenchmark {
+
+    @Param({"PriorityQueue", "LinkedList"})
+    public String type;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private Queue<Integer> queue;
+    private Integer[] keys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = "PriorityQueue".equals(type) ? new PriorityQueue<>() : new LinkedList<>();
+        keys = Keys.present(size);
+        for (int i = 0; i < size; i++) {
+            queue.offer(keys[i & Keys.MASK]);
+        }
+    }
+
+    /**
+     * Offer one element and poll the head, keeping the size constant
+     */
+    @Benchmark
+    public Integer offerPoll() {
+        queue.offer(keys[cursor++ & Keys.MASK]);
+        return queue.poll();
+    }
+
+    @Benchmark
+    public Integer peek() {
+        return queue.peek();
+    }
+}
@@ -0,0 +1,65 @@
+package com.interviewprep.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashSet vs TreeSet, the structures used in CollectionsExamples.demonstrateSets()
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class SetBenchmark {
+
+    @Param({"HashSet", "TreeSet"})
+    public String type;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private Set<Integer> set;
+    private Integer[] presentKeys;
+    private Integer[] absentKeys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        set = "HashSet".equals(type) ? new HashSet<>() : new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(i);
+        }
+        presentKeys = Keys.present(size);
+        absentKeys = Keys.absent(size);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(presentKeys[cursor++ & Keys.MASK]);
+    }
+
+    /**
+     * Add a missing element and remove it again, keeping the size constant
+     */
+    @Benchmark
+    public boolean addRemove() {
+        Integer key = absentKeys[cursor++ & Keys.MASK];
+        set.add(key);
+        return set.remove(key);
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : set) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,199 @@
+package com.interviewprep;
+
+import com.interviewprep.quiz.QuestionBankLoader;
+import com.interviewprep.quiz.QuizEngine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Headless mode of the app: replays a script of console input, the menu choices and quiz
+ * answers a user would type, as many times as requested and in parallel.
+ *
+ * A script is a text file with one line of input per line. Blank lines and lines starting
+ * with '#' are skipped, and {@code <enter>} stands for pressing Enter alone. Each session runs the same menu loop as the
+ * interactive app on its own Scanner over the script. Screens are not printed unless
+ * --verbose is given, and quizzes run on an engine of their own, so load runs do not end
+ * up in the saved quiz results. The report counts sessions that reached Exit, sessions
+ * whose script ran out before that (usually a script that no longer matches the menus)
+ * and sessions that threw, with session latency percentiles.
+ *
+ * <pre>
+ * java -jar app.jar --script quiz-session.txt --sessions 10000 --threads 8
+ * </pre>
+ */
+public final class BatchMode {
+    
+    private static final String ENTER = "<enter>";
+    private static final String USAGE =
+        "Usage: --script <file> [--sessions <count>] [--threads <count>] [--verbose]";
+    
+    private final List<String> script;
+    private final int sessions;
+    private final int threads;
+    private final boolean verbose;
+    
+    private final QuizEngine quizEngine = new QuizEngine(QuestionBankLoader.defaultBank());
+    private final AtomicInteger quizzes = new AtomicInteger();
+    private final AtomicLong quizPercentTotal = new AtomicLong();
+    
+    BatchMode(List<String> script, int sessions, int threads, boolean verbose) {
+        this.script = script;
+        this.sessions = sessions;
+        this.threads = threads;
+        this.verbose = verbose;
+        quizEngine.addResultListener(result -> {
+            quizzes.incrementAndGet();
+            quizPercentTotal.addAndGet(Math.round(result.getPercentage()));
+        });
+    }
+    
+    /**
+     * Parses the command line, runs the sessions and prints the report
+     *
+     * @return the process exit code: 0 if every session reached Exit, 1 if any did not,
+     *         2 for invalid arguments or an unreadable script
+     */
+    static int run(String[] args) {
+        Path scriptFile = null;
+        int sessions = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean verbose = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--script":
+                        scriptFile = Paths.get(args[++i]);
+                        break;
+                    case "--sessions":
+                        sessions = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--verbose":
+                        verbose = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.out.println("❌ Missing value for " + args[args.length - 1]);
+            System.out.println(USAGE);
+            return 2;
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ " + e.getMessage());
+            System.out.println(USAGE);
+            return 2;
+        }
+        if (scriptFile == null || sessions < 1 || threads < 1) {
+            System.out.println(USAGE);
+            return 2;
+        }
+        
+        List<String> script;
+        try {
+            script = parseScript(Files.readAllLines(scriptFile));
+        } catch (IOException e) {
+            System.out.println("❌ Could not read script " + scriptFile + ": " + e.getMessage());
+            return 2;
+        }
+        return new BatchMode(script, sessions, threads, verbose).runSessions(System.out);
+    }
+    
+    /**
+     * The input lines of a script, without blank lines and comments
+     */
+    static List<String> parseScript(List<String> lines) {
+        return lines.stream()
+            .map(String::trim)
+            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+            .map(line -> line.equals(ENTER) ? "" : line)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Runs every session and writes the report to the given stream
+     *
+     * @return 0 if every session reached Exit, 1 otherwise
+     */
+    int runSessions(PrintStream report) {
+        String input = String.join("\n", script) + "\n";
+        AtomicInteger exited = new AtomicInteger();
+        AtomicInteger outOfInput = new AtomicInteger();
+        List<String> failures = new ArrayList<>();
+        long[] latencies = new long[sessions];
+        
+        List<Callable<Void>> tasks = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            int session = i;
+            tasks.add(() -> {
+                long start = System.nanoTime();
+                try {
+                    if (Main.runSession(new Scanner(input), quizEngine)) {
+                        exited.incrementAndGet();
+                    } else {
+                        outOfInput.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    synchronized (failures) {
+                        failures.add("Session " + (session + 1) + ": " + e);
+                    }
+                }
+                latencies[session] = System.nanoTime() - start;
+                return null;
+            });
+        }
+        
+        PrintStream console = System.out;
+        if (!verbose) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            pool.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+            System.setOut(console);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        Arrays.sort(latencies);
+        report.println("\n📋 BATCH RUN");
+        report.println("============");
+        report.printf("Script: %d input lines, %,d sessions on %d threads%n", script.size(), sessions, threads);
+        report.printf("Reached Exit: %,d, ran out of input: %,d, failed: %,d%n",
+            exited.get(), outOfInput.get(), failures.size());
+        if (quizzes.get() > 0) {
+            report.printf("Quizzes finished: %,d, average score %.1f%%%n",
+                quizzes.get(), (double) quizPercentTotal.get() / quizzes.get());
+        }
+        report.printf("Wall time: %.2f s, %,.0f sessions/s%n", seconds, sessions / seconds);
+        report.printf("Session latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6, latencies[sessions - 1] / 1e6);
+        failures.stream().limit(5).forEach(failure -> report.println("❌ " + failure));
+        return exited.get() == sessions ? 0 : 1;
+    }
+    
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
@@ -2,7 +2,11 @@ package com.interviewprep;
 
 import com.interviewprep.concepts.*;
 import com.interviewprep.maven.MavenConcepts;
+import com.interviewprep.quiz.QuestionBankLoader;
+import com.interviewprep.quiz.QuizEngine;
 import com.interviewprep.quiz.QuizSystem;
+import com.interviewprep.util.BufferedConsole;
+import com.interviewprep.util.EndOfInputException;
 
 import java.util.Scanner;
 
@@ -12,15 +16,46 @@ import java.util.Scanner;
  */
 public class Main {
     
+    /** Thread mode of the multithreading demos, switchable from their menu */
+    private static boolean virtualThreads = MultithreadingExamples.isVirtualThreadModeRequested();
+    
+    /**
+     * Starts the interactive app, or with arguments the headless {@link BatchMode}
+     */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(BatchMode.run(args));
+        }
+        BufferedConsole.install();
         Scanner scanner = new Scanner(System.in);
         
         System.out.println("🚀 Welcome to Java Interview Preparation App!");
         System.out.println("=============================================");
         
+        runSession(scanner, null);
+        scanner.close();
+    }
+    
+    /**
+     * Runs the menu loop on the input until the user chooses Exit
+     *
+     * @param quizEngine engine for quizzes and search, or null for the default one whose
+     *                   results are saved
+     * @return true on Exit, false if the input ended first
+     */
+    static boolean runSession(Scanner scanner, QuizEngine quizEngine) {
+        try {
+            runMenu(scanner, quizEngine);
+            return true;
+        } catch (EndOfInputException e) {
+            return false;
+        }
+    }
+    
+    private static void runMenu(Scanner scanner, QuizEngine quizEngine) {
         while (true) {
             displayMainMenu();
-            int choice = getValidChoice(scanner, 1, 6);
+            int choice = getValidChoice(scanner, 0, 7);
             
             switch (choice) {
                 case 1:
@@ -39,11 +74,13 @@ public class Main {
                     exploreMavenConcepts(scanner);
                     break;
                 case 6:
-                    startQuiz(scanner);
+                    startQuiz(scanner, quizEngine);
+                    break;
+                case 7:
+                    searchQuestions(scanner, quizEngine);
                     break;
                 case 0:
                     System.out.println("👋 Thank you for using Java Interview Prep! Good luck with your interview!");
-                    scanner.close();
                     return;
                 default:
                     System.out.println("❌ Invalid choice. Please try again.");
@@ -61,6 +98,7 @@ public class Main {
         System.out.println("4. 🔄 Multithreading & Concurrency");
         System.out.println("5. 🛠️  Maven Concepts");
         System.out.println("6. 🧠 Take a Quiz");
+        System.out.println("7. 🔍 Search Questions");
         System.out.println("0. 🚪 Exit");
         System.out.print("\nEnter your choice: ");
     }
@@ -107,10 +145,14 @@ public class Main {
         System.out.println("2. Set Interface (HashSet, TreeSet)");
         System.out.println("3. Map Interface (HashMap, TreeMap)");
         System.out.println("4. Queue Interface (PriorityQueue)");
-        System.out.println("5. Run all examples");
+        System.out.println("5. Primitive vs Boxed Collections");
+        System.out.println("6. Off-Heap Maps");
+        System.out.println("7. Parallel Streams");
+        System.out.println("8. Sorted Maps (TreeMap vs B+-tree)");
+        System.out.println("9. Run all examples");
         System.out.print("Choose a collection type: ");
         
-        int choice = getValidChoice(scanner, 1, 5);
+        int choice = getValidChoice(scanner, 1, 9);
         
         switch (choice) {
             case 1:
@@ -126,6 +168,18 @@ public class Main {
                 collections.demonstrateQueues();
                 break;
             case 5:
+                collections.demonstratePrimitiveCollections();
+                break;
+            case 6:
+                collections.demonstrateOffHeapMaps();
+                break;
+            case 7:
+                collections.demonstrateParallelStreams();
+                break;
+            case 8:
+                collections.demonstrateSortedMaps();
+                break;
+            case 9:
                 collections.runAllExamples();
                 break;
         }
@@ -141,10 +195,12 @@ public class Main {
         System.out.println("3. Finally Block");
         System.out.println("4. Custom Exceptions");
         System.out.println("5. Try-with-Resources");
-        System.out.println("6. Run all examples");
+        System.out.println("6. Validation: Exceptions vs Result Codes");
+        System.out.println("7. Bulk Validation of a Candidate File");
+        System.out.println("8. Run all examples");
         System.out.print("Choose an example: ");
         
-        int choice = getValidChoice(scanner, 1, 6);
+        int choice = getValidChoice(scanner, 1, 8);
         
         switch (choice) {
             case 1:
@@ -163,13 +219,20 @@ public class Main {
                 exceptions.demonstrateTryWithResources();
                 break;
             case 6:
+                exceptions.demonstrateValidationCosts();
+                break;
+            case 7:
+                exceptions.demonstrateBulkValidation();
+                break;
+            case 8:
                 exceptions.runAllExamples();
                 break;
         }
     }
     
     private static void exploreMultithreading(Scanner scanner) {
-        MultithreadingExamples multithreading = new MultithreadingExamples();
+        MultithreadingExamples multithreading = new MultithreadingExamples(virtualThreads);
+        virtualThreads = multithreading.isUsingVirtualThreads();
         
         System.out.println("\n🔄 Multithreading & Concurrency");
         System.out.println("=============================");
@@ -178,10 +241,16 @@ public class Main {
         System.out.println("3. Thread Synchronization");
         System.out.println("4. Thread Communication (wait/notify)");
         System.out.println("5. ExecutorService");
-        System.out.println("6. Run all examples");
+        System.out.println("6. Fork/Join Parallelism");
+        System.out.println("7. Virtual vs Platform Threads");
+        System.out.println("8. Counter Scaling Under Contention");
+        System.out.println("9. Timing Wheel vs Scheduled Executor");
+        System.out.println("10. Run all examples");
+        System.out.println("11. Switch to " + (virtualThreads ? "platform" : "virtual") + " threads (now: "
+            + (virtualThreads ? "virtual" : "platform") + ")");
         System.out.print("Choose an example: ");
         
-        int choice = getValidChoice(scanner, 1, 6);
+        int choice = getValidChoice(scanner, 1, 11);
         
         switch (choice) {
             case 1:
@@ -200,8 +269,24 @@ public class Main {
                 multithreading.demonstrateExecutorService();
                 break;
             case 6:
+                multithreading.demonstrateForkJoin();
+                break;
+            case 7:
+                multithreading.demonstrateVirtualThreads();
+                break;
+            case 8:
+                multithreading.demonstrateCounterScaling();
+                break;
+            case 9:
+                multithreading.demonstrateTimerQueues();
+                break;
+            case 10:
                 multithreading.runAllExamples();
                 break;
+            case 11:
+                virtualThreads = new MultithreadingExamples(!virtualThreads).isUsingVirtualThreads();
+                System.out.println("Thread demos now run on " + (virtualThreads ? "virtual" : "platform") + " threads");
+                break;
         }
     }
     
@@ -238,15 +323,22 @@ public class Main {
         }
     }
     
-    private static void startQuiz(Scanner scanner) {
-        QuizSystem quiz = new QuizSystem();
+    private static void startQuiz(Scanner scanner, QuizEngine quizEngine) {
+        QuizSystem quiz = quizEngine != null ? new QuizSystem(quizEngine) : new QuizSystem();
         quiz.startQuiz(scanner);
     }
     
+    private static void searchQuestions(Scanner scanner, QuizEngine quizEngine) {
+        QuizSystem quiz = quizEngine != null
+            ? new QuizSystem(quizEngine)
+            : new QuizSystem(QuestionBankLoader.defaultBank());
+        quiz.searchQuestions(scanner);
+    }
+    
     private static int getValidChoice(Scanner scanner, int min, int max) {
         while (true) {
             try {
-                int choice = Integer.parseInt(scanner.nextLine().trim());
+                int choice = Integer.parseInt(BufferedConsole.readLine(scanner).trim());
                 if (choice >= min && choice <= max) {
                     return choice;
                 } else {
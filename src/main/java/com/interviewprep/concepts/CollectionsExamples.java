@@ -1,7 +1,30 @@
 package com.interviewprep.concepts;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewprep.util.IndexedMinHeap;
+import com.interviewprep.util.IntArrayList;
+import com.interviewprep.util.IntBinaryHeap;
+import com.interviewprep.util.IntIntHashMap;
+import com.interviewprep.util.IntIntTreeMap;
+import com.interviewprep.util.IntSortedSet;
+import com.interviewprep.util.OffHeapLongLongMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Demonstrates the Java Collections Framework with practical examples
@@ -9,6 +32,16 @@ import java.util.stream.Collectors;
  */
 public class CollectionsExamples {
     
+    /** System property pointing at the JMH JSON output of the benchmarks module */
+    public static final String BENCHMARK_RESULTS_PROPERTY = "interviewprep.benchmark.results";
+    private static final String DEFAULT_BENCHMARK_RESULTS = "benchmarks/results/collections.json";
+    private static final int PRIMITIVE_ELEMENTS = 1_000_000;
+    private static final int OFF_HEAP_ENTRIES = 4_000_000;
+    private static final int STREAM_ELEMENTS = 2_000_000;
+    private static final int SORTED_MAP_KEYS = 10_000_000;
+    private static final int RANGE_SCAN_LENGTH = 1_000;
+    private static final String[] FRUITS = {"Apple", "Banana", "Cherry", "Date", "Elderberry"};
+    
     // ==================== LISTS ====================
     
     /**
@@ -43,18 +76,22 @@ public class CollectionsExamples {
         System.out.println("First element: " + linkedList.getFirst());
         System.out.println("Last element: " + linkedList.getLast());
         
-        // Performance comparison
-        System.out.println("\n--- Performance Comparison ---");
-        long startTime = System.nanoTime();
-        arrayList.add(0, "New Fruit"); // O(n) operation
-        long arrayListTime = System.nanoTime() - startTime;
+        // IntArrayList - the same values without boxing
+        System.out.println("\n--- IntArrayList (primitive ints) ---");
+        IntArrayList intList = new IntArrayList();
+        intList.add(10);
+        intList.add(0, 5);
+        intList.add(15);
+        intList.add(20);
         
-        startTime = System.nanoTime();
-        linkedList.addFirst(1); // O(1) operation
-        long linkedListTime = System.nanoTime() - startTime;
+        System.out.println("IntArrayList: " + intList);
+        System.out.println("First element: " + intList.get(0));
+        System.out.println("Last element: " + intList.get(intList.size() - 1));
         
-        System.out.println("ArrayList add at beginning: " + arrayListTime + " ns");
-        System.out.println("LinkedList add at beginning: " + linkedListTime + " ns");
+        // Performance comparison (measured by the JMH module in benchmarks/)
+        System.out.println("\n--- Performance Comparison ---");
+        System.out.println("ArrayList add at beginning: O(n), LinkedList add at beginning: O(1)");
+        showPublishedResults("ListBenchmark");
     }
     
     // ==================== SETS ====================
@@ -92,6 +129,20 @@ public class CollectionsExamples {
         System.out.println("Elements less than 25: " + treeSet.headSet(25));
         System.out.println("Elements greater than 15: " + treeSet.tailSet(15));
         
+        // IntSortedSet - sorted blocks of primitive ints
+        System.out.println("\n--- IntSortedSet (primitive ints) ---");
+        IntSortedSet intSet = new IntSortedSet();
+        intSet.add(30);
+        intSet.add(10);
+        intSet.add(50);
+        intSet.add(20);
+        
+        System.out.println("IntSortedSet (sorted): " + intSet);
+        System.out.println("First element: " + intSet.first());
+        System.out.println("Last element: " + intSet.last());
+        System.out.println("Elements less than 25: " + Arrays.toString(intSet.headSet(25)));
+        System.out.println("Elements greater than 15: " + Arrays.toString(intSet.tailSet(15)));
+        
         // Set operations
         System.out.println("\n--- Set Operations ---");
         Set<String> set1 = new HashSet<>(Arrays.asList("A", "B", "C"));
@@ -114,6 +165,9 @@ public class CollectionsExamples {
         Set<String> difference = new HashSet<>(set1);
         difference.removeAll(set2);
         System.out.println("Difference (set1 - set2): " + difference);
+        
+        System.out.println("\n--- Performance Comparison ---");
+        showPublishedResults("SetBenchmark");
     }
     
     // ==================== MAPS ====================
@@ -151,6 +205,29 @@ public class CollectionsExamples {
         System.out.println("Last key: " + treeMap.lastKey());
         System.out.println("Keys less than 'D': " + treeMap.headMap("D").keySet());
         
+        // IntIntHashMap - open addressing, keys and values unboxed
+        System.out.println("\n--- IntIntHashMap (question id -> times answered) ---");
+        IntIntHashMap answerCounts = new IntIntHashMap();
+        for (int questionId : new int[] {101, 205, 101, 307, 101, 205}) {
+            answerCounts.addTo(questionId, 1); // merge(key, 1, Integer::sum) without boxing
+        }
+        System.out.println("IntIntHashMap: " + answerCounts);
+        System.out.println("Question 101 count: " + answerCounts.get(101, 0));
+        System.out.println("Contains key 999: " + answerCounts.containsKey(999));
+        
+        // IntIntTreeMap - B+-tree with sorted int arrays in linked leaves
+        System.out.println("\n--- IntIntTreeMap (score -> students with that score) ---");
+        IntIntTreeMap scoreCounts = new IntIntTreeMap();
+        for (int score : new int[] {72, 95, 88, 72, 60, 95, 72}) {
+            scoreCounts.put(score, scoreCounts.get(score, 0) + 1);
+        }
+        System.out.println("IntIntTreeMap (sorted by keys): " + scoreCounts);
+        System.out.println("First key: " + scoreCounts.firstKey() + ", last key: " + scoreCounts.lastKey());
+        System.out.println("Floor of 90: " + scoreCounts.floorKey(90, -1) + ", ceiling of 90: " + scoreCounts.ceilingKey(90, -1));
+        StringJoiner below80 = new StringJoiner(", ", "[", "]");
+        scoreCounts.headMap(80, (score, count) -> below80.add(String.valueOf(score)));
+        System.out.println("Keys less than 80: " + below80);
+        
         // Map iteration
         System.out.println("\n--- Map Iteration ---");
         System.out.println("Iterating through HashMap:");
@@ -162,6 +239,132 @@ public class CollectionsExamples {
         System.out.println("\nUsing forEach:");
         hashMap.forEach((key, value) -> 
             System.out.println(key + " -> " + value));
+        
+        System.out.println("\n--- Performance Comparison ---");
+        showPublishedResults("MapBenchmark");
+    }
+    
+    /**
+     * TreeMap against the B+-tree IntIntTreeMap at 10M random keys: insert throughput,
+     * point lookups, short range scans and the heap each one holds
+     */
+    public void demonstrateSortedMaps() {
+        System.out.println("\n🌳 SORTED MAPS: TREEMAP VS B+-TREE");
+        System.out.println("=================================");
+        System.out.printf("%,d random int keys; range scans over key ranges holding ~%,d keys each%n%n",
+            SORTED_MAP_KEYS, RANGE_SCAN_LENGTH);
+        
+        // A small round first, so the measured loops are compiled
+        int[] warmupKeys = new Random(7).ints(200_000).toArray();
+        measureTreeMap(warmupKeys);
+        measureIntTreeMap(warmupKeys);
+        
+        int[] keys = new Random(42).ints(SORTED_MAP_KEYS).toArray();
+        double[] treeMap = measureTreeMap(keys);
+        double[] intTreeMap = measureIntTreeMap(keys);
+        
+        System.out.printf("%-22s %14s %14s %9s%n", "Operation", "TreeMap", "IntIntTreeMap", "Speed-up");
+        String[] operations = {"Insert (M ops/s)", "Lookup (M ops/s)", "Range scan (M keys/s)"};
+        for (int i = 0; i < operations.length; i++) {
+            System.out.printf("%-22s %,14.2f %,14.2f %8.1fx%n", operations[i], treeMap[i], intTreeMap[i], intTreeMap[i] / treeMap[i]);
+        }
+        System.out.printf("%-22s %,14.0f %,14.0f %8.1fx%n", "Heap (MB)", treeMap[3], intTreeMap[3], treeMap[3] / intTreeMap[3]);
+        
+        System.out.println("\nEach TreeMap entry is a separate node reached by pointer, so every level of a");
+        System.out.println("lookup and every step of a scan is likely a cache miss. The B+-tree binary-searches");
+        System.out.println("a few int arrays per lookup and scans leaves front to back.");
+    }
+    
+    /**
+     * Inserts, looks up and range-scans the keys; returns insert, lookup and scan rates
+     * and the heap the map holds in MB
+     */
+    private double[] measureTreeMap(int[] keys) {
+        long baselineHeap = usedHeapAfterGc();
+        TreeMap<Integer, Integer> map = new TreeMap<>();
+        long start = System.nanoTime();
+        for (int key : keys) {
+            Integer boxed = key;
+            map.put(boxed, boxed);
+        }
+        double insertSeconds = (System.nanoTime() - start) / 1e9;
+        double heapMegabytes = (usedHeapAfterGc() - baselineHeap) / (1024.0 * 1024);
+        
+        start = System.nanoTime();
+        long found = 0;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            found += map.get(keys[i]);
+        }
+        double lookupSeconds = (System.nanoTime() - start) / 1e9;
+        
+        int scans = keys.length / RANGE_SCAN_LENGTH;
+        int span = rangeSpan(keys.length);
+        start = System.nanoTime();
+        long scanned = 0;
+        for (int i = 0; i < scans; i++) {
+            for (int value : map.subMap(keys[i], rangeEnd(keys[i], span)).values()) {
+                found += value;
+                scanned++;
+            }
+        }
+        double scanSeconds = (System.nanoTime() - start) / 1e9;
+        if (found == Long.MIN_VALUE) {
+            System.out.println(); // keeps the loops from being optimized away
+        }
+        return new double[] {map.size() / insertSeconds / 1e6, keys.length / lookupSeconds / 1e6,
+            scanned / scanSeconds / 1e6, heapMegabytes};
+    }
+    
+    private double[] measureIntTreeMap(int[] keys) {
+        long baselineHeap = usedHeapAfterGc();
+        IntIntTreeMap map = new IntIntTreeMap();
+        long start = System.nanoTime();
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        double insertSeconds = (System.nanoTime() - start) / 1e9;
+        double heapMegabytes = (usedHeapAfterGc() - baselineHeap) / (1024.0 * 1024);
+        
+        start = System.nanoTime();
+        long found = 0;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            found += map.get(keys[i], 0);
+        }
+        double lookupSeconds = (System.nanoTime() - start) / 1e9;
+        
+        int scans = keys.length / RANGE_SCAN_LENGTH;
+        int span = rangeSpan(keys.length);
+        long[] sum = {found, 0};
+        start = System.nanoTime();
+        for (int i = 0; i < scans; i++) {
+            map.subMap(keys[i], rangeEnd(keys[i], span), (key, value) -> {
+                sum[0] += value;
+                sum[1]++;
+            });
+        }
+        double scanSeconds = (System.nanoTime() - start) / 1e9;
+        if (sum[0] == Long.MIN_VALUE) {
+            System.out.println(); // keeps the loops from being optimized away
+        }
+        return new double[] {map.size() / insertSeconds / 1e6, keys.length / lookupSeconds / 1e6,
+            sum[1] / scanSeconds / 1e6, heapMegabytes};
+    }
+    
+    /**
+     * Width of a key range that holds about RANGE_SCAN_LENGTH of the random keys
+     */
+    private static int rangeSpan(int keyCount) {
+        return (int) ((1L << 32) * RANGE_SCAN_LENGTH / keyCount);
+    }
+    
+    private static int rangeEnd(int from, int span) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) from + span);
+    }
+    
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
     }
     
     // ==================== QUEUES ====================
@@ -186,6 +389,19 @@ public class CollectionsExamples {
         System.out.println("Poll (remove highest priority): " + priorityQueue.poll());
         System.out.println("After poll: " + priorityQueue);
         
+        // IntBinaryHeap - the same min-heap over an int array
+        System.out.println("\n--- IntBinaryHeap (primitive ints) ---");
+        IntBinaryHeap intHeap = new IntBinaryHeap();
+        intHeap.offer(30);
+        intHeap.offer(10);
+        intHeap.offer(50);
+        intHeap.offer(20);
+        
+        System.out.println("IntBinaryHeap: " + intHeap);
+        System.out.println("Peek (highest priority): " + intHeap.peek());
+        System.out.println("Poll (remove highest priority): " + intHeap.poll());
+        System.out.println("After poll: " + intHeap);
+        
         // PriorityQueue with custom comparator
         System.out.println("\n--- PriorityQueue (Custom Order) ---");
         PriorityQueue<String> stringQueue = new PriorityQueue<>(
@@ -201,6 +417,24 @@ public class CollectionsExamples {
             System.out.println("Processing: " + stringQueue.poll());
         }
         
+        // Indexed heap - changing a queued element's priority
+        System.out.println("\n--- Indexed Min-Heap (Update Priority) ---");
+        System.out.println("PriorityQueue can only reprioritize via remove(Object), an O(n) scan.");
+        System.out.println("An indexed heap tracks each key's position and re-sifts in O(log n):");
+        String[] topics = {"Generics", "Streams", "Threads", "Maven"};
+        IndexedMinHeap dueHours = new IndexedMinHeap();
+        dueHours.set(0, 48);
+        dueHours.set(1, 24);
+        dueHours.set(2, 72);
+        dueHours.set(3, 12);
+        System.out.println("Next due: " + topics[dueHours.peek()] + " in " + dueHours.peekPriority() + "h");
+        dueHours.set(2, 1); // answered Threads wrong, review it soon
+        System.out.println("After rescheduling Threads to 1h, next due: " + topics[dueHours.peek()]);
+        while (!dueHours.isEmpty()) {
+            long hours = dueHours.peekPriority();
+            System.out.println("Review " + topics[dueHours.poll()] + " (" + hours + "h)");
+        }
+        
         // LinkedList as Queue
         System.out.println("\n--- LinkedList as Queue ---");
         Queue<String> queue = new LinkedList<>();
@@ -212,6 +446,9 @@ public class CollectionsExamples {
         System.out.println("Peek: " + queue.peek());
         System.out.println("Poll: " + queue.poll());
         System.out.println("After poll: " + queue);
+        
+        System.out.println("\n--- Performance Comparison ---");
+        showPublishedResults("QueueBenchmark");
     }
     
     // ==================== COLLECTIONS UTILITY METHODS ====================
@@ -295,12 +532,485 @@ public class CollectionsExamples {
         System.out.println("Grouped by length: " + groupedByLength);
     }
     
+    /**
+     * The pipelines of {@link #demonstrateStreams()} over millions of generated fruit
+     * names, sequentially and with parallel(); how the source's spliterator splits; and
+     * how lazy evaluation lets a short-circuiting pipeline stop early
+     */
+    public void demonstrateParallelStreams() {
+        System.out.println("\n⚡ PARALLEL STREAMS");
+        System.out.println("==================");
+        System.out.printf("%,d generated fruit names, %d CPUs, common pool parallelism %d%n",
+            STREAM_ELEMENTS, Runtime.getRuntime().availableProcessors(), ForkJoinPool.getCommonPoolParallelism());
+        
+        List<String> words = generateFruitNames(STREAM_ELEMENTS);
+        
+        System.out.println("\n--- Lazy Evaluation ---");
+        AtomicInteger visited = new AtomicInteger();
+        Stream<String> pending = words.stream()
+            .peek(word -> visited.incrementAndGet())
+            .filter(word -> word.startsWith("Elderberry"));
+        System.out.println("Pipeline built, elements visited so far: " + visited.get());
+        Optional<String> first = pending.findFirst();
+        System.out.printf("findFirst() -> %s after visiting %,d of %,d elements%n",
+            first.orElse("none"), visited.get(), words.size());
+        
+        System.out.println("\n--- Sequential vs parallel() (best of 3 after warm-up) ---");
+        System.out.printf("%-34s %9s %9s %9s  %s%n", "Pipeline", "Seq ms", "Par ms", "Speed-up", "Verdict");
+        printSpeedUp("filter(length > 8).count()",
+            () -> words.stream().filter(word -> word.length() > 8).count(),
+            () -> words.parallelStream().filter(word -> word.length() > 8).count());
+        printSpeedUp("mapToInt(length).sum()",
+            () -> words.stream().mapToInt(String::length).sum(),
+            () -> words.parallelStream().mapToInt(String::length).sum());
+        printSpeedUp("CPU-heavy mapToLong(hash).sum()",
+            () -> words.stream().mapToLong(CollectionsExamples::expensiveHash).sum(),
+            () -> words.parallelStream().mapToLong(CollectionsExamples::expensiveHash).sum());
+        printSpeedUp("groupingBy(length, counting())",
+            () -> words.stream().collect(Collectors.groupingBy(String::length, Collectors.counting())),
+            () -> words.parallelStream().collect(Collectors.groupingBy(String::length, Collectors.counting())));
+        printSpeedUp("groupingByConcurrent(length, ...)",
+            () -> words.stream().collect(Collectors.groupingBy(String::length, Collectors.counting())),
+            () -> words.parallelStream().collect(Collectors.groupingByConcurrent(String::length, Collectors.counting())));
+        printSpeedUp("sorted().collect(toList())",
+            () -> words.stream().sorted().collect(Collectors.toList()),
+            () -> words.parallelStream().sorted().collect(Collectors.toList()));
+        
+        System.out.println("\n--- Spliterator Characteristics ---");
+        System.out.printf("%-22s %-32s %-40s %7s%n", "Source", "Characteristics", "Chunks after 3 splits", "Par ms");
+        int count = STREAM_ELEMENTS / 2;
+        List<Integer> arrayList = IntStream.range(0, count).boxed().collect(Collectors.toCollection(ArrayList::new));
+        List<Integer> linkedList = new LinkedList<>(arrayList);
+        Set<Integer> hashSet = new HashSet<>(arrayList);
+        printSplitting("ArrayList", arrayList::spliterator);
+        printSplitting("LinkedList", linkedList::spliterator);
+        printSplitting("HashSet", hashSet::spliterator);
+        printSplitting("IntStream.range", () -> IntStream.range(0, count).spliterator());
+        printSplitting("Stream.iterate.limit", () -> Stream.iterate(0, i -> i + 1).limit(count).spliterator());
+        
+        System.out.println("\nparallel() pays off when there are many elements with real work per element,");
+        System.out.println("the source splits evenly (SIZED | SUBSIZED: arrays, ArrayList, ranges) and the");
+        System.out.println("results combine cheaply (sum, count). It does not when each element is cheap,");
+        System.out.println("the source splits badly (LinkedList copies out small batches, HashSet splits by");
+        System.out.println("bucket, iterate().limit() hardly at all), the terminal step merges maps or keeps");
+        System.out.println("encounter order (groupingBy, sorted), or there is only one CPU to run on.");
+        System.out.println("groupingByConcurrent skips the map merge by sharing one ConcurrentHashMap.");
+    }
+    
+    /**
+     * Deterministic fruit names such as "Cherry-4711", enough variety to group on
+     */
+    private static List<String> generateFruitNames(int count) {
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            words.add(FRUITS[random.nextInt(FRUITS.length)] + "-" + random.nextInt(1 << random.nextInt(16)));
+        }
+        return words;
+    }
+    
+    /**
+     * Stands in for real per-element work, such as parsing or scoring
+     */
+    private static long expensiveHash(String word) {
+        long hash = word.hashCode();
+        for (int round = 0; round < 200; round++) {
+            hash = (hash ^ (hash >>> 31)) * 0x9E3779B97F4A7C15L + round;
+        }
+        return hash & 0xFF;
+    }
+    
+    private void printSpeedUp(String label, Supplier<Object> sequential, Supplier<Object> parallel) {
+        double sequentialMillis = bestOfThree(sequential);
+        double parallelMillis = bestOfThree(parallel);
+        double speedUp = sequentialMillis / parallelMillis;
+        String verdict = speedUp >= 1.2 ? "pays off" : speedUp <= 0.9 ? "slower" : "no gain";
+        System.out.printf("%-34s %,9.1f %,9.1f %8.2fx  %s%n", label, sequentialMillis, parallelMillis, speedUp, verdict);
+    }
+    
+    private static double bestOfThree(Supplier<Object> pipeline) {
+        for (int warmup = 0; warmup < 2; warmup++) {
+            pipeline.get();
+        }
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            Object result = pipeline.get();
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+            if (result == null) {
+                System.out.println(); // keeps the pipeline from being optimized away
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Prints the source's spliterator characteristics, the sizes of the 8 chunks that three
+     * rounds of trySplit() produce (what the fork/join tasks of a parallel stream get), and
+     * the time of a parallel sum over a fresh one
+     */
+    private void printSplitting(String label, Supplier<Spliterator<Integer>> source) {
+        Spliterator<Integer> spliterator = source.get();
+        String characteristics = describeCharacteristics(spliterator);
+        List<Spliterator<Integer>> chunks = new ArrayList<>(List.of(spliterator));
+        for (int round = 0; round < 3; round++) {
+            List<Spliterator<Integer>> next = new ArrayList<>();
+            for (Spliterator<Integer> chunk : chunks) {
+                Spliterator<Integer> prefix = chunk.trySplit();
+                if (prefix != null) {
+                    next.add(prefix);
+                }
+                next.add(chunk);
+            }
+            chunks = next;
+        }
+        StringJoiner sizes = new StringJoiner(" ");
+        for (Spliterator<Integer> chunk : chunks) {
+            long size = chunk.getExactSizeIfKnown();
+            if (size < 0) {
+                long[] counted = new long[1];
+                chunk.forEachRemaining(value -> counted[0]++);
+                size = counted[0];
+            }
+            sizes.add(size >= 10_000 ? (size / 1_000) + "k" : String.valueOf(size));
+        }
+        double parallelMillis = bestOfThree(
+            () -> StreamSupport.stream(source.get(), true).mapToLong(Integer::longValue).sum());
+        System.out.printf("%-22s %-32s %-40s %,7.1f%n", label, characteristics, sizes, parallelMillis);
+    }
+    
+    private static String describeCharacteristics(Spliterator<?> spliterator) {
+        StringJoiner names = new StringJoiner(" ");
+        if (spliterator.hasCharacteristics(Spliterator.SIZED)) {
+            names.add("SIZED");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.SUBSIZED)) {
+            names.add("SUBSIZED");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.ORDERED)) {
+            names.add("ORDERED");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.DISTINCT)) {
+            names.add("DISTINCT");
+        }
+        return names.length() == 0 ? "(none)" : names.toString();
+    }
+    
+    // ==================== PRIMITIVE COLLECTIONS ====================
+    
+    /**
+     * Compares each boxed JDK collection with its primitive counterpart on the same
+     * random ints: time to build it, time for a pass of queries, and heap per element
+     */
+    public void demonstratePrimitiveCollections() {
+        System.out.println("\n🔢 PRIMITIVE VS BOXED COLLECTIONS");
+        System.out.println("================================");
+        System.out.printf("%,d random ints; query = read every index / look up every key / poll all / contains%n%n",
+            PRIMITIVE_ELEMENTS);
+        System.out.printf("%-26s %10s %10s %12s%n", "Collection", "Build ms", "Query ms", "Bytes/elem");
+        
+        int[] values = new Random(42).ints(PRIMITIVE_ELEMENTS).toArray();
+        
+        printFootprint("ArrayList<Integer>", values, () -> {
+            List<Integer> list = new ArrayList<>();
+            for (int i = 0; i < values.length; i++) {
+                list.add(values[i]);
+            }
+            return list;
+        }, list -> {
+            long sum = 0;
+            for (int i = 0; i < list.size(); i++) {
+                sum += list.get(i);
+            }
+            return sum;
+        });
+        printFootprint("IntArrayList", values, () -> {
+            IntArrayList list = new IntArrayList();
+            for (int i = 0; i < values.length; i++) {
+                list.add(values[i]);
+            }
+            return list;
+        }, list -> {
+            long sum = 0;
+            for (int i = 0; i < list.size(); i++) {
+                sum += list.get(i);
+            }
+            return sum;
+        });
+        
+        printFootprint("HashMap<Integer, Integer>", values, () -> {
+            Map<Integer, Integer> map = new HashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                map.put(values[i], i);
+            }
+            return map;
+        }, map -> {
+            long sum = 0;
+            for (int value : values) {
+                sum += map.getOrDefault(value, 0);
+            }
+            return sum;
+        });
+        printFootprint("IntIntHashMap", values, () -> {
+            IntIntHashMap map = new IntIntHashMap();
+            for (int i = 0; i < values.length; i++) {
+                map.put(values[i], i);
+            }
+            return map;
+        }, map -> {
+            long sum = 0;
+            for (int value : values) {
+                sum += map.get(value, 0);
+            }
+            return sum;
+        });
+        
+        printFootprint("PriorityQueue<Integer>", values, () -> {
+            PriorityQueue<Integer> heap = new PriorityQueue<>();
+            for (int i = 0; i < values.length; i++) {
+                heap.offer(values[i]);
+            }
+            return heap;
+        }, heap -> {
+            long sum = 0;
+            while (!heap.isEmpty()) {
+                sum += heap.poll();
+            }
+            return sum;
+        });
+        printFootprint("IntBinaryHeap", values, () -> {
+            IntBinaryHeap heap = new IntBinaryHeap();
+            for (int i = 0; i < values.length; i++) {
+                heap.offer(values[i]);
+            }
+            return heap;
+        }, heap -> {
+            long sum = 0;
+            while (!heap.isEmpty()) {
+                sum += heap.poll();
+            }
+            return sum;
+        });
+        
+        printFootprint("TreeSet<Integer>", values, () -> {
+            TreeSet<Integer> set = new TreeSet<>();
+            for (int i = 0; i < values.length; i++) {
+                set.add(values[i]);
+            }
+            return set;
+        }, set -> {
+            long found = 0;
+            for (int value : values) {
+                found += set.contains(value) ? 1 : 0;
+            }
+            return found;
+        });
+        printFootprint("IntSortedSet", values, () -> {
+            IntSortedSet set = new IntSortedSet();
+            for (int i = 0; i < values.length; i++) {
+                set.add(values[i]);
+            }
+            return set;
+        }, set -> {
+            long found = 0;
+            for (int value : values) {
+                found += set.contains(value) ? 1 : 0;
+            }
+            return found;
+        });
+        
+        System.out.println("\nBoxed collections hold a reference to a 16-byte Integer per element (plus an");
+        System.out.println("entry or tree node in maps and sets); the primitive versions store the ints inline.");
+    }
+    
+    /**
+     * Builds and queries the collection a few times as warm-up, so both loops are
+     * compiled, then measures one more build, the heap it retains and one query pass
+     */
+    private <T> void printFootprint(String label, int[] values, Supplier<T> build, ToLongFunction<T> query) {
+        for (int warmup = 0; warmup < 3; warmup++) {
+            query.applyAsLong(build.get());
+        }
+        
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baselineHeap = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+        T collection = build.get();
+        double buildMillis = (System.nanoTime() - start) / 1e6;
+        System.gc();
+        double bytesPerElement = (double) (runtime.totalMemory() - runtime.freeMemory() - baselineHeap) / values.length;
+        
+        start = System.nanoTime();
+        long checksum = query.applyAsLong(collection);
+        double queryMillis = (System.nanoTime() - start) / 1e6;
+        if (checksum == Long.MIN_VALUE) {
+            System.out.println(); // keeps the query from being optimized away
+        }
+        System.out.printf("%-26s %,10.1f %,10.1f %,12.1f%n", label, buildMillis, queryMillis, bytesPerElement);
+    }
+    
+    // ==================== OFF-HEAP MAPS ====================
+    
+    /**
+     * Question-usage counters keyed by (user, question) in a HashMap and in an off-heap
+     * map: build and update cost, garbage collections while updating, the pause of a full
+     * collection with the map live, and a file-backed map reopened from disk
+     */
+    public void demonstrateOffHeapMaps() {
+        System.out.println("\n💾 OFF-HEAP MAPS");
+        System.out.println("===============");
+        System.out.printf("%,d (user, question) counters, then %,d increments%n%n", OFF_HEAP_ENTRIES, OFF_HEAP_ENTRIES);
+        System.out.printf("%-22s %9s %10s %5s %8s %12s %9s%n",
+            "Map", "Build ms", "Update ms", "GCs", "GC ms", "Full GC ms", "Heap MB");
+        
+        long[] keys = new long[OFF_HEAP_ENTRIES];
+        Random random = new Random(42);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (long) random.nextInt(1_000_000) << 32 | random.nextInt(5_000);
+        }
+        
+        Map<Long, Long> heapMap = new HashMap<>();
+        printGcComparison("HashMap<Long, Long>", () -> {
+            for (long key : keys) {
+                heapMap.put(key, 1L);
+            }
+        }, () -> {
+            for (int i = keys.length - 1; i >= 0; i--) {
+                heapMap.merge(keys[i], 1L, Long::sum);
+            }
+        });
+        heapMap.clear();
+        
+        OffHeapLongLongMap offHeapMap = OffHeapLongLongMap.allocate(OFF_HEAP_ENTRIES);
+        printGcComparison("OffHeapLongLongMap", () -> {
+            for (long key : keys) {
+                offHeapMap.put(key, 1L);
+            }
+        }, () -> {
+            for (int i = keys.length - 1; i >= 0; i--) {
+                offHeapMap.addTo(keys[i], 1L);
+            }
+        });
+        System.out.printf("(%,d MB of off-heap memory for %,d entries)%n",
+            offHeapMap.getAllocatedBytes() >> 20, offHeapMap.size());
+        offHeapMap.close();
+        
+        System.out.println("\n--- Memory-Mapped File Backing ---");
+        Path file = null;
+        try {
+            file = Files.createTempFile("question-usage", ".map");
+            try (OffHeapLongLongMap stats = OffHeapLongLongMap.open(file, 1_000)) {
+                for (int user = 0; user < 100_000; user++) {
+                    stats.addTo((long) user << 32 | 42, user % 7);
+                }
+                System.out.printf("Wrote %,d counters to %s (%,d KB)%n", stats.size(), file, Files.size(file) >> 10);
+            }
+            try (OffHeapLongLongMap reopened = OffHeapLongLongMap.open(file, 1_000)) {
+                System.out.printf("Reopened: %,d counters, user 12345 / question 42 -> %d%n",
+                    reopened.size(), reopened.get(12345L << 32 | 42, -1));
+            }
+        } catch (IOException e) {
+            System.out.println("❌ Could not use a map file: " + e.getMessage());
+        } finally {
+            if (file != null) {
+                file.toFile().delete();
+            }
+        }
+    }
+    
+    private void printGcComparison(String label, Runnable build, Runnable update) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baselineHeap = runtime.totalMemory() - runtime.freeMemory();
+        
+        long start = System.nanoTime();
+        build.run();
+        double buildMillis = (System.nanoTime() - start) / 1e6;
+        
+        long[] gcBefore = gcCountAndMillis();
+        start = System.nanoTime();
+        update.run();
+        double updateMillis = (System.nanoTime() - start) / 1e6;
+        long[] gcAfter = gcCountAndMillis();
+        
+        // A full collection has to trace everything live, including every map entry object
+        start = System.nanoTime();
+        System.gc();
+        double fullGcMillis = (System.nanoTime() - start) / 1e6;
+        double heapMegabytes = (runtime.totalMemory() - runtime.freeMemory() - baselineHeap) / (1024.0 * 1024);
+        
+        System.out.printf("%-22s %,9.0f %,10.0f %5d %,8d %,12.1f %,9.1f%n", label, buildMillis, updateMillis,
+            gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1], fullGcMillis, heapMegabytes);
+    }
+    
+    private static long[] gcCountAndMillis() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+    
+    // ==================== PUBLISHED BENCHMARK RESULTS ====================
+    
+    /**
+     * Prints the JMH results for one benchmark class from the JSON file written by
+     * benchmarks.jar. A single System.nanoTime() pair around one call mostly measures
+     * JIT state and timer resolution, so the demos show these numbers instead.
+     */
+    private void showPublishedResults(String benchmarkClass) {
+        File resultsFile = new File(System.getProperty(BENCHMARK_RESULTS_PROPERTY, DEFAULT_BENCHMARK_RESULTS));
+        if (!resultsFile.isFile()) {
+            System.out.println("No published benchmark results found at " + resultsFile.getPath());
+            System.out.println("Run: cd benchmarks && mvn package && java -jar target/benchmarks.jar " + benchmarkClass);
+            return;
+        }
+        
+        JsonNode results;
+        try {
+            results = new ObjectMapper().readTree(resultsFile);
+        } catch (IOException e) {
+            System.out.println("❌ Could not read benchmark results: " + e.getMessage());
+            return;
+        }
+        
+        String prefix = "com.interviewprep.benchmarks." + benchmarkClass + ".";
+        System.out.println("JMH results (" + resultsFile.getPath() + "):");
+        for (JsonNode result : results) {
+            String benchmark = result.path("benchmark").asText();
+            if (!benchmark.startsWith(prefix)) {
+                continue;
+            }
+            JsonNode params = result.path("params");
+            JsonNode metric = result.path("primaryMetric");
+            System.out.printf("  %-12s %-14s size=%-9s %14.3f ± %-10s %s%n",
+                benchmark.substring(prefix.length()),
+                params.path("type").asText(),
+                params.path("size").asText(),
+                metric.path("score").asDouble(),
+                formatError(metric.path("scoreError")),
+                metric.path("scoreUnit").asText());
+        }
+    }
+    
+    private String formatError(JsonNode scoreError) {
+        // JMH writes "NaN" as a string when there are too few iterations for an error estimate
+        return scoreError.isNumber() ? String.format("%.3f", scoreError.asDouble()) : "n/a";
+    }
+    
     public void runAllExamples() {
         demonstrateLists();
         demonstrateSets();
         demonstrateMaps();
         demonstrateQueues();
+        demonstrateSortedMaps();
+        demonstratePrimitiveCollections();
+        demonstrateOffHeapMaps();
         demonstrateCollectionsUtilities();
         demonstrateStreams();
+        demonstrateParallelStreams();
     }
 } 
\ No newline at end of file
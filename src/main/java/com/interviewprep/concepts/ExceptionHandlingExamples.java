@@ -1,6 +1,14 @@
 package com.interviewprep.concepts;
 
+import com.interviewprep.validation.CandidateFileValidator;
+import com.interviewprep.validation.CandidateRules;
+import com.interviewprep.validation.ValidationReport;
+import com.interviewprep.validation.ValidationResult;
+
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
 import java.util.Scanner;
 
 /**
@@ -8,6 +16,9 @@ import java.util.Scanner;
  */
 public class ExceptionHandlingExamples {
     
+    private static final int VALIDATION_INPUTS = 10_000_000;
+    private static final int BULK_VALIDATION_ROWS = 2_000_000;
+    
     // ==================== TRY-CATCH BLOCKS ====================
     
     /**
@@ -150,6 +161,138 @@ public class ExceptionHandlingExamples {
         }
     }
     
+    // ==================== VALIDATION WITHOUT EXCEPTIONS ====================
+    
+    /**
+     * Validates the same 10M ages and emails three ways: throwing the custom exceptions,
+     * throwing stackless variants, and returning preallocated result codes
+     */
+    public void demonstrateValidationCosts() {
+        System.out.println("\n🚦 VALIDATION: EXCEPTIONS VS RESULT CODES");
+        System.out.println("========================================");
+        
+        System.out.println("Result codes: checkAge(15) -> " + checkAge(15) + ", checkEmail(\"a@b.org\") -> "
+            + checkEmail("a@b.org"));
+        try {
+            validateAgeStackless(15);
+        } catch (InvalidAgeException e) {
+            System.out.println("Stackless exception: " + e.getMessage() + " (" + e.getStackTrace().length
+                + " stack frames)");
+        }
+        
+        Random random = new Random(42);
+        int[] ages = new int[VALIDATION_INPUTS];
+        String[] emails = new String[VALIDATION_INPUTS];
+        String[] emailPool = new String[1_000];
+        for (int i = 0; i < emailPool.length; i++) {
+            // One in five has no @
+            emailPool[i] = i % 5 == 0 ? "candidate" + i + ".example.org" : "candidate" + i + "@example.org";
+        }
+        for (int i = 0; i < VALIDATION_INPUTS; i++) {
+            ages[i] = random.nextInt(100);
+            emails[i] = emailPool[random.nextInt(emailPool.length)];
+        }
+        
+        System.out.printf("%n%,d ages (18%% under 18) and %,d emails (20%% without @)%n",
+            VALIDATION_INPUTS, VALIDATION_INPUTS);
+        System.out.printf("%-28s %10s %14s %12s%n", "Style", "Failures", "Validations/s", "ns/validation");
+        printValidationRate("Exceptions with stack trace", ages, emails, (age, email) -> {
+            int failures = 0;
+            try {
+                validateAge(age);
+            } catch (InvalidAgeException e) {
+                failures++;
+            }
+            try {
+                validateEmail(email);
+            } catch (InvalidEmailException e) {
+                failures++;
+            }
+            return failures;
+        });
+        printValidationRate("Stackless exceptions", ages, emails, (age, email) -> {
+            int failures = 0;
+            try {
+                validateAgeStackless(age);
+            } catch (InvalidAgeException e) {
+                failures++;
+            }
+            try {
+                validateEmailStackless(email);
+            } catch (InvalidEmailException e) {
+                failures++;
+            }
+            return failures;
+        });
+        printValidationRate("Result codes", ages, emails,
+            (age, email) -> (checkAge(age).isValid() ? 0 : 1) + (checkEmail(email).isValid() ? 0 : 1));
+        
+        System.out.println("\nMost of the cost of a throw is fillInStackTrace walking the stack; a stackless");
+        System.out.println("exception still allocates itself and its message. Result codes are enum constants");
+        System.out.println("created once, so the failure path costs no more than the success path.");
+    }
+    
+    private void printValidationRate(String label, int[] ages, String[] emails, Validator validator) {
+        // A first pass over part of the input lets the JIT compile the loop
+        int warmup = ages.length / 10;
+        for (int i = 0; i < warmup; i++) {
+            validator.failures(ages[i], emails[i]);
+        }
+        long failures = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ages.length; i++) {
+            failures += validator.failures(ages[i], emails[i]);
+        }
+        long elapsed = System.nanoTime() - start;
+        long validations = 2L * ages.length;
+        System.out.printf("%-28s %,10d %,14.0f %12.1f%n", label, failures,
+            validations * 1e9 / elapsed, (double) elapsed / validations);
+    }
+    
+    /**
+     * One age and one email through a validation style; returns how many failed
+     */
+    @FunctionalInterface
+    private interface Validator {
+        int failures(int age, String email);
+    }
+    
+    // ==================== BULK VALIDATION ====================
+    
+    /**
+     * Writes a candidate file of 2M rows and validates it with the result-code rules in
+     * parallel chunks, as a candidate import would
+     */
+    public void demonstrateBulkValidation() {
+        System.out.println("\n📦 BULK VALIDATION OF A CANDIDATE FILE");
+        System.out.println("======================================");
+        
+        Path file = null;
+        try {
+            file = Files.createTempFile("candidates", ".csv");
+            CandidateFileValidator.writeSample(file, BULK_VALIDATION_ROWS, 42);
+            int threads = Runtime.getRuntime().availableProcessors();
+            System.out.printf("%,d rows, %,d MB, validated in %d MB chunks on %d threads%n", BULK_VALIDATION_ROWS,
+                Files.size(file) >> 20, CandidateFileValidator.DEFAULT_CHUNK_BYTES >> 20, threads);
+            ValidationReport report = new CandidateFileValidator(threads).validate(file);
+            report.print(System.out);
+            System.out.println("Row 1 valid: " + !(report.isAgeInvalid(1) || report.isEmailInvalid(1)));
+        } catch (IOException e) {
+            System.out.println("❌ Could not validate the candidate file: " + e.getMessage());
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.out.println("⚠️  Could not delete " + file);
+                }
+            }
+        }
+        
+        System.out.println("\nThe file is mapped a chunk at a time and every row keeps just two bits, so a");
+        System.out.println("multi-GB import is validated with the heap holding little more than the bitmap.");
+    }
+    
     // ==================== TRY-WITH-RESOURCES ====================
     
     /**
@@ -220,17 +363,47 @@ public class ExceptionHandlingExamples {
     }
     
     private void validateAge(int age) throws InvalidAgeException {
-        if (age < 18) {
-            throw new InvalidAgeException("Age must be 18 or older. Provided age: " + age);
+        ValidationResult result = checkAge(age);
+        if (!result.isValid()) {
+            throw new InvalidAgeException(result.getMessage() + ". Provided age: " + age);
         }
     }
     
     private void validateEmail(String email) throws InvalidEmailException {
-        if (!email.contains("@")) {
-            throw new InvalidEmailException("Invalid email format", email);
+        ValidationResult result = checkEmail(email);
+        if (!result.isValid()) {
+            throw new InvalidEmailException(result.getMessage(), email);
+        }
+    }
+    
+    private void validateAgeStackless(int age) throws InvalidAgeException {
+        ValidationResult result = checkAge(age);
+        if (!result.isValid()) {
+            throw new StacklessInvalidAgeException(result.getMessage() + ". Provided age: " + age);
         }
     }
     
+    private void validateEmailStackless(String email) throws InvalidEmailException {
+        ValidationResult result = checkEmail(email);
+        if (!result.isValid()) {
+            throw new StacklessInvalidEmailException(result.getMessage(), email);
+        }
+    }
+    
+    /**
+     * Same rule as validateAge, reported as a result code instead of an exception
+     */
+    public static ValidationResult checkAge(int age) {
+        return CandidateRules.checkAge(age);
+    }
+    
+    /**
+     * Same rule as validateEmail, reported as a result code instead of an exception
+     */
+    public static ValidationResult checkEmail(CharSequence email) {
+        return CandidateRules.checkEmail(email);
+    }
+    
     private void methodA() throws Exception {
         System.out.println("Method A called");
         methodB();
@@ -251,6 +424,8 @@ public class ExceptionHandlingExamples {
         demonstrateMultipleCatch();
         demonstrateFinally();
         demonstrateCustomExceptions();
+        demonstrateValidationCosts();
+        demonstrateBulkValidation();
         demonstrateTryWithResources();
         demonstrateExceptionPropagation();
     }
@@ -282,6 +457,35 @@ public class ExceptionHandlingExamples {
         }
     }
     
+    /**
+     * InvalidAgeException without a stack trace: skipping fillInStackTrace makes it cheap
+     * to throw in bulk validation, where the trace would never be looked at
+     */
+    public static class StacklessInvalidAgeException extends InvalidAgeException {
+        public StacklessInvalidAgeException(String message) {
+            super(message);
+        }
+        
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+    
+    /**
+     * InvalidEmailException without a stack trace
+     */
+    public static class StacklessInvalidEmailException extends InvalidEmailException {
+        public StacklessInvalidEmailException(String message, String invalidEmail) {
+            super(message, invalidEmail);
+        }
+        
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+    
     /**
      * Custom resource that implements AutoCloseable
      */
@@ -1,14 +1,137 @@
 package com.interviewprep.concepts;
 
+import com.interviewprep.concurrent.ForkJoinArrays;
+import com.interviewprep.concurrent.RingBuffer;
+import com.interviewprep.concurrent.TaskScope;
+import com.interviewprep.concurrent.TimeSource;
+import com.interviewprep.concurrent.TimingWheel;
+import com.interviewprep.concurrent.WaitStrategy;
+import com.interviewprep.util.VirtualThreads;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 /**
- * Demonstrates multithreading and concurrency concepts in Java
+ * Demonstrates multithreading and concurrency concepts in Java.
+ *
+ * Every demo can run on platform threads or on virtual threads (JDK 21+); the mode is
+ * picked per instance, or for the default constructor by the system property
+ * {@value #THREAD_MODE_PROPERTY}. On older runtimes virtual mode falls back to platform
+ * threads with a notice.
+ *
+ * The pauses that pace the basic demos (thread creation, wait/notify, executors and task
+ * scopes) go through a {@link TimeSource}; with {@value #TIME_SCALE_PROPERTY}=100 they run
+ * a hundred times faster. The thread creation and wait/notify demos track their threads
+ * on the time source, so on {@link TimeSource#virtual()} they take no real time at all and
+ * interleave exactly as in real time. The benchmarks keep real time.
  */
 public class MultithreadingExamples {
     
+    /** System property selecting the default thread mode: "platform" or "virtual" */
+    public static final String THREAD_MODE_PROPERTY = "interviewprep.threads";
+    
+    /** System property with the speed-up of the demo pauses, e.g. 100; 1 is real time */
+    public static final String TIME_SCALE_PROPERTY = "interviewprep.timescale";
+    
+    private static final long SCALING_INCREMENTS = 10_000_000;
+    private static final int HANDOFF_MESSAGES = 2_000_000;
+    private static final String PAYLOAD = "payload";
+    private static final int FORK_JOIN_ELEMENTS = 8_000_000;
+    private static final int SLEEPING_TASKS = 100_000;
+    private static final int SLEEP_MILLIS = 50;
+    private static final int PLATFORM_POOL_THREADS = 1_000;
+    private static final int PENDING_TIMERS = 1_000_000;
+    private static final int TIMER_SPREAD_MILLIS = 1_000;
+    
+    private final boolean virtualThreads;
+    private final ThreadFactory threadFactory;
+    private final TimeSource time;
+    
+    public MultithreadingExamples() {
+        this(isVirtualThreadModeRequested());
+    }
+    
+    public MultithreadingExamples(boolean virtualThreads) {
+        this(virtualThreads, requestedTimeSource());
+    }
+    
+    /**
+     * Runs the demos on the given thread kind, with their pauses timed by the time source
+     */
+    public MultithreadingExamples(boolean virtualThreads, TimeSource time) {
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            System.out.println("⚠️  Virtual threads need JDK 21+, running on " + System.getProperty("java.version")
+                + "; using platform threads");
+            virtualThreads = false;
+        }
+        this.virtualThreads = virtualThreads;
+        this.threadFactory = virtualThreads ? VirtualThreads.factory() : Thread::new;
+        this.time = time;
+        if (time.getSpeedUp() > 1) {
+            System.out.println("⏩ Demo pauses run on " + time);
+        }
+    }
+    
+    /**
+     * Whether the {@value #THREAD_MODE_PROPERTY} system property asks for virtual threads
+     */
+    public static boolean isVirtualThreadModeRequested() {
+        return "virtual".equalsIgnoreCase(System.getProperty(THREAD_MODE_PROPERTY));
+    }
+    
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    /**
+     * Real time, or compressed time if the {@value #TIME_SCALE_PROPERTY} system property
+     * asks for it
+     */
+    public static TimeSource requestedTimeSource() {
+        String speedUp = System.getProperty(TIME_SCALE_PROPERTY);
+        if (speedUp == null) {
+            return TimeSource.system();
+        }
+        try {
+            return TimeSource.compressed(Double.parseDouble(speedUp));
+        } catch (IllegalArgumentException e) {
+            System.out.println("⚠️  Ignoring " + TIME_SCALE_PROPERTY + "=" + speedUp + ": " + e.getMessage());
+            return TimeSource.system();
+        }
+    }
+    
+    private Thread newThread(Runnable task) {
+        return threadFactory.newThread(task);
+    }
+    
+    /**
+     * Pool for the executor demos: in virtual mode every task gets a new virtual thread
+     * instead, since virtual threads are cheap enough never to pool
+     */
+    private ExecutorService newPool(int platformThreads) {
+        if (virtualThreads) {
+            return VirtualThreads.newVirtualThreadPerTaskExecutor();
+        }
+        return platformThreads > 0 ? Executors.newFixedThreadPool(platformThreads) : Executors.newCachedThreadPool();
+    }
+    
     // ==================== THREAD CREATION (EXTENDS THREAD) ====================
     
     /**
@@ -19,10 +142,18 @@ public class MultithreadingExamples {
         System.out.println("==================================");
         
         // Creating threads by extending Thread
-        MyThread thread1 = new MyThread("Thread-1", 5);
-        MyThread thread2 = new MyThread("Thread-2", 3);
+        MyThread thread1 = new MyThread("Thread-1", 5, time);
+        MyThread thread2 = new MyThread("Thread-2", 3, time);
         
         System.out.println("Starting threads...");
+        if (virtualThreads) {
+            // A Thread subclass is always a platform thread, but its run() can be the task of a virtual one
+            System.out.println("(virtual mode: each MyThread's run() executes on a virtual thread)");
+            runAndJoin(time.track(newThread(thread1)), time.track(newThread(thread2)));
+            return;
+        }
+        time.track(thread1);
+        time.track(thread2);
         thread1.start();
         thread2.start();
         
@@ -37,6 +168,20 @@ public class MultithreadingExamples {
         System.out.println("All threads completed!");
     }
     
+    private void runAndJoin(Thread... threads) {
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            System.out.println("❌ Main thread interrupted: " + e.getMessage());
+        }
+        System.out.println("All threads completed!");
+    }
+    
     // ==================== THREAD CREATION (IMPLEMENTS RUNNABLE) ====================
     
     /**
@@ -47,11 +192,11 @@ public class MultithreadingExamples {
         System.out.println("=======================================");
         
         // Creating threads by implementing Runnable
-        MyRunnable runnable1 = new MyRunnable("Runnable-1", 4);
-        MyRunnable runnable2 = new MyRunnable("Runnable-2", 6);
+        MyRunnable runnable1 = new MyRunnable("Runnable-1", 4, time);
+        MyRunnable runnable2 = new MyRunnable("Runnable-2", 6, time);
         
-        Thread thread1 = new Thread(runnable1);
-        Thread thread2 = new Thread(runnable2);
+        Thread thread1 = time.track(newThread(runnable1));
+        Thread thread2 = time.track(newThread(runnable2));
         
         System.out.println("Starting threads...");
         thread1.start();
@@ -81,13 +226,13 @@ public class MultithreadingExamples {
         System.out.println("--- Without Synchronization ---");
         Counter counter = new Counter();
         
-        Thread thread1 = new Thread(() -> {
+        Thread thread1 = newThread(() -> {
             for (int i = 0; i < 1000; i++) {
                 counter.increment();
             }
         });
         
-        Thread thread2 = new Thread(() -> {
+        Thread thread2 = newThread(() -> {
             for (int i = 0; i < 1000; i++) {
                 counter.increment();
             }
@@ -109,13 +254,13 @@ public class MultithreadingExamples {
         System.out.println("\n--- With Synchronization ---");
         SynchronizedCounter syncCounter = new SynchronizedCounter();
         
-        Thread thread3 = new Thread(() -> {
+        Thread thread3 = newThread(() -> {
             for (int i = 0; i < 1000; i++) {
                 syncCounter.increment();
             }
         });
         
-        Thread thread4 = new Thread(() -> {
+        Thread thread4 = newThread(() -> {
             for (int i = 0; i < 1000; i++) {
                 syncCounter.increment();
             }
@@ -137,13 +282,13 @@ public class MultithreadingExamples {
         System.out.println("\n--- Using ReentrantLock ---");
         LockCounter lockCounter = new LockCounter();
         
-        Thread thread5 = new Thread(() -> {
+        Thread thread5 = newThread(() -> {
             for (int i = 0; i < 1000; i++) {
                 lockCounter.increment();
             }
         });
         
-        Thread thread6 = new Thread(() -> {
+        Thread thread6 = newThread(() -> {
             for (int i = 0; i < 1000; i++) {
                 lockCounter.increment();
             }
@@ -160,6 +305,199 @@ public class MultithreadingExamples {
         }
         
         System.out.println("Final count (with lock): " + lockCounter.getCount());
+        
+        // Lock-free and contention-spreading counters
+        System.out.println("\n--- CAS Loop ---");
+        CasCounter casCounter = new CasCounter();
+        runConcurrently(2, () -> {
+            for (int i = 0; i < 1000; i++) {
+                casCounter.increment();
+            }
+        });
+        System.out.println("Final count (CAS loop): " + casCounter.getCount());
+        
+        System.out.println("\n--- Striped Counter (padded cells) ---");
+        StripedCounter stripedCounter = new StripedCounter();
+        runConcurrently(2, () -> {
+            for (int i = 0; i < 1000; i++) {
+                stripedCounter.increment();
+            }
+        });
+        System.out.println("Final count (striped): " + stripedCounter.getCount());
+        
+        System.out.println("\n--- Per-Thread Accumulate, Then Merge ---");
+        MergingCounter mergingCounter = new MergingCounter();
+        runConcurrently(2, () -> {
+            long local = 0;
+            for (int i = 0; i < 1000; i++) {
+                local++;
+            }
+            mergingCounter.merge(local);
+        });
+        System.out.println("Final count (merged): " + mergingCounter.getCount());
+    }
+    
+    // ==================== COUNTER SCALING ====================
+    
+    /**
+     * Runs every counter variant with 1, 2, 4 ... up to all available cores hammering it
+     * and prints millions of increments per second. A single shared word stops scaling at
+     * one core (every increment moves its cache line); striping and per-thread
+     * accumulation keep threads on separate lines and scale with the cores.
+     */
+    public void demonstrateCounterScaling() {
+        System.out.println("\n📈 COUNTER SCALING UNDER CONTENTION");
+        System.out.println("==================================");
+        
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+        
+        String[] variants = {"synchronized", "ReentrantLock", "AtomicLong", "CAS loop",
+            "Striped (padded)", "LongAdder", "Per-thread merge"};
+        System.out.printf("%-18s", "Mops/s by threads");
+        for (int threads : threadCounts) {
+            System.out.printf("%10d", threads);
+        }
+        System.out.println();
+        
+        for (String variant : variants) {
+            System.out.printf("%-18s", variant);
+            for (int threads : threadCounts) {
+                measureCounter(variant, threads); // warm-up
+                System.out.printf("%10.1f", measureCounter(variant, threads));
+            }
+            System.out.println();
+        }
+        System.out.println("(" + cores + " cores available, " + SCALING_INCREMENTS / 1_000_000
+            + "M increments per run)");
+    }
+    
+    /**
+     * Splits a fixed number of increments over the threads, returns millions per second
+     */
+    private double measureCounter(String variant, int threads) {
+        long perThread = SCALING_INCREMENTS / threads;
+        Runnable work;
+        LongSupplier total;
+        switch (variant) {
+            case "synchronized": {
+                SynchronizedCounter counter = new SynchronizedCounter();
+                work = () -> {
+                    for (long i = 0; i < perThread; i++) {
+                        counter.increment();
+                    }
+                };
+                total = counter::getCount;
+                break;
+            }
+            case "ReentrantLock": {
+                LockCounter counter = new LockCounter();
+                work = () -> {
+                    for (long i = 0; i < perThread; i++) {
+                        counter.increment();
+                    }
+                };
+                total = counter::getCount;
+                break;
+            }
+            case "AtomicLong": {
+                AtomicLong counter = new AtomicLong();
+                work = () -> {
+                    for (long i = 0; i < perThread; i++) {
+                        counter.incrementAndGet();
+                    }
+                };
+                total = counter::get;
+                break;
+            }
+            case "CAS loop": {
+                CasCounter counter = new CasCounter();
+                work = () -> {
+                    for (long i = 0; i < perThread; i++) {
+                        counter.increment();
+                    }
+                };
+                total = counter::getCount;
+                break;
+            }
+            case "Striped (padded)": {
+                StripedCounter counter = new StripedCounter();
+                work = () -> {
+                    for (long i = 0; i < perThread; i++) {
+                        counter.increment();
+                    }
+                };
+                total = counter::getCount;
+                break;
+            }
+            case "LongAdder": {
+                LongAdder counter = new LongAdder();
+                work = () -> {
+                    for (long i = 0; i < perThread; i++) {
+                        counter.increment();
+                    }
+                };
+                total = counter::sum;
+                break;
+            }
+            default: {
+                MergingCounter counter = new MergingCounter();
+                work = () -> {
+                    // A plain local would be folded into a single add by the JIT; opaque
+                    // accesses to a thread-confined cell keep one real store per increment
+                    PaddedCell local = new PaddedCell();
+                    for (long i = 0; i < perThread; i++) {
+                        local.incrementOpaque();
+                    }
+                    counter.merge(local.value);
+                };
+                total = counter::getCount;
+            }
+        }
+        
+        long start = System.nanoTime();
+        runConcurrently(threads, work);
+        long elapsed = System.nanoTime() - start;
+        if (total.getAsLong() != perThread * threads) {
+            throw new IllegalStateException(variant + " lost updates: " + total.getAsLong());
+        }
+        return perThread * threads * 1e3 / elapsed;
+    }
+    
+    /**
+     * Starts the task on the given number of threads at once and waits for all of them
+     */
+    private void runConcurrently(int threads, Runnable task) {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = newThread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                task.run();
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        
+        try {
+            ready.await();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            System.out.println("❌ Thread interrupted: " + e.getMessage());
+        }
     }
     
     // ==================== THREAD COMMUNICATION (WAIT/NOTIFY) ====================
@@ -173,22 +511,22 @@ public class MultithreadingExamples {
         
         Message message = new Message();
         
-        // Producer thread
-        Thread producer = new Thread(() -> {
+        // Producer thread; only its pauses are timed, the consumer just waits for it
+        Thread producer = time.track(newThread(() -> {
             for (int i = 1; i <= 5; i++) {
                 message.send("Message " + i);
                 try {
-                    Thread.sleep(1000);
+                    time.sleep(1, TimeUnit.SECONDS);
                 } catch (InterruptedException e) {
                     System.out.println("❌ Producer interrupted: " + e.getMessage());
                 }
             }
-        });
+        }));
         
         // Consumer thread
-        Thread consumer = new Thread(() -> {
+        Thread consumer = newThread(() -> {
             for (int i = 1; i <= 5; i++) {
-                message.receive();
+                System.out.println("Received: " + message.receive());
             }
         });
         
@@ -204,6 +542,89 @@ public class MultithreadingExamples {
         }
         
         System.out.println("Producer-Consumer completed!");
+        
+        // The same handoff at full speed: one-slot wait/notify vs a lock-free ring buffer
+        System.out.println("\n--- Throughput: wait/notify vs Ring Buffer ---");
+        System.out.printf("%-42s %14s%n", "Channel", "msgs/sec");
+        System.out.printf("%-42s %,14.0f%n", "Message (one slot, wait/notify)", measureMessage());
+        printRingBufferThroughput("RingBuffer SPSC, ", RingBuffer.ProducerType.SINGLE, 1);
+        printRingBufferThroughput("RingBuffer MPSC (2 producers), ", RingBuffer.ProducerType.MULTI, 2);
+    }
+    
+    private void printRingBufferThroughput(String label, RingBuffer.ProducerType type, int producers) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            // Spinning threads that never give up their core starve each other without one each
+            if (strategy == WaitStrategy.BUSY_SPIN && cores < producers + 1) {
+                System.out.printf("%-42s %14s%n", label + strategy, "needs " + (producers + 1) + " cores");
+                continue;
+            }
+            System.out.printf("%-42s %,14.0f%n", label + strategy, measureRingBuffer(type, producers, strategy));
+        }
+    }
+    
+    /**
+     * Messages per second through the one-slot Message, where every message costs a
+     * full wait/notify handoff between the two threads
+     */
+    private double measureMessage() {
+        Message message = new Message();
+        int count = HANDOFF_MESSAGES / 10;
+        long start = System.nanoTime();
+        runProducersAndConsumer(1, () -> {
+            for (int i = 0; i < count; i++) {
+                message.send(PAYLOAD);
+            }
+        }, () -> {
+            for (int i = 0; i < count; i++) {
+                message.receive();
+            }
+        });
+        return count * 1e9 / (System.nanoTime() - start);
+    }
+    
+    /**
+     * Messages per second through a ring buffer, drained in batches of up to 256
+     */
+    private double measureRingBuffer(RingBuffer.ProducerType type, int producers, WaitStrategy strategy) {
+        RingBuffer<String> ring = new RingBuffer<>(1024, type, strategy);
+        int perProducer = HANDOFF_MESSAGES / producers;
+        long[] received = new long[1];
+        long start = System.nanoTime();
+        runProducersAndConsumer(producers, () -> {
+            try {
+                for (int i = 0; i < perProducer; i++) {
+                    ring.put(PAYLOAD);
+                }
+            } catch (InterruptedException e) {
+                System.out.println("❌ Producer interrupted: " + e.getMessage());
+            }
+        }, () -> {
+            try {
+                while (received[0] < (long) perProducer * producers) {
+                    received[0] += ring.awaitAndDrain(payload -> { }, 256);
+                }
+            } catch (InterruptedException e) {
+                System.out.println("❌ Consumer interrupted: " + e.getMessage());
+            }
+        });
+        return received[0] * 1e9 / (System.nanoTime() - start);
+    }
+    
+    private void runProducersAndConsumer(int producers, Runnable producer, Runnable consumer) {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            threads.add(newThread(producer));
+        }
+        threads.add(newThread(consumer));
+        threads.forEach(Thread::start);
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            System.out.println("❌ Main thread interrupted: " + e.getMessage());
+        }
     }
     
     // ==================== EXECUTOR SERVICE ====================
@@ -217,37 +638,35 @@ public class MultithreadingExamples {
         
         // Fixed thread pool
         System.out.println("--- Fixed Thread Pool ---");
-        ExecutorService fixedPool = Executors.newFixedThreadPool(3);
+        ExecutorService fixedPool = newPool(3);
         
+        List<Callable<Void>> tasks = new ArrayList<>();
         for (int i = 1; i <= 5; i++) {
             final int taskId = i;
-            fixedPool.submit(() -> {
-                System.out.println("Task " + taskId + " executed by " + Thread.currentThread().getName());
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    System.out.println("❌ Task interrupted: " + e.getMessage());
-                }
+            tasks.add(() -> {
+                System.out.println("Task " + taskId + " executed by " + currentThreadName());
+                time.sleep(1, TimeUnit.SECONDS);
+                return null;
             });
         }
         
-        fixedPool.shutdown();
+        // invokeAll waits for exactly these tasks instead of guessing a termination timeout
         try {
-            if (!fixedPool.awaitTermination(10, TimeUnit.SECONDS)) {
-                fixedPool.shutdownNow();
-            }
+            fixedPool.invokeAll(tasks);
         } catch (InterruptedException e) {
+            System.out.println("❌ Tasks interrupted: " + e.getMessage());
+        } finally {
             fixedPool.shutdownNow();
         }
         
         // Cached thread pool
         System.out.println("\n--- Cached Thread Pool ---");
-        ExecutorService cachedPool = Executors.newCachedThreadPool();
+        ExecutorService cachedPool = newPool(0);
         
         for (int i = 1; i <= 3; i++) {
             final int taskId = i;
             cachedPool.submit(() -> {
-                System.out.println("Cached task " + taskId + " executed by " + Thread.currentThread().getName());
+                System.out.println("Cached task " + taskId + " executed by " + currentThreadName());
             });
         }
         
@@ -255,23 +674,328 @@ public class MultithreadingExamples {
         
         // Scheduled executor
         System.out.println("\n--- Scheduled Executor ---");
-        ScheduledExecutorService scheduledPool = Executors.newScheduledThreadPool(2);
+        ScheduledExecutorService scheduledPool = Executors.newScheduledThreadPool(2, threadFactory);
         
         // Schedule a task to run after 2 seconds
         scheduledPool.schedule(() -> {
             System.out.println("Scheduled task executed after 2 seconds");
-        }, 2, TimeUnit.SECONDS);
+        }, time.toRealNanos(2, TimeUnit.SECONDS), TimeUnit.NANOSECONDS);
         
         // Schedule a task to run every 1 second
         ScheduledFuture<?> periodicTask = scheduledPool.scheduleAtFixedRate(() -> {
-            System.out.println("Periodic task executed at: " + System.currentTimeMillis());
-        }, 0, 1, TimeUnit.SECONDS);
+            System.out.println("Periodic task executed at: " + time.currentTimeMillis());
+        }, 0, time.toRealNanos(1, TimeUnit.SECONDS), TimeUnit.NANOSECONDS);
         
-        // Stop the periodic task after 5 seconds
-        scheduledPool.schedule(() -> {
+        // Watch the periodic task in a scope with a 5 second deadline; when it passes the
+        // scope interrupts the watcher, which cancels the task on its way out
+        try (TaskScope<Object> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_FAILURE, threadFactory,
+                time.toRealNanos(5, TimeUnit.SECONDS), TimeUnit.NANOSECONDS)) {
+            scope.fork(() -> {
+                try {
+                    return periodicTask.get();
+                } finally {
+                    periodicTask.cancel(false);
+                }
+            });
+            scope.join();
+        } catch (InterruptedException e) {
+            System.out.println("❌ Main thread interrupted: " + e.getMessage());
+        } finally {
             periodicTask.cancel(false);
             scheduledPool.shutdown();
-        }, 5, TimeUnit.SECONDS);
+        }
+        
+        demonstrateTaskScope();
+    }
+    
+    // ==================== TIMER QUEUES ====================
+    
+    /**
+     * Puts PENDING_TIMERS far-off timers on a ScheduledThreadPoolExecutor (a binary heap)
+     * and on a timing wheel, cancels them all, then lets as many short timers fire over a
+     * second; reports cost per schedule and cancel, heap per pending timer and lateness.
+     * Like the other benchmarks it runs on real time, since lateness is what it measures.
+     */
+    public void demonstrateTimerQueues() {
+        System.out.println("\n⏲️  TIMING WHEEL VS SCHEDULEDTHREADPOOLEXECUTOR");
+        System.out.println("=============================================");
+        System.out.printf("%,d pending timers; firing phase spreads them over %d ms%n%n", PENDING_TIMERS, TIMER_SPREAD_MILLIS);
+        System.out.printf("%-26s %12s %12s %12s %14s%n", "Timer queue", "Schedule ns", "Cancel ns", "Bytes/timer",
+            "Mean late (ms)");
+        
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+        executor.setRemoveOnCancelPolicy(true);
+        try {
+            printTimerQueue("ScheduledThreadPoolExecutor",
+                (task, delay) -> executor.schedule(task, delay, TimeUnit.MILLISECONDS), future -> future.cancel(false));
+        } finally {
+            executor.shutdownNow();
+        }
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, threadFactory)) {
+            printTimerQueue("Timing wheel (1 ms tick)",
+                (task, delay) -> wheel.schedule(task, delay, TimeUnit.MILLISECONDS), TimingWheel.Timeout::cancel);
+        }
+    }
+    
+    private <H> void printTimerQueue(String label, BiFunction<Runnable, Long, H> schedule, Consumer<H> cancel) {
+        Runtime runtime = Runtime.getRuntime();
+        Runnable noop = () -> { };
+        List<H> handles = new ArrayList<>(PENDING_TIMERS);
+        System.gc();
+        long baselineHeap = runtime.totalMemory() - runtime.freeMemory();
+        
+        // Far-off deadlines (up to an hour), so every timer is still pending while measured
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < PENDING_TIMERS; i++) {
+            handles.add(schedule.apply(noop, 60_000L + random.nextInt(3_600_000)));
+        }
+        double scheduleNanos = (double) (System.nanoTime() - start) / PENDING_TIMERS;
+        System.gc();
+        double bytesPerTimer = (double) (runtime.totalMemory() - runtime.freeMemory() - baselineHeap) / PENDING_TIMERS;
+        
+        start = System.nanoTime();
+        for (H handle : handles) {
+            cancel.accept(handle);
+        }
+        double cancelNanos = (double) (System.nanoTime() - start) / PENDING_TIMERS;
+        handles.clear();
+        
+        // Timers that do fire: how late, on average, past their deadline
+        CountDownLatch fired = new CountDownLatch(PENDING_TIMERS);
+        LongAdder lateness = new LongAdder();
+        for (int i = 0; i < PENDING_TIMERS; i++) {
+            long delay = i % TIMER_SPREAD_MILLIS;
+            long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            schedule.apply(() -> {
+                lateness.add(System.nanoTime() - due);
+                fired.countDown();
+            }, delay);
+        }
+        try {
+            fired.await();
+            System.out.printf("%-26s %,12.0f %,12.0f %,12.0f %,14.2f%n", label, scheduleNanos, cancelNanos,
+                bytesPerTimer, lateness.sum() / 1e6 / PENDING_TIMERS);
+        } catch (InterruptedException e) {
+            System.out.println("❌ Main thread interrupted: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Fan-out with a task scope: the first success cancels the slower siblings, a failure
+     * cancels the rest, and a deadline bounds the whole group
+     */
+    private void demonstrateTaskScope() {
+        System.out.println("\n--- Structured Task Scope ---");
+        
+        long start = time.nanoTime();
+        try (TaskScope<String> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_SUCCESS, threadFactory,
+                time.toRealNanos(2, TimeUnit.SECONDS), TimeUnit.NANOSECONDS)) {
+            List<TaskScope.Subtask<String>> graders = new ArrayList<>();
+            for (int delay : new int[] {800, 150, 400}) {
+                graders.add(scope.fork(() -> slowReply("grader-" + delay, delay)));
+            }
+            String winner = scope.join().result();
+            System.out.printf("First success: %s after %.0f ms%n", winner, (time.nanoTime() - start) / 1e6);
+            for (TaskScope.Subtask<String> grader : graders) {
+                System.out.println("  subtask " + grader.state());
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            System.out.println("❌ No grader answered: " + e);
+        } catch (InterruptedException e) {
+            System.out.println("❌ Main thread interrupted: " + e.getMessage());
+        }
+        
+        start = time.nanoTime();
+        try (TaskScope<String> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_FAILURE, threadFactory,
+                time.toRealNanos(2, TimeUnit.SECONDS), TimeUnit.NANOSECONDS)) {
+            scope.fork(() -> slowReply("question text", 1000));
+            scope.fork(() -> {
+                time.sleep(100, TimeUnit.MILLISECONDS);
+                throw new IllegalStateException("answer store unavailable");
+            });
+            scope.join().results();
+        } catch (ExecutionException e) {
+            System.out.printf("Failure after %.0f ms cancelled the sibling: %s%n",
+                (time.nanoTime() - start) / 1e6, e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            System.out.println("❌ Deadline passed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            System.out.println("❌ Main thread interrupted: " + e.getMessage());
+        }
+        
+        start = time.nanoTime();
+        try (TaskScope<String> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_SUCCESS, threadFactory,
+                time.toRealNanos(300, TimeUnit.MILLISECONDS), TimeUnit.NANOSECONDS)) {
+            scope.fork(() -> slowReply("stalled grader", 5000));
+            scope.join().result();
+        } catch (TimeoutException e) {
+            System.out.printf("Deadline gave up on the stalled grader after %.0f ms%n", (time.nanoTime() - start) / 1e6);
+        } catch (ExecutionException e) {
+            System.out.println("❌ Grader failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            System.out.println("❌ Main thread interrupted: " + e.getMessage());
+        }
+    }
+    
+    private String slowReply(String reply, int millis) throws InterruptedException {
+        time.sleep(millis, TimeUnit.MILLISECONDS);
+        return reply;
+    }
+    
+    /**
+     * Virtual threads have no name unless given one, so fall back to the thread id
+     */
+    private static String currentThreadName() {
+        Thread current = Thread.currentThread();
+        return current.getName().isEmpty() ? "virtual thread #" + current.getId() : current.getName();
+    }
+    
+    // ==================== VIRTUAL THREADS ====================
+    
+    /**
+     * Demonstrates why blocking code scales with virtual threads: the same batch of
+     * sleeping tasks on a large platform pool and on one virtual thread per task,
+     * comparing completion time, OS threads and heap at the peak
+     */
+    public void demonstrateVirtualThreads() {
+        System.out.println("\n🪶 VIRTUAL THREADS");
+        System.out.println("=================");
+        System.out.printf("%,d tasks, each sleeping %d ms%n%n", SLEEPING_TASKS, SLEEP_MILLIS);
+        System.out.printf("%-34s %10s %12s %14s%n", "Executor", "Time (ms)", "Peak threads", "Peak heap (MB)");
+        
+        printSleepingTasks(String.format("Platform pool (%,d threads)", PLATFORM_POOL_THREADS),
+            () -> Executors.newFixedThreadPool(PLATFORM_POOL_THREADS));
+        if (VirtualThreads.isSupported()) {
+            printSleepingTasks("Virtual thread per task", VirtualThreads::newVirtualThreadPerTaskExecutor);
+        } else {
+            System.out.printf("%-34s %s%n", "Virtual thread per task",
+                "needs JDK 21+, running on " + System.getProperty("java.version"));
+        }
+        
+        System.out.println("\nA platform pool can only sleep as many tasks at once as it has threads, and each");
+        System.out.println("of those reserves a full OS stack (about 1 MB by default) outside the heap.");
+        System.out.println("Virtual threads unmount from their carrier while they sleep; their small stacks");
+        System.out.println("live on the heap, so all tasks sleep at once on a handful of OS threads.");
+    }
+    
+    private void printSleepingTasks(String label, Supplier<ExecutorService> executor) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baselineHeap = runtime.totalMemory() - runtime.freeMemory();
+        threads.resetPeakThreadCount();
+        
+        // Sample the heap while the tasks run; the thread MXBean tracks its own peak
+        AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peakHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+        
+        long start = System.nanoTime();
+        ExecutorService pool = executor.get();
+        for (int i = 0; i < SLEEPING_TASKS; i++) {
+            pool.submit(() -> {
+                Thread.sleep(SLEEP_MILLIS);
+                return null;
+            });
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(1, TimeUnit.HOURS);
+            long elapsed = System.nanoTime() - start;
+            running.set(false);
+            sampler.join();
+            System.out.printf("%-34s %,10.0f %,12d %,14.1f%n", label, elapsed / 1e6, threads.getPeakThreadCount(),
+                (peakHeap.get() - baselineHeap) / (1024.0 * 1024));
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            running.set(false);
+            System.out.println("❌ Benchmark interrupted: " + e.getMessage());
+        }
+    }
+    
+    // ==================== FORK/JOIN PARALLELISM ====================
+    
+    /**
+     * Demonstrates CPU-bound divide-and-conquer work on ForkJoinPool: how the speed-up
+     * grows with the number of workers, and where the sequential threshold makes task
+     * overhead or idle cores dominate
+     */
+    public void demonstrateForkJoin() {
+        System.out.println("\n🍴 FORK/JOIN PARALLELISM");
+        System.out.println("=======================");
+        
+        Random random = new Random(42);
+        long[] numbers = random.longs(FORK_JOIN_ELEMENTS, 0, 1000).toArray();
+        int[] unsorted = random.ints(FORK_JOIN_ELEMENTS / 2).toArray();
+        long expectedSum = Arrays.stream(numbers).sum();
+        
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> parallelisms = new ArrayList<>();
+        for (int parallelism = 1; parallelism < cores; parallelism *= 2) {
+            parallelisms.add(parallelism);
+        }
+        parallelisms.add(cores);
+        
+        System.out.println("--- Speed-up by Worker Count (threshold " + ForkJoinArrays.DEFAULT_THRESHOLD + ") ---");
+        System.out.printf("%-10s %14s %14s %14s%n", "Workers", "sum", "merge sort", "prefix scan");
+        double[] baseline = null;
+        for (int parallelism : parallelisms) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            double[] millis = {
+                bestOf(() -> {
+                    if (ForkJoinArrays.sum(pool, numbers, ForkJoinArrays.DEFAULT_THRESHOLD) != expectedSum) {
+                        throw new IllegalStateException("Wrong parallel sum");
+                    }
+                }),
+                bestOf(() -> ForkJoinArrays.sort(pool, unsorted.clone(), ForkJoinArrays.DEFAULT_THRESHOLD)),
+                bestOf(() -> ForkJoinArrays.prefixSum(pool, numbers.clone(), ForkJoinArrays.DEFAULT_THRESHOLD))
+            };
+            pool.shutdown();
+            if (baseline == null) {
+                baseline = millis;
+            }
+            System.out.printf("%-10d", parallelism);
+            for (int i = 0; i < millis.length; i++) {
+                System.out.printf(" %7.1fms %4.1fx", millis[i], baseline[i] / millis[i]);
+            }
+            System.out.println();
+        }
+        
+        System.out.println("\n--- Sequential Threshold (sum, " + cores + " workers) ---");
+        ForkJoinPool pool = new ForkJoinPool(cores);
+        for (int threshold : new int[] {64, 1024, 16_384, 262_144, FORK_JOIN_ELEMENTS}) {
+            long pieces = 1;
+            for (long size = FORK_JOIN_ELEMENTS; size > threshold; size = (size + 1) / 2) {
+                pieces *= 2;
+            }
+            double millis = bestOf(() -> ForkJoinArrays.sum(pool, numbers, threshold));
+            System.out.printf("threshold %,11d: %7.1fms (%,d pieces)%n", threshold, millis, pieces);
+        }
+        pool.shutdown();
+        System.out.println("(" + FORK_JOIN_ELEMENTS / 1_000_000 + "M longs, " + cores + " cores; tiny thresholds pay"
+            + " per-task overhead, a threshold of the whole array runs on one core)");
+    }
+    
+    /**
+     * Best wall-clock time of a few runs in milliseconds, after one warm-up run
+     */
+    private static double bestOf(Runnable operation) {
+        operation.run();
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            operation.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
     }
     
     // ==================== ATOMIC OPERATIONS ====================
@@ -285,13 +1009,13 @@ public class MultithreadingExamples {
         
         AtomicInteger atomicCounter = new AtomicInteger(0);
         
-        Thread thread1 = new Thread(() -> {
+        Thread thread1 = newThread(() -> {
             for (int i = 0; i < 1000; i++) {
                 atomicCounter.incrementAndGet();
             }
         });
         
-        Thread thread2 = new Thread(() -> {
+        Thread thread2 = newThread(() -> {
             for (int i = 0; i < 1000; i++) {
                 atomicCounter.incrementAndGet();
             }
@@ -316,6 +1040,10 @@ public class MultithreadingExamples {
         demonstrateSynchronization();
         demonstrateThreadCommunication();
         demonstrateExecutorService();
+        demonstrateCounterScaling();
+        demonstrateTimerQueues();
+        demonstrateVirtualThreads();
+        demonstrateForkJoin();
         demonstrateAtomicOperations();
     }
     
@@ -327,10 +1055,12 @@ public class MultithreadingExamples {
     private static class MyThread extends Thread {
         private final String name;
         private final int count;
+        private final TimeSource time;
         
-        public MyThread(String name, int count) {
+        public MyThread(String name, int count, TimeSource time) {
             this.name = name;
             this.count = count;
+            this.time = time;
         }
         
         @Override
@@ -338,7 +1068,7 @@ public class MultithreadingExamples {
             for (int i = 1; i <= count; i++) {
                 System.out.println(name + " - Count: " + i);
                 try {
-                    Thread.sleep(500);
+                    time.sleep(500, TimeUnit.MILLISECONDS);
                 } catch (InterruptedException e) {
                     System.out.println("❌ " + name + " interrupted: " + e.getMessage());
                     return;
@@ -354,10 +1084,12 @@ public class MultithreadingExamples {
     private static class MyRunnable implements Runnable {
         private final String name;
         private final int count;
+        private final TimeSource time;
         
-        public MyRunnable(String name, int count) {
+        public MyRunnable(String name, int count, TimeSource time) {
             this.name = name;
             this.count = count;
+            this.time = time;
         }
         
         @Override
@@ -365,7 +1097,7 @@ public class MultithreadingExamples {
             for (int i = 1; i <= count; i++) {
                 System.out.println(name + " - Count: " + i);
                 try {
-                    Thread.sleep(300);
+                    time.sleep(300, TimeUnit.MILLISECONDS);
                 } catch (InterruptedException e) {
                     System.out.println("❌ " + name + " interrupted: " + e.getMessage());
                     return;
@@ -431,6 +1163,131 @@ public class MultithreadingExamples {
         }
     }
     
+    /**
+     * Lock-free counter: read, compute, compare-and-set, retry if another thread won.
+     * Correct, but every thread still writes the same cache line.
+     */
+    private static class CasCounter {
+        private static final VarHandle COUNT;
+        
+        static {
+            try {
+                COUNT = MethodHandles.lookup().findVarHandle(CasCounter.class, "count", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+        
+        private volatile long count;
+        
+        public void increment() {
+            long current;
+            do {
+                current = count;
+            } while (!COUNT.compareAndSet(this, current, current + 1));
+        }
+        
+        public long getCount() {
+            return count;
+        }
+    }
+    
+    /**
+     * LongAdder-style counter: threads add to different cells and a read sums them.
+     * A thread whose CAS fails moves to another cell, so contended threads spread out.
+     * Each cell is padded to its own cache line so neighbouring cells do not falsely
+     * share one.
+     */
+    private static class StripedCounter {
+        private static final int CELLS = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2;
+        private static final AtomicInteger NEXT_PROBE = new AtomicInteger();
+        private static final ThreadLocal<int[]> PROBE =
+            ThreadLocal.withInitial(() -> new int[] {NEXT_PROBE.getAndIncrement() * 0x9E3779B9 | 1});
+        
+        private final PaddedCell[] cells = new PaddedCell[CELLS];
+        
+        StripedCounter() {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new PaddedCell();
+            }
+        }
+        
+        public void increment() {
+            int[] probe = PROBE.get();
+            PaddedCell cell = cells[probe[0] & (cells.length - 1)];
+            long current = cell.value;
+            if (!PaddedCell.VALUE.compareAndSet(cell, current, current + 1)) {
+                // Contended: rehash this thread to another cell and add there
+                int h = probe[0];
+                h ^= h << 13;
+                h ^= h >>> 17;
+                h ^= h << 5;
+                probe[0] = h;
+                cells[h & (cells.length - 1)].add(1);
+            }
+        }
+        
+        public long getCount() {
+            long sum = 0;
+            for (PaddedCell cell : cells) {
+                sum += cell.value;
+            }
+            return sum;
+        }
+    }
+    
+    /** 56 bytes of padding before the value; superclass fields are laid out first */
+    private static class LeftPadding {
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+    
+    private static class CellValue extends LeftPadding {
+        volatile long value;
+    }
+    
+    /** ... and 56 after it, so no other object's hot field shares its cache line */
+    private static class PaddedCell extends CellValue {
+        static final VarHandle VALUE;
+        
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(CellValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+        
+        long q1, q2, q3, q4, q5, q6, q7;
+        
+        void add(long delta) {
+            VALUE.getAndAdd(this, delta);
+        }
+        
+        /**
+         * Uncontended increment for a cell only one thread writes: no atomic instruction,
+         * but the store is not elided or merged with the next one
+         */
+        void incrementOpaque() {
+            VALUE.setOpaque(this, (long) VALUE.getOpaque(this) + 1);
+        }
+    }
+    
+    /**
+     * Threads count privately and merge once at the end: no sharing while counting, one
+     * atomic add per thread. Only fits work where nobody needs the total until then.
+     */
+    private static class MergingCounter {
+        private final AtomicLong total = new AtomicLong();
+        
+        public void merge(long localCount) {
+            total.addAndGet(localCount);
+        }
+        
+        public long getCount() {
+            return total.get();
+        }
+    }
+    
     /**
      * Message class for producer-consumer example
      */
@@ -461,7 +1318,6 @@ public class MultithreadingExamples {
             }
             empty = true;
             notify();
-            System.out.println("Received: " + message);
             return message;
         }
     }
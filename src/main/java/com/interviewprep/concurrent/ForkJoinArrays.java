@@ -0,0 +1,206 @@
+package com.interviewprep.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Divide-and-conquer operations on primitive arrays, run as fork/join tasks.
+ *
+ * Every operation splits its range in half until a piece is no longer than the
+ * sequential threshold, then does that piece with a plain loop. A low threshold exposes
+ * more parallelism but pays task overhead per piece; a high one leaves cores idle. Idle
+ * workers steal queued halves from busy ones, so uneven pieces still balance out.
+ */
+public final class ForkJoinArrays {
+    
+    /** Threshold that keeps task overhead small for simple per-element work */
+    public static final int DEFAULT_THRESHOLD = 1 << 14;
+    
+    private ForkJoinArrays() {
+    }
+    
+    /**
+     * Sum of all elements
+     */
+    public static long sum(ForkJoinPool pool, long[] array, int threshold) {
+        return pool.invoke(new SumTask(array, 0, array.length, checkThreshold(threshold)));
+    }
+    
+    /**
+     * Sorts the array ascending with a parallel merge sort; needs a scratch copy of the array
+     */
+    public static void sort(ForkJoinPool pool, int[] array, int threshold) {
+        int[] scratch = new int[array.length];
+        pool.invoke(new SortTask(array, scratch, 0, array.length, checkThreshold(threshold)));
+    }
+    
+    /**
+     * Replaces every element with the sum of itself and all elements before it.
+     *
+     * Two passes over a tree of ranges: the first computes every range's sum bottom-up,
+     * the second pushes the sum of everything to the left of each range down to its
+     * leaves, which then scan sequentially from that offset.
+     */
+    public static void prefixSum(ForkJoinPool pool, long[] array, int threshold) {
+        ScanNode root = pool.invoke(new ScanUpTask(array, 0, array.length, checkThreshold(threshold)));
+        pool.invoke(new ScanDownTask(array, root, 0));
+    }
+    
+    private static int checkThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Sequential threshold must be positive: " + threshold);
+        }
+        return threshold;
+    }
+    
+    private static class SumTask extends RecursiveTask<Long> {
+        private final long[] array;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        SumTask(long[] array, int from, int to, int threshold) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected Long compute() {
+            if (to - from <= threshold) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += array[i];
+                }
+                return sum;
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(array, from, middle, threshold);
+            left.fork();
+            long right = new SumTask(array, middle, to, threshold).compute();
+            return left.join() + right;
+        }
+    }
+    
+    /**
+     * Sorts [from, to) of array, using the same range of scratch as merge space
+     */
+    private static class SortTask extends RecursiveAction {
+        private final int[] array;
+        private final int[] scratch;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        SortTask(int[] array, int[] scratch, int from, int to, int threshold) {
+            this.array = array;
+            this.scratch = scratch;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                Arrays.sort(array, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(array, scratch, from, middle, threshold),
+                new SortTask(array, scratch, middle, to, threshold));
+            
+            if (array[middle - 1] <= array[middle]) {
+                return; // halves already in order
+            }
+            System.arraycopy(array, from, scratch, from, to - from);
+            int i = from;
+            int j = middle;
+            int k = from;
+            while (i < middle && j < to) {
+                array[k++] = scratch[i] <= scratch[j] ? scratch[i++] : scratch[j++];
+            }
+            System.arraycopy(scratch, i, array, k, middle - i);
+            System.arraycopy(scratch, j, array, k + middle - i, to - j);
+        }
+    }
+    
+    /**
+     * A range of the prefix scan and the sum of its elements
+     */
+    private static class ScanNode {
+        final int from;
+        final int to;
+        final long sum;
+        final ScanNode left;
+        final ScanNode right;
+        
+        ScanNode(int from, int to, long sum, ScanNode left, ScanNode right) {
+            this.from = from;
+            this.to = to;
+            this.sum = sum;
+            this.left = left;
+            this.right = right;
+        }
+    }
+    
+    private static class ScanUpTask extends RecursiveTask<ScanNode> {
+        private final long[] array;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        ScanUpTask(long[] array, int from, int to, int threshold) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected ScanNode compute() {
+            if (to - from <= threshold) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += array[i];
+                }
+                return new ScanNode(from, to, sum, null, null);
+            }
+            int middle = (from + to) >>> 1;
+            ScanUpTask leftTask = new ScanUpTask(array, from, middle, threshold);
+            leftTask.fork();
+            ScanNode right = new ScanUpTask(array, middle, to, threshold).compute();
+            ScanNode left = leftTask.join();
+            return new ScanNode(from, to, left.sum + right.sum, left, right);
+        }
+    }
+    
+    private static class ScanDownTask extends RecursiveAction {
+        private final long[] array;
+        private final ScanNode node;
+        private final long offset;
+        
+        ScanDownTask(long[] array, ScanNode node, long offset) {
+            this.array = array;
+            this.node = node;
+            this.offset = offset;
+        }
+        
+        @Override
+        protected void compute() {
+            if (node.left == null) {
+                long running = offset;
+                for (int i = node.from; i < node.to; i++) {
+                    running += array[i];
+                    array[i] = running;
+                }
+                return;
+            }
+            invokeAll(new ScanDownTask(array, node.left, offset),
+                new ScanDownTask(array, node.right, offset + node.left.sum));
+        }
+    }
+}
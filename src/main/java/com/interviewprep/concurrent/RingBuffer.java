@@ -0,0 +1,262 @@
+package com.interviewprep.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, preallocated ring buffer handing messages from one or many producers to a
+ * single consumer, in the style of the LMAX Disruptor.
+ *
+ * Coordination is by sequence numbers instead of locks: producers claim the next
+ * sequence, write its slot and publish it; the consumer reads every published slot up
+ * to the highest one it can see, then advances its own sequence once for the whole
+ * batch, which is also what frees those slots for the producers. No thread blocks
+ * another, nothing is allocated per message, and a waiting thread idles according to
+ * its {@link WaitStrategy}.
+ *
+ * With one producer the claim is a plain increment and publishing a single ordered
+ * store. Several producers claim with a CAS and mark each slot published individually,
+ * since they can finish writing out of order.
+ */
+public final class RingBuffer<E> {
+    
+    /** Whether put/offer may be called from more than one thread */
+    public enum ProducerType { SINGLE, MULTI }
+    
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(int[].class);
+    
+    private final Object[] slots;
+    private final int mask;
+    private final int indexShift;
+    private final ProducerType producerType;
+    private final WaitStrategy waitStrategy;
+    
+    /** Last claimed sequence; for a single producer only the producer touches it */
+    private final Sequence claimed = new Sequence(-1);
+    /** Last published sequence (single producer only) */
+    private final Sequence published = new Sequence(-1);
+    /** Round number of the sequence last published in each slot (multiple producers only) */
+    private final int[] publishedRounds;
+    /** Last sequence the consumer has finished with */
+    private final Sequence consumed = new Sequence(-1);
+    /** Producers' cached copy of consumed, refreshed only when the buffer looks full */
+    private final Sequence consumedCache = new Sequence(-1);
+    
+    public RingBuffer(int capacity, ProducerType producerType, WaitStrategy waitStrategy) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.producerType = producerType;
+        this.waitStrategy = waitStrategy;
+        this.publishedRounds = producerType == ProducerType.MULTI ? new int[capacity] : null;
+        if (publishedRounds != null) {
+            Arrays.fill(publishedRounds, -1);
+        }
+    }
+    
+    public int capacity() {
+        return slots.length;
+    }
+    
+    /**
+     * Adds the message, waiting for a free slot if the buffer is full
+     */
+    public void put(E message) throws InterruptedException {
+        requireNonNull(message);
+        long sequence;
+        if (producerType == ProducerType.SINGLE) {
+            sequence = claimed.value + 1;
+            for (int attempt = 0; !hasRoomFor(sequence); attempt++) {
+                idle(attempt);
+            }
+            claimed.value = sequence;
+        } else {
+            int attempt = 0;
+            while (true) {
+                long current = claimed.getVolatile();
+                sequence = current + 1;
+                if (!hasRoomFor(sequence)) {
+                    idle(attempt++);
+                } else if (claimed.compareAndSet(current, sequence)) {
+                    break;
+                }
+            }
+        }
+        publish(sequence, message);
+    }
+    
+    /**
+     * Adds the message if there is a free slot, returns false otherwise
+     */
+    public boolean offer(E message) {
+        requireNonNull(message);
+        long sequence;
+        if (producerType == ProducerType.SINGLE) {
+            sequence = claimed.value + 1;
+            if (!hasRoomFor(sequence)) {
+                return false;
+            }
+            claimed.value = sequence;
+        } else {
+            do {
+                long current = claimed.getVolatile();
+                sequence = current + 1;
+                if (!hasRoomFor(sequence)) {
+                    return false;
+                }
+            } while (!claimed.compareAndSet(sequence - 1, sequence));
+        }
+        publish(sequence, message);
+        return true;
+    }
+    
+    /**
+     * Hands up to {@code maxBatch} published messages to the handler without waiting and
+     * returns how many there were. Single consumer only.
+     */
+    public int drain(Consumer<? super E> handler, int maxBatch) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatch);
+        }
+        long next = consumed.value + 1;
+        long available = highestPublished(next, next + maxBatch - 1);
+        if (available < next) {
+            return 0;
+        }
+        for (long sequence = next; sequence <= available; sequence++) {
+            int index = (int) sequence & mask;
+            @SuppressWarnings("unchecked")
+            E message = (E) SLOTS.getAcquire(slots, index);
+            SLOTS.setOpaque(slots, index, null);
+            handler.accept(message);
+        }
+        // One ordered store frees the whole batch for the producers
+        consumed.setRelease(available);
+        return (int) (available - next + 1);
+    }
+    
+    /**
+     * Waits, per the wait strategy, until at least one message is published, then drains
+     * like {@link #drain}
+     */
+    public int awaitAndDrain(Consumer<? super E> handler, int maxBatch) throws InterruptedException {
+        int drained;
+        for (int attempt = 0; (drained = drain(handler, maxBatch)) == 0; attempt++) {
+            idle(attempt);
+        }
+        return drained;
+    }
+    
+    /**
+     * Number of published messages not yet drained; a snapshot under concurrent use
+     */
+    public int size() {
+        long head = consumed.getVolatile();
+        long tail = producerType == ProducerType.SINGLE ? published.getVolatile() : claimed.getVolatile();
+        return (int) Math.max(0, tail - head);
+    }
+    
+    private boolean hasRoomFor(long sequence) {
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint <= consumedCache.value) {
+            return true;
+        }
+        long current = consumed.getVolatile();
+        consumedCache.value = current;
+        return wrapPoint <= current;
+    }
+    
+    private void publish(long sequence, E message) {
+        int index = (int) sequence & mask;
+        SLOTS.setOpaque(slots, index, message);
+        if (producerType == ProducerType.SINGLE) {
+            published.setRelease(sequence);
+        } else {
+            PUBLISHED.setRelease(publishedRounds, index, (int) (sequence >>> indexShift));
+        }
+    }
+    
+    /**
+     * Highest sequence in [from, upTo] such that it and everything before it is published,
+     * or from - 1 if from itself is not
+     */
+    private long highestPublished(long from, long upTo) {
+        if (producerType == ProducerType.SINGLE) {
+            return Math.min(published.getAcquire(), upTo);
+        }
+        long limit = Math.min(claimed.getVolatile(), upTo);
+        for (long sequence = from; sequence <= limit; sequence++) {
+            int index = (int) sequence & mask;
+            if ((int) PUBLISHED.getAcquire(publishedRounds, index) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return limit;
+    }
+    
+    private void idle(int attempt) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        waitStrategy.idle(attempt);
+    }
+    
+    private static void requireNonNull(Object message) {
+        if (message == null) {
+            throw new NullPointerException("Ring buffer messages must not be null");
+        }
+    }
+    
+    /** Cache line of padding before the value; superclass fields are laid out first */
+    private static class LeftPadding {
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+    
+    private static class SequenceValue extends LeftPadding {
+        long value;
+    }
+    
+    /**
+     * Sequence counter alone on its cache line, so the producer and consumer sequences
+     * do not invalidate each other's line on every update
+     */
+    private static final class Sequence extends SequenceValue {
+        private static final VarHandle VALUE;
+        
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+        
+        long q1, q2, q3, q4, q5, q6, q7;
+        
+        Sequence(long initial) {
+            value = initial;
+        }
+        
+        long getVolatile() {
+            return (long) VALUE.getVolatile(this);
+        }
+        
+        long getAcquire() {
+            return (long) VALUE.getAcquire(this);
+        }
+        
+        void setRelease(long newValue) {
+            VALUE.setRelease(this, newValue);
+        }
+        
+        boolean compareAndSet(long expected, long newValue) {
+            return VALUE.compareAndSet(this, expected, newValue);
+        }
+    }
+}
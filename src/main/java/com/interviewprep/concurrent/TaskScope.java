@@ -0,0 +1,378 @@
+package com.interviewprep.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Structured fan-out: subtasks forked in a scope never outlive it.
+ *
+ * The owner forks subtasks, each on its own thread from the scope's factory, then calls
+ * {@link #join()}, which returns once every subtask has finished, the policy has decided
+ * the outcome, or the deadline has passed. Whatever happens first shuts the scope down,
+ * interrupting the subtasks still running, and {@link #close()} waits for them to exit.
+ * Use it with try-with-resources:
+ *
+ * <pre>
+ * try (TaskScope&lt;Integer&gt; scope = new TaskScope&lt;&gt;(Policy.SHUTDOWN_ON_SUCCESS, factory, 2, SECONDS)) {
+ *     scope.fork(() -&gt; primary.lookup(key));
+ *     scope.fork(() -&gt; replica.lookup(key));
+ *     return scope.join().result();
+ * }
+ * </pre>
+ *
+ * Only the thread that opened the scope may fork, join or close it. Where a subtask may
+ * not respond to interrupts promptly and the owner must not wait for it, e.g. one blocked
+ * in socket I/O, {@link #close(long, TimeUnit)} bounds the wait and leaves such threads
+ * to exit on their own.
+ */
+public final class TaskScope<T> implements AutoCloseable {
+    
+    /** What ends a scope early */
+    public enum Policy {
+        /** Any failure cancels the siblings; the result is every subtask's value */
+        SHUTDOWN_ON_FAILURE,
+        /** The first success cancels the siblings and is the result */
+        SHUTDOWN_ON_SUCCESS
+    }
+    
+    private final Policy policy;
+    private final ThreadFactory threadFactory;
+    private final long deadline;          // System.nanoTime() value, meaningful only if timed
+    private final boolean timed;
+    private final Thread owner = Thread.currentThread();
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final List<Subtask<T>> subtasks = new ArrayList<>();
+    private int unfinished;
+    private boolean shutdown;
+    private boolean timedOut;
+    private boolean closed;
+    private Subtask<T> firstSuccess;
+    private Throwable firstFailure;
+    
+    /**
+     * A scope without a deadline
+     */
+    public TaskScope(Policy policy, ThreadFactory threadFactory) {
+        this.policy = policy;
+        this.threadFactory = threadFactory;
+        this.deadline = 0;
+        this.timed = false;
+    }
+    
+    /**
+     * A scope that shuts down once the timeout, counted from now, has passed
+     */
+    public TaskScope(Policy policy, ThreadFactory threadFactory, long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+        }
+        this.policy = policy;
+        this.threadFactory = threadFactory;
+        this.deadline = System.nanoTime() + unit.toNanos(timeout);
+        this.timed = true;
+    }
+    
+    /**
+     * Starts the task on a new thread. If the scope is already shut down the task is not
+     * started and the returned subtask is cancelled.
+     */
+    public Subtask<T> fork(Callable<? extends T> task) {
+        requireOwner();
+        Subtask<T> subtask = new Subtask<>(task);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Task scope is closed");
+            }
+            if (shutdown) {
+                subtask.state = Subtask.State.CANCELLED;
+                return subtask;
+            }
+            subtask.thread = threadFactory.newThread(() -> run(subtask));
+            subtasks.add(subtask);
+            unfinished++;
+        } finally {
+            lock.unlock();
+        }
+        subtask.thread.start();
+        return subtask;
+    }
+    
+    /**
+     * Waits until all subtasks have finished, the policy has shut the scope down or the
+     * deadline has passed, whichever comes first. Subtasks still running at that point
+     * have been interrupted but may not have exited yet; {@link #close()} waits for them.
+     */
+    public TaskScope<T> join() throws InterruptedException {
+        requireOwner();
+        lock.lock();
+        try {
+            while (unfinished > 0 && !shutdown) {
+                if (!timed) {
+                    changed.await();
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timedOut = true;
+                    shutdown();
+                    break;
+                }
+                changed.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+    
+    /**
+     * Throws if the joined scope did not end the way its policy wants: for
+     * SHUTDOWN_ON_FAILURE when a subtask failed, for SHUTDOWN_ON_SUCCESS when none
+     * succeeded; a TimeoutException if the deadline passed first
+     */
+    public void throwIfFailed() throws ExecutionException, TimeoutException {
+        requireOwner();
+        lock.lock();
+        try {
+            if (policy == Policy.SHUTDOWN_ON_SUCCESS && firstSuccess != null) {
+                return;
+            }
+            if (policy == Policy.SHUTDOWN_ON_FAILURE && firstFailure == null && !timedOut && unfinished == 0) {
+                return;
+            }
+            if (firstFailure != null) {
+                throw new ExecutionException(firstFailure);
+            }
+            if (timedOut) {
+                throw new TimeoutException("Task scope deadline passed");
+            }
+            if (shutdown) {
+                throw new IllegalStateException("Task scope was shut down before an outcome");
+            }
+            throw new IllegalStateException(unfinished > 0 ? "Task scope not joined" : "No subtask was forked");
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Value of the first successful subtask (SHUTDOWN_ON_SUCCESS scopes only)
+     */
+    public T result() throws ExecutionException, TimeoutException {
+        if (policy != Policy.SHUTDOWN_ON_SUCCESS) {
+            throw new IllegalStateException("Only SHUTDOWN_ON_SUCCESS scopes have a single result");
+        }
+        throwIfFailed();
+        return firstSuccess.get();
+    }
+    
+    /**
+     * Values of all subtasks in fork order (SHUTDOWN_ON_FAILURE scopes only)
+     */
+    public List<T> results() throws ExecutionException, TimeoutException {
+        if (policy != Policy.SHUTDOWN_ON_FAILURE) {
+            throw new IllegalStateException("Only SHUTDOWN_ON_FAILURE scopes collect every result");
+        }
+        throwIfFailed();
+        List<T> values = new ArrayList<>(subtasks.size());
+        for (Subtask<T> subtask : subtasks) {
+            values.add(subtask.get());
+        }
+        return values;
+    }
+    
+    /**
+     * Whether join gave up because the deadline passed
+     */
+    public boolean isTimedOut() {
+        lock.lock();
+        try {
+            return timedOut;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Cancels every subtask still running by interrupting it; their outcomes are
+     * discarded. May be called from any thread, including subtasks.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            for (Subtask<T> subtask : subtasks) {
+                if (subtask.state == Subtask.State.RUNNING && subtask.thread != Thread.currentThread()) {
+                    subtask.thread.interrupt();
+                }
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Shuts the scope down and waits for every subtask thread to exit, so nothing forked
+     * here outlives the scope. An interrupt while waiting is re-asserted afterwards.
+     */
+    @Override
+    public void close() {
+        close(false, 0);
+    }
+    
+    /**
+     * Shuts the scope down like {@link #close()} but waits at most the timeout, possibly
+     * zero, for the subtask threads to exit. Those still running have been interrupted and
+     * their outcomes are discarded whenever they finish.
+     *
+     * @return whether every subtask thread has exited
+     */
+    public boolean close(long timeout, TimeUnit unit) {
+        return close(true, unit.toNanos(timeout));
+    }
+    
+    private boolean close(boolean timed, long timeoutNanos) {
+        requireOwner();
+        shutdown();
+        List<Subtask<T>> forked;
+        lock.lock();
+        try {
+            closed = true;
+            forked = new ArrayList<>(subtasks);
+        } finally {
+            lock.unlock();
+        }
+        long waitUntil = System.nanoTime() + timeoutNanos;
+        boolean interrupted = false;
+        boolean allExited = true;
+        for (Subtask<T> subtask : forked) {
+            while (true) {
+                try {
+                    if (!timed) {
+                        subtask.thread.join();
+                    } else if (waitUntil - System.nanoTime() > 0) {
+                        TimeUnit.NANOSECONDS.timedJoin(subtask.thread, waitUntil - System.nanoTime());
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            allExited &= !subtask.thread.isAlive();
+        }
+        if (interrupted) {
+            owner.interrupt();
+        }
+        return allExited;
+    }
+    
+    private void run(Subtask<T> subtask) {
+        T value = null;
+        Throwable failure = null;
+        try {
+            value = subtask.task.call();
+        } catch (Throwable e) {
+            failure = e;
+        }
+        
+        lock.lock();
+        try {
+            unfinished--;
+            if (shutdown) {
+                // Too late to count; siblings decided the outcome, or the owner gave up
+                subtask.state = Subtask.State.CANCELLED;
+            } else if (failure == null) {
+                subtask.value = value;
+                subtask.state = Subtask.State.SUCCESS;
+                if (policy == Policy.SHUTDOWN_ON_SUCCESS) {
+                    firstSuccess = subtask;
+                    shutdown();
+                }
+            } else {
+                subtask.failure = failure;
+                subtask.state = Subtask.State.FAILED;
+                if (firstFailure == null) {
+                    firstFailure = failure;
+                }
+                if (policy == Policy.SHUTDOWN_ON_FAILURE) {
+                    shutdown();
+                }
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void requireOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Task scope used outside its owner thread");
+        }
+    }
+    
+    /**
+     * A forked task and, once it has finished, its outcome
+     */
+    public static final class Subtask<T> {
+        
+        public enum State { RUNNING, SUCCESS, FAILED, CANCELLED }
+        
+        private final Callable<? extends T> task;
+        private Thread thread;
+        // Written under the scope's lock before the owner can observe them through it
+        private volatile State state = State.RUNNING;
+        private volatile T value;
+        private volatile Throwable failure;
+        
+        Subtask(Callable<? extends T> task) {
+            this.task = task;
+        }
+        
+        public State state() {
+            return state;
+        }
+        
+        /**
+         * Value of a successful subtask
+         */
+        public T get() {
+            if (state != State.SUCCESS) {
+                throw new IllegalStateException("Subtask did not succeed: " + state);
+            }
+            return value;
+        }
+        
+        /**
+         * Exception thrown by a failed subtask
+         */
+        public Throwable exception() {
+            if (state != State.FAILED) {
+                throw new IllegalStateException("Subtask did not fail: " + state);
+            }
+            return failure;
+        }
+    }
+}
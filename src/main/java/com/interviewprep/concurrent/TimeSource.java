@@ -0,0 +1,219 @@
+package com.interviewprep.concurrent;
+
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock and sleeper for code whose waits only pace a demonstration, so it can run on
+ * compressed time.
+ *
+ * {@link #system()} is plain wall-clock time. {@link #compressed(double)} makes time pass
+ * faster by a constant factor: every sleep is that many times shorter and the clock
+ * advances that many times faster, so a task that sleeps 1 s reports 1 s elapsed after
+ * 10 ms of real time at a speed-up of 100. Because every duration shrinks by the same
+ * factor, tasks still wake in the same order relative to each other, as long as the
+ * compressed gaps between them stay well above thread scheduling delays.
+ *
+ * {@link #virtual()} drops that caveat: time stands still while any thread taking part is
+ * busy and jumps to the next wake-up once all of them are asleep on the clock or done, so
+ * the wake-up order is exactly that of real time however slow the machine is.
+ *
+ * JDK schedulers and timeouts keep running on real time; pass them
+ * {@link #toRealNanos(long, TimeUnit)} of the intended delay. Virtual time has no real
+ * equivalent, so it only suits code whose every pause goes through the time source.
+ */
+public final class TimeSource {
+    
+    private static final TimeSource SYSTEM = new TimeSource(1, null);
+    
+    private final double speedUp;
+    private final VirtualClock clock;
+    private final long originNanos = System.nanoTime();
+    private final long originMillis = System.currentTimeMillis();
+    
+    private TimeSource(double speedUp, VirtualClock clock) {
+        this.speedUp = speedUp;
+        this.clock = clock;
+    }
+    
+    public static TimeSource system() {
+        return SYSTEM;
+    }
+    
+    /**
+     * A clock running the given number of times faster than real time, starting now
+     *
+     * @throws IllegalArgumentException if the speed-up is below 1 or not finite
+     */
+    public static TimeSource compressed(double speedUp) {
+        if (!(speedUp >= 1) || Double.isInfinite(speedUp)) {
+            throw new IllegalArgumentException("Speed-up must be a finite number of at least 1: " + speedUp);
+        }
+        return speedUp == 1 ? SYSTEM : new TimeSource(speedUp, null);
+    }
+    
+    /**
+     * A discrete-event clock starting now: it advances only once every thread taking part
+     * is asleep on it or finished, and then straight to the earliest wake-up. Sleepers due
+     * at the same instant wake one at a time in the order they went to sleep.
+     *
+     * The threads taking part are those passed to {@link #track(Thread)} before they start.
+     * Any other thread may sleep on the clock but does not hold it back while it runs, and
+     * a tracked thread waiting for anything but the clock, e.g. a monitor or another
+     * thread, holds time still until it moves on.
+     */
+    public static TimeSource virtual() {
+        return new TimeSource(Double.POSITIVE_INFINITY, new VirtualClock());
+    }
+    
+    /**
+     * How many times faster than real time this clock runs; infinite for virtual time
+     */
+    public double getSpeedUp() {
+        return speedUp;
+    }
+    
+    /**
+     * Nanoseconds on this clock, for measuring elapsed time like {@link System#nanoTime()}
+     */
+    public long nanoTime() {
+        if (this == SYSTEM) {
+            return System.nanoTime();
+        }
+        if (clock != null) {
+            return originNanos + clock.elapsedNanos();
+        }
+        return originNanos + (long) ((System.nanoTime() - originNanos) * speedUp);
+    }
+    
+    /**
+     * Milliseconds since the epoch on this clock, for timestamps
+     */
+    public long currentTimeMillis() {
+        if (this == SYSTEM) {
+            return System.currentTimeMillis();
+        }
+        return originMillis + TimeUnit.NANOSECONDS.toMillis(nanoTime() - originNanos);
+    }
+    
+    /**
+     * Sleeps for the duration as measured on this clock
+     */
+    public void sleep(long duration, TimeUnit unit) throws InterruptedException {
+        if (clock != null) {
+            clock.sleep(unit.toNanos(duration));
+            return;
+        }
+        TimeUnit.NANOSECONDS.sleep(toRealNanos(duration, unit));
+    }
+    
+    /**
+     * Makes a virtual clock wait for the thread, which has not started yet, whenever it is
+     * neither asleep on the clock nor finished. Other clocks ignore it.
+     *
+     * @return the thread
+     */
+    public Thread track(Thread thread) {
+        if (clock != null) {
+            clock.track(thread);
+        }
+        return thread;
+    }
+    
+    /**
+     * Real nanoseconds that pass while the duration passes on this clock
+     *
+     * @throws UnsupportedOperationException on virtual time, which real time cannot follow
+     */
+    public long toRealNanos(long duration, TimeUnit unit) {
+        if (clock != null) {
+            throw new UnsupportedOperationException("Real-time schedulers and timeouts cannot follow virtual time");
+        }
+        return this == SYSTEM ? unit.toNanos(duration) : (long) (unit.toNanos(duration) / speedUp);
+    }
+    
+    @Override
+    public String toString() {
+        if (clock != null) {
+            return "virtual time";
+        }
+        return this == SYSTEM ? "real time" : String.format("%.0fx compressed time", speedUp);
+    }
+    
+    /**
+     * Time of a virtual TimeSource. Threads ending do not tell the clock, so the sleeper
+     * due next polls every millisecond until the other tracked threads are idle.
+     */
+    private static final class VirtualClock {
+        private final Object lock = new Object();
+        private final PriorityQueue<Sleeper> sleepers = new PriorityQueue<>();
+        private final Set<Thread> participants = new HashSet<>();
+        private final Set<Thread> asleep = new HashSet<>();
+        private long elapsedNanos;
+        private long sequence;
+        
+        long elapsedNanos() {
+            synchronized (lock) {
+                return elapsedNanos;
+            }
+        }
+        
+        void track(Thread thread) {
+            synchronized (lock) {
+                participants.removeIf(participant -> participant.getState() == Thread.State.TERMINATED);
+                participants.add(thread);
+            }
+        }
+        
+        void sleep(long nanos) throws InterruptedException {
+            Thread self = Thread.currentThread();
+            synchronized (lock) {
+                Sleeper sleeper = new Sleeper(elapsedNanos + Math.max(nanos, 0), sequence++);
+                sleepers.add(sleeper);
+                asleep.add(self);
+                try {
+                    while (sleepers.peek() != sleeper || !othersIdle(self)) {
+                        lock.wait(1);
+                    }
+                } finally {
+                    sleepers.remove(sleeper);
+                    asleep.remove(self);
+                }
+                elapsedNanos = Math.max(elapsedNanos, sleeper.wakeAt);
+            }
+        }
+        
+        /**
+         * Whether every tracked thread but the caller is asleep here or finished. One that
+         * has just woken counts as busy until it sleeps or ends again, which is what lets
+         * sleepers due together wake one by one.
+         */
+        private boolean othersIdle(Thread self) {
+            participants.removeIf(participant -> participant.getState() == Thread.State.TERMINATED);
+            for (Thread participant : participants) {
+                if (participant != self && !asleep.contains(participant)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    private static final class Sleeper implements Comparable<Sleeper> {
+        final long wakeAt;
+        final long sequence;
+        
+        Sleeper(long wakeAt, long sequence) {
+            this.wakeAt = wakeAt;
+            this.sequence = sequence;
+        }
+        
+        @Override
+        public int compareTo(Sleeper other) {
+            int byTime = Long.compare(wakeAt, other.wakeAt);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.interviewprep.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchical hashed timing wheel: a timer for very many pending timeouts with O(1)
+ * schedule and cancel, at the price of firing only on tick boundaries.
+ *
+ * Time is cut into ticks. The innermost wheel has 256 slots, one per tick; each outer
+ * wheel has 64 slots, each as wide as a whole turn of the wheel inside it, so five
+ * wheels reach 2^32 ticks. A timeout goes into a slot of the innermost wheel that can
+ * hold its deadline. Whenever the innermost wheel completes a turn, the next slot of
+ * the wheel outside is emptied and its timeouts re-filed closer in (cascading), so
+ * each timeout moves at most once per level. Slots are doubly linked lists, which is
+ * what makes cancel a constant-time unlink.
+ *
+ * Only the worker thread touches the wheels. Other threads hand new timeouts over
+ * through a lock-free queue, and cancel by flipping the timeout's state and queuing it
+ * for unlinking, so neither ever waits for the worker. Tasks run on the worker thread
+ * and should be short or pass work on to an executor. Timeouts fire no earlier than
+ * their deadline and up to one tick late; a deadline beyond the wheels' reach is
+ * re-filed until it comes into range.
+ *
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor} keeps its timers in a binary
+ * heap instead: exact deadlines, but O(log n) to schedule and cancel.
+ */
+public final class TimingWheel implements AutoCloseable {
+    
+    private static final int INNER_BITS = 8;
+    private static final int OUTER_BITS = 6;
+    private static final int OUTER_WHEELS = 4;
+    private static final int INNER_MASK = (1 << INNER_BITS) - 1;
+    private static final int OUTER_MASK = (1 << OUTER_BITS) - 1;
+    /** Farthest deadline, in ticks from now, the wheels can hold */
+    private static final long MAX_SPAN = (1L << (INNER_BITS + OUTER_BITS * OUTER_WHEELS)) - 1;
+    
+    private final long tickNanos;
+    private final Thread worker;
+    private final long startTime;
+    
+    private final Slot[] inner = newSlots(1 << INNER_BITS);
+    private final Slot[][] outer = new Slot[OUTER_WHEELS][];
+    /** Ticks fully processed; the next tick to process. Worker thread only. */
+    private long currentTick;
+    
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private volatile boolean closed;
+    
+    /**
+     * Starts the worker thread; a tick of 1 to 100 ms suits per-request and per-question
+     * time limits
+     */
+    public TimingWheel(long tickDuration, TimeUnit unit, ThreadFactory threadFactory) {
+        this.tickNanos = unit.toNanos(tickDuration);
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration + " " + unit);
+        }
+        for (int level = 0; level < OUTER_WHEELS; level++) {
+            outer[level] = newSlots(1 << OUTER_BITS);
+        }
+        this.startTime = System.nanoTime();
+        this.worker = threadFactory.newThread(this::runWorker);
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    /**
+     * Runs the task on the worker thread once the delay has passed
+     *
+     * @throws IllegalStateException if the wheel has been closed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (closed) {
+            throw new IllegalStateException("Timing wheel is closed");
+        }
+        long delayNanos = Math.max(0, unit.toNanos(delay));
+        // Round up so a timeout never fires early; elapsed time is measured from startTime
+        long elapsed = System.nanoTime() - startTime;
+        long deadlineTick = (elapsed + delayNanos + tickNanos - 1) / tickNanos;
+        Timeout timeout = new Timeout(this, task, deadlineTick);
+        pending.incrementAndGet();
+        scheduled.offer(timeout);
+        return timeout;
+    }
+    
+    /**
+     * Timeouts scheduled and neither fired nor cancelled yet
+     */
+    public long pendingCount() {
+        return pending.get();
+    }
+    
+    public long getTickNanos() {
+        return tickNanos;
+    }
+    
+    /**
+     * Stops the worker; timeouts still pending never fire
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        if (Thread.currentThread() != worker) {
+            boolean interrupted = false;
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private void runWorker() {
+        while (!closed) {
+            long now = System.nanoTime() - startTime;
+            long dueTick = now / tickNanos;
+            transferScheduled();
+            unlinkCancelled();
+            while (currentTick <= dueTick && !closed) {
+                processTick();
+            }
+            long sleep = currentTick * tickNanos - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+        }
+    }
+    
+    private void transferScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() == Timeout.PENDING) {
+                file(timeout);
+            }
+        }
+    }
+    
+    private void unlinkCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.slot != null) {
+                timeout.slot.remove(timeout);
+            }
+        }
+    }
+    
+    private void processTick() {
+        int index = (int) (currentTick & INNER_MASK);
+        // Cascade when the inner wheel starts a new turn, and outwards while each wheel does
+        if (index == 0) {
+            long turn = currentTick >>> INNER_BITS;
+            for (int level = 0; level < OUTER_WHEELS; level++) {
+                int outerIndex = (int) (turn & OUTER_MASK);
+                cascade(outer[level][outerIndex]);
+                if (outerIndex != 0) {
+                    break;
+                }
+                turn >>>= OUTER_BITS;
+            }
+        }
+        
+        Slot slot = inner[index];
+        Timeout timeout;
+        while ((timeout = slot.poll()) != null) {
+            if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                pending.decrementAndGet();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        }
+        currentTick++;
+    }
+    
+    private void cascade(Slot slot) {
+        Timeout timeout;
+        while ((timeout = slot.poll()) != null) {
+            file(timeout);
+        }
+    }
+    
+    /**
+     * Puts the timeout into the slot matching how far its deadline is from the current tick
+     */
+    private void file(Timeout timeout) {
+        long deadline = Math.max(timeout.deadlineTick, currentTick);
+        long span = deadline - currentTick;
+        if (span <= INNER_MASK) {
+            inner[(int) (deadline & INNER_MASK)].add(timeout);
+            return;
+        }
+        if (span > MAX_SPAN) {
+            deadline = currentTick + MAX_SPAN; // re-filed from the outermost wheel until in range
+        }
+        int shift = INNER_BITS;
+        for (int level = 0; level < OUTER_WHEELS; level++) {
+            if (span < 1L << (shift + OUTER_BITS) || level == OUTER_WHEELS - 1) {
+                outer[level][(int) ((deadline >>> shift) & OUTER_MASK)].add(timeout);
+                return;
+            }
+            shift += OUTER_BITS;
+        }
+    }
+    
+    private static Slot[] newSlots(int count) {
+        Slot[] slots = new Slot[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = new Slot();
+        }
+        return slots;
+    }
+    
+    /**
+     * Doubly linked list of the timeouts in one slot; worker thread only
+     */
+    private static final class Slot {
+        private Timeout head;
+        private Timeout tail;
+        
+        void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+        
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+        
+        Timeout poll() {
+            Timeout timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+    
+    /**
+     * Handle to a scheduled task
+     */
+    public static final class Timeout {
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+        
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // Wheel position, worker thread only
+        private Slot slot;
+        private Timeout prev;
+        private Timeout next;
+        
+        Timeout(TimingWheel wheel, Runnable task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+        
+        /**
+         * Prevents the task from running; returns false if it already ran or was cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancelled.offer(this);
+            return true;
+        }
+        
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+        
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.interviewprep.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * What a thread does while it waits for a {@link RingBuffer} slot or message.
+ * Trades latency against the CPU burnt while waiting.
+ */
+public enum WaitStrategy {
+    
+    /** Spin on the sequence: lowest latency, keeps a core at 100% while waiting */
+    BUSY_SPIN {
+        @Override
+        void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+    
+    /** Spin briefly, then yield the core to other runnable threads between checks */
+    YIELD {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    
+    /** Spin, yield, then park for short intervals: near-zero CPU when idle, slowest to wake */
+    PARK {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+    
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+    
+    /**
+     * Called once per failed check, with the number of checks that failed before it
+     */
+    abstract void idle(int attempt);
+}
@@ -0,0 +1,30 @@
+package com.interviewprep.quiz;
+
+/**
+ * Outcome of submitting an answer in a quiz session
+ */
+public class AnswerResult {
+    private final boolean correct;
+    private final int correctAnswer;
+    private final String correctOption;
+    private final String explanation;
+    private final boolean finished;
+    
+    public AnswerResult(boolean correct, int correctAnswer, String correctOption, String explanation, boolean finished) {
+        this.correct = correct;
+        this.correctAnswer = correctAnswer;
+        this.correctOption = correctOption;
+        this.explanation = explanation;
+        this.finished = finished;
+    }
+    
+    public boolean isCorrect() { return correct; }
+    public int getCorrectAnswer() { return correctAnswer; }
+    public String getCorrectOption() { return correctOption; }
+    public String getExplanation() { return explanation; }
+    
+    /**
+     * True if this was the last question of the session
+     */
+    public boolean isFinished() { return finished; }
+}
@@ -0,0 +1,254 @@
+package com.interviewprep.quiz;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact binary question bank format with lazy per-question decoding.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header       int magic "QBNK", int version, int questionCount, int stringCount,
+ *              long stringTableOffset, long indexTableOffset
+ * records      per question: byte correctAnswer, byte optionCount, then the question,
+ *              each option and the explanation as (int length, UTF-8 bytes)
+ * string table stringCount x (int length, UTF-8 bytes), shared category and difficulty values
+ * index table  questionCount x (long recordOffset, char categoryRef, char difficultyRef)
+ * </pre>
+ *
+ * Opening a bank maps the file and reads only the header, the string table and the
+ * fixed-width index table, which is all the category/difficulty index needs. A question's
+ * text, options and explanation are decoded from the mapping when the question is served.
+ */
+public final class BinaryQuestionBank {
+    
+    public static final int MAGIC = 0x51424E4B; // "QBNK"
+    public static final int FORMAT_VERSION = 1;
+    
+    private static final int HEADER_SIZE = 32;
+    private static final int INDEX_ENTRY_SIZE = 12;
+    private static final int MAX_SHARED_STRINGS = Character.MAX_VALUE + 1;
+    private static final int MAX_OPTIONS = 0xFF;
+    
+    private BinaryQuestionBank() {
+    }
+    
+    /**
+     * Converts a JSON question bank to the binary format:
+     * {@code java -cp <jar> com.interviewprep.quiz.BinaryQuestionBank bank.json bank.qbank}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: BinaryQuestionBank <input.json> <output.qbank>");
+            return;
+        }
+        QuestionBank bank = QuestionBankLoader.load(Paths.get(args[0]));
+        write(bank.getQuestions(), Paths.get(args[1]));
+        System.out.println("✅ Wrote " + bank.size() + " questions to " + args[1]);
+    }
+    
+    /**
+     * Returns true if the stream starts with the binary bank magic number
+     */
+    public static boolean isBinaryBank(InputStream in) throws IOException {
+        byte[] magic = in.readNBytes(4);
+        return magic.length == 4 && ByteBuffer.wrap(magic).getInt() == MAGIC;
+    }
+    
+    /**
+     * Writes questions in the binary format
+     *
+     * @throws IllegalArgumentException if a question has more than 255 options or its
+     *         correct answer is not one of them; nothing is written in that case
+     */
+    public static void write(List<QuizQuestion> questions, Path file) throws IOException {
+        // Both are stored as unsigned bytes, check before anything reaches the file
+        for (QuizQuestion question : questions) {
+            int optionCount = question.getOptions().size();
+            if (optionCount > MAX_OPTIONS) {
+                throw new IllegalArgumentException("Question \"" + question.getQuestion() + "\" has "
+                    + optionCount + " options, the binary format holds at most " + MAX_OPTIONS);
+            }
+            if (question.getCorrectAnswer() < 1 || question.getCorrectAnswer() > optionCount) {
+                throw new IllegalArgumentException("Question \"" + question.getQuestion() + "\" has correct answer "
+                    + question.getCorrectAnswer() + ", which is not one of its " + optionCount + " options");
+            }
+        }
+        
+        Map<String, Integer> stringRefs = new LinkedHashMap<>();
+        long[] recordOffsets = new long[questions.size()];
+        long stringTableOffset;
+        long indexTableOffset;
+        
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.write(new byte[HEADER_SIZE]); // filled in once the offsets are known
+            
+            for (int i = 0; i < questions.size(); i++) {
+                QuizQuestion question = questions.get(i);
+                recordOffsets[i] = out.size();
+                out.writeByte(question.getCorrectAnswer());
+                out.writeByte(question.getOptions().size());
+                writeString(out, question.getQuestion());
+                for (String option : question.getOptions()) {
+                    writeString(out, option);
+                }
+                writeString(out, question.getExplanation());
+                stringRefs.putIfAbsent(question.getCategory(), stringRefs.size());
+                stringRefs.putIfAbsent(question.getDifficulty(), stringRefs.size());
+            }
+            if (stringRefs.size() > MAX_SHARED_STRINGS) {
+                throw new IOException("Too many distinct categories and difficulties: " + stringRefs.size());
+            }
+            
+            stringTableOffset = out.size();
+            for (String value : stringRefs.keySet()) {
+                writeString(out, value);
+            }
+            
+            indexTableOffset = out.size();
+            for (int i = 0; i < questions.size(); i++) {
+                QuizQuestion question = questions.get(i);
+                out.writeLong(recordOffsets[i]);
+                out.writeChar(stringRefs.get(question.getCategory()));
+                out.writeChar(stringRefs.get(question.getDifficulty()));
+            }
+            
+            // DataOutputStream.size() saturates at Integer.MAX_VALUE
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Binary question banks are limited to 2 GB");
+            }
+        }
+        
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC)
+            .putInt(FORMAT_VERSION)
+            .putInt(questions.size())
+            .putInt(stringRefs.size())
+            .putLong(stringTableOffset)
+            .putLong(indexTableOffset)
+            .flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(header, 0);
+        }
+    }
+    
+    /**
+     * Maps a binary bank file and indexes it without decoding any question
+     */
+    public static QuestionBank open(Path file) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary question banks are limited to 2 GB: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary question bank: " + file);
+        }
+        if (data.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported binary question bank version: " + data.getInt(4));
+        }
+        int questionCount = data.getInt(8);
+        int stringCount = data.getInt(12);
+        long stringTableOffset = data.getLong(16);
+        long indexTableOffset = data.getLong(24);
+        if (indexTableOffset + (long) questionCount * INDEX_ENTRY_SIZE > data.limit()) {
+            throw new IOException("Truncated binary question bank: " + file);
+        }
+        
+        ByteBuffer strings = data.duplicate();
+        strings.position((int) stringTableOffset);
+        String[] sharedStrings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            sharedStrings[i] = readString(strings);
+        }
+        
+        LazyQuestionList questions = new LazyQuestionList(data, (int) indexTableOffset, questionCount, sharedStrings);
+        return new QuestionBank(questions, questions::categoryOf, questions::difficultyOf, questions::correctAnswerOf);
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Read-only list view over the mapped file that decodes a question on every get().
+     * Each get() reads through its own duplicate of the buffer, so it is safe to share
+     * between threads.
+     */
+    private static class LazyQuestionList extends AbstractList<QuizQuestion> implements RandomAccess {
+        private final ByteBuffer data;
+        private final int indexTableOffset;
+        private final int size;
+        private final String[] sharedStrings;
+        
+        LazyQuestionList(ByteBuffer data, int indexTableOffset, int size, String[] sharedStrings) {
+            this.data = data;
+            this.indexTableOffset = indexTableOffset;
+            this.size = size;
+            this.sharedStrings = sharedStrings;
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+        
+        @Override
+        public QuizQuestion get(int id) {
+            Objects.checkIndex(id, size);
+            ByteBuffer record = data.duplicate();
+            record.position((int) data.getLong(entry(id)));
+            
+            int correctAnswer = record.get() & 0xFF;
+            int optionCount = record.get() & 0xFF;
+            String question = readString(record);
+            List<String> options = new ArrayList<>(optionCount);
+            for (int i = 0; i < optionCount; i++) {
+                options.add(readString(record));
+            }
+            String explanation = readString(record);
+            
+            return new QuizQuestion(categoryOf(id), difficultyOf(id), question,
+                Collections.unmodifiableList(options), correctAnswer, explanation);
+        }
+        
+        int correctAnswerOf(int id) {
+            return data.get((int) data.getLong(entry(id))) & 0xFF;
+        }
+        
+        String categoryOf(int id) {
+            return sharedStrings[data.getChar(entry(id) + 8)];
+        }
+        
+        String difficultyOf(int id) {
+            return sharedStrings[data.getChar(entry(id) + 10)];
+        }
+        
+        private int entry(int id) {
+            return indexTableOffset + id * INDEX_ENTRY_SIZE;
+        }
+    }
+}
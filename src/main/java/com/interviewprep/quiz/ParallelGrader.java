@@ -0,0 +1,102 @@
+package com.interviewprep.quiz;
+
+import com.interviewprep.concurrent.TaskScope;
+import com.interviewprep.util.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Scores a quiz result by asking several interchangeable graders at once and taking
+ * the first score that comes back.
+ *
+ * Graders might be replicas of a remote grading service or a fast cache in front of a
+ * full re-check; whichever answers first wins and the others are interrupted. If every
+ * grader fails the first failure is reported, and if none answers within the timeout
+ * the caller gets a TimeoutException instead of waiting on the slowest one.
+ *
+ * Scoring returns as soon as the outcome is known and does not wait for the interrupted
+ * graders to exit, so one stuck in I/O that ignores interrupts cannot hold the caller
+ * past the deadline. It keeps its thread until it finishes on its own, which is why the
+ * default threads are virtual or daemon ones.
+ */
+public class ParallelGrader {
+    
+    /**
+     * Computes the score of a quiz result, the number of correct answers
+     */
+    @FunctionalInterface
+    public interface Grader {
+        int score(QuizResult result) throws Exception;
+    }
+    
+    private final List<Grader> graders;
+    private final ThreadFactory threadFactory;
+    private final long timeoutNanos;
+    
+    /**
+     * Graders run on virtual threads where available, daemon platform threads otherwise
+     */
+    public ParallelGrader(List<Grader> graders, long timeout, TimeUnit unit) {
+        this(graders, defaultThreadFactory(), timeout, unit);
+    }
+    
+    public ParallelGrader(List<Grader> graders, ThreadFactory threadFactory, long timeout, TimeUnit unit) {
+        if (graders.isEmpty()) {
+            throw new IllegalArgumentException("At least one grader is required");
+        }
+        this.graders = new ArrayList<>(graders);
+        this.threadFactory = threadFactory;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+    
+    /**
+     * The first score any grader returns
+     *
+     * @throws ExecutionException if every grader failed, with the first failure as cause
+     * @throws TimeoutException   if no grader answered before the timeout
+     */
+    public int score(QuizResult result) throws InterruptedException, ExecutionException, TimeoutException {
+        TaskScope<Integer> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_SUCCESS, threadFactory,
+            timeoutNanos, TimeUnit.NANOSECONDS);
+        try {
+            for (Grader grader : graders) {
+                scope.fork(() -> grader.score(result));
+            }
+            return scope.join().result();
+        } finally {
+            // Interrupts the graders still running without waiting for them to exit
+            scope.close(0, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    /**
+     * Grader that re-checks every answer against the question bank
+     */
+    public static Grader answerKey(QuestionBank bank) {
+        return result -> {
+            int score = 0;
+            for (int i = 0; i < result.getTotalQuestions(); i++) {
+                if (result.getAnswer(i) == bank.getCorrectAnswer(result.getQuestionId(i))) {
+                    score++;
+                }
+            }
+            return score;
+        };
+    }
+    
+    private static ThreadFactory defaultThreadFactory() {
+        if (VirtualThreads.isSupported()) {
+            return VirtualThreads.factory();
+        }
+        return task -> {
+            Thread thread = new Thread(task, "grader");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,281 @@
+package com.interviewprep.quiz;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Immutable question bank indexed by category and difficulty.
+ *
+ * The index is built once when the bank is loaded: every (category, difficulty) pair,
+ * every category, every difficulty and the whole bank get their own array of question
+ * ids, so finding the candidates for a quiz is a couple of hash lookups. Drawing k
+ * questions from a bucket is a partial Fisher-Yates shuffle that records only the
+ * swapped slots, so it costs O(k) time and memory regardless of the bucket size.
+ */
+public class QuestionBank {
+    
+    private final List<QuizQuestion> questions;
+    private final int[] allIds;
+    private final Map<String, Map<String, int[]>> byCategoryAndDifficulty;
+    private final Map<String, int[]> byCategory;
+    private final Map<String, int[]> byDifficulty;
+    private final IntFunction<String> categoryOf;
+    private final IntFunction<String> difficultyOf;
+    private final IntUnaryOperator correctAnswerOf;
+    private volatile QuestionIndex searchIndex;
+    private volatile Long fingerprint;
+    
+    public QuestionBank(List<QuizQuestion> questions) {
+        this(new ArrayList<>(questions));
+    }
+    
+    private QuestionBank(ArrayList<QuizQuestion> questions) {
+        this(questions,
+            id -> questions.get(id).getCategory(),
+            id -> questions.get(id).getDifficulty(),
+            id -> questions.get(id).getCorrectAnswer());
+    }
+    
+    /**
+     * Builds the index from per-id accessors so that banks backed by lazily decoded
+     * storage never have to materialize their questions to be indexed or scored
+     */
+    QuestionBank(List<QuizQuestion> questions, IntFunction<String> categoryOf, IntFunction<String> difficultyOf,
+                 IntUnaryOperator correctAnswerOf) {
+        this.questions = Collections.unmodifiableList(questions);
+        this.categoryOf = categoryOf;
+        this.difficultyOf = difficultyOf;
+        this.correctAnswerOf = correctAnswerOf;
+        
+        Map<String, Map<String, IdList>> pairs = new LinkedHashMap<>();
+        Map<String, IdList> categories = new LinkedHashMap<>();
+        Map<String, IdList> difficulties = new LinkedHashMap<>();
+        for (int id = 0; id < questions.size(); id++) {
+            String category = categoryOf.apply(id);
+            String difficulty = difficultyOf.apply(id);
+            pairs.computeIfAbsent(category, c -> new LinkedHashMap<>())
+                .computeIfAbsent(difficulty, d -> new IdList())
+                .add(id);
+            categories.computeIfAbsent(category, c -> new IdList()).add(id);
+            difficulties.computeIfAbsent(difficulty, d -> new IdList()).add(id);
+        }
+        
+        this.allIds = new int[questions.size()];
+        for (int id = 0; id < allIds.length; id++) {
+            allIds[id] = id;
+        }
+        this.byCategory = toIdArrays(categories);
+        this.byDifficulty = toIdArrays(difficulties);
+        Map<String, Map<String, int[]>> index = new LinkedHashMap<>();
+        pairs.forEach((category, byDiff) -> index.put(category, toIdArrays(byDiff)));
+        this.byCategoryAndDifficulty = Collections.unmodifiableMap(index);
+    }
+    
+    /**
+     * Number of questions in the bank
+     */
+    public int size() {
+        return questions.size();
+    }
+    
+    /**
+     * Returns the question with the given id (its position in the bank)
+     */
+    public QuizQuestion get(int id) {
+        return questions.get(id);
+    }
+    
+    /**
+     * Category of a question without decoding the rest of it
+     */
+    public String getCategory(int id) {
+        Objects.checkIndex(id, questions.size());
+        return categoryOf.apply(id);
+    }
+    
+    /**
+     * Difficulty of a question without decoding the rest of it
+     */
+    public String getDifficulty(int id) {
+        Objects.checkIndex(id, questions.size());
+        return difficultyOf.apply(id);
+    }
+    
+    /**
+     * Correct option (1-based) of a question without decoding the rest of it
+     */
+    public int getCorrectAnswer(int id) {
+        Objects.checkIndex(id, questions.size());
+        return correctAnswerOf.applyAsInt(id);
+    }
+    
+    /**
+     * All questions in load order
+     */
+    public List<QuizQuestion> getQuestions() {
+        return questions;
+    }
+    
+    /**
+     * Categories in the order they first appear in the bank
+     */
+    public Set<String> getCategories() {
+        return byCategory.keySet();
+    }
+    
+    /**
+     * Difficulties in the order they first appear in the bank
+     */
+    public Set<String> getDifficulties() {
+        return byDifficulty.keySet();
+    }
+    
+    /**
+     * Full-text index of the bank, built on first use
+     */
+    public QuestionIndex getSearchIndex() {
+        QuestionIndex index = searchIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = searchIndex;
+                if (index == null) {
+                    index = QuestionIndex.build(this);
+                    searchIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+    
+    /**
+     * 64-bit hash of everything a question id stands for in a stored result: each question's
+     * category, difficulty, text, options and correct answer, in id order. Explanations are
+     * left out, so rewording one does not orphan past results. Computed on first use, which
+     * decodes every question once for lazily decoded banks.
+     */
+    public long getFingerprint() {
+        Long value = fingerprint;
+        if (value == null) {
+            value = computeFingerprint();
+            fingerprint = value;
+        }
+        return value;
+    }
+    
+    private long computeFingerprint() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every JVM", e);
+        }
+        ByteBuffer number = ByteBuffer.allocate(4);
+        for (QuizQuestion question : questions) {
+            updateString(digest, question.getCategory());
+            updateString(digest, question.getDifficulty());
+            updateString(digest, question.getQuestion());
+            digest.update(number.putInt(0, question.getOptions().size()).array());
+            for (String option : question.getOptions()) {
+                updateString(digest, option);
+            }
+            digest.update(number.putInt(0, question.getCorrectAnswer()).array());
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+    
+    private static void updateString(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Length first, so ("ab", "c") and ("a", "bc") hash differently
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+    
+    /**
+     * Number of questions matching the filter; a null category or difficulty matches any
+     */
+    public int count(String category, String difficulty) {
+        return bucket(category, difficulty).length;
+    }
+    
+    /**
+     * Draws up to {@code count} distinct questions in random order from the bucket
+     * selected by category and difficulty (null matches any). Costs O(count).
+     */
+    public List<QuizQuestion> sample(String category, String difficulty, int count, Random random) {
+        int[] ids = sampleIds(category, difficulty, count, random);
+        List<QuizQuestion> selected = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            selected.add(questions.get(id));
+        }
+        return selected;
+    }
+    
+    /**
+     * Same as {@link #sample} but returns question ids
+     */
+    public int[] sampleIds(String category, String difficulty, int count, Random random) {
+        int[] bucket = bucket(category, difficulty);
+        int k = Math.min(Math.max(count, 0), bucket.length);
+        int[] selected = new int[k];
+        
+        // Partial Fisher-Yates over a virtual copy of the bucket: only the slots that
+        // have been swapped are remembered, the rest still hold their original id.
+        Map<Integer, Integer> swapped = new HashMap<>(k * 2);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(bucket.length - i);
+            int atJ = swapped.getOrDefault(j, bucket[j]);
+            int atI = swapped.getOrDefault(i, bucket[i]);
+            selected[i] = atJ;
+            swapped.put(j, atI);
+        }
+        return selected;
+    }
+    
+    /**
+     * Ids matching the filters (null for any), in ascending order. Returns the index's own
+     * array, which callers must not modify.
+     */
+    int[] bucket(String category, String difficulty) {
+        int[] bucket;
+        if (category == null && difficulty == null) {
+            bucket = allIds;
+        } else if (category == null) {
+            bucket = byDifficulty.get(difficulty);
+        } else if (difficulty == null) {
+            bucket = byCategory.get(category);
+        } else {
+            bucket = byCategoryAndDifficulty.getOrDefault(category, Collections.emptyMap()).get(difficulty);
+        }
+        return bucket != null ? bucket : new int[0];
+    }
+    
+    private static Map<String, int[]> toIdArrays(Map<String, IdList> lists) {
+        Map<String, int[]> arrays = new LinkedHashMap<>();
+        lists.forEach((key, ids) -> arrays.put(key, ids.toArray()));
+        return Collections.unmodifiableMap(arrays);
+    }
+    
+    /**
+     * Growable int array used while bucketing, avoids boxing every id
+     */
+    private static class IdList {
+        private int[] ids = new int[16];
+        private int size;
+        
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+        
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.interviewprep.quiz;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Loads question banks from JSON files (see {@link BinaryQuestionBank} for the binary format).
+ *
+ * File format:
+ * <pre>
+ * {
+ *   "version": 1,
+ *   "questions": [
+ *     { "category": "OOP", "difficulty": "Easy", "question": "...",
+ *       "options": ["...", "..."], "correctAnswer": 1, "explanation": "..." }
+ *   ]
+ * }
+ * </pre>
+ *
+ * Files are read through a memory-mapped FileChannel and Jackson's streaming JsonParser,
+ * one token at a time: no tree model is built and the file contents are never copied
+ * onto the heap as a whole, so banks with millions of questions load in a single pass.
+ */
+public final class QuestionBankLoader {
+    
+    /** System property naming a question bank file to use instead of the bundled one */
+    public static final String QUESTIONS_FILE_PROPERTY = "interviewprep.questions";
+    
+    /** Classpath location of the question bank shipped with the app */
+    public static final String BUNDLED_QUESTIONS = "/quiz/questions.json";
+    
+    public static final int FORMAT_VERSION = 1;
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    private QuestionBankLoader() {
+    }
+    
+    /**
+     * Returns the question bank configured for this JVM, loading it on first use only
+     */
+    public static QuestionBank defaultBank() {
+        return DefaultBankHolder.BANK;
+    }
+    
+    /**
+     * Loads a question bank file through a memory-mapped channel. Binary banks written by
+     * {@link BinaryQuestionBank} are recognized by their magic number and opened lazily.
+     */
+    public static QuestionBank load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            if (BinaryQuestionBank.isBinaryBank(in)) {
+                return BinaryQuestionBank.open(file);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             InputStream in = new MappedInputStream(channel)) {
+            return load(in);
+        }
+    }
+    
+    /**
+     * Loads a question bank from a stream, e.g. a classpath resource inside the jar
+     */
+    public static QuestionBank load(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            return new QuestionBank(readBank(parser));
+        }
+    }
+    
+    private static List<QuizQuestion> readBank(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        
+        List<QuizQuestion> questions = new ArrayList<>();
+        // Category and difficulty repeat across the whole bank, keep one copy of each
+        Map<String, String> sharedValues = new HashMap<>();
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("version".equals(field)) {
+                if (value != JsonToken.VALUE_NUMBER_INT || parser.getIntValue() != FORMAT_VERSION) {
+                    throw new JsonParseException(parser, "Unsupported question bank version: " + parser.getText());
+                }
+            } else if ("questions".equals(field)) {
+                expect(parser, value, JsonToken.START_ARRAY);
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    questions.add(readQuestion(parser, sharedValues));
+                }
+                expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+        return questions;
+    }
+    
+    private static QuizQuestion readQuestion(JsonParser parser, Map<String, String> sharedValues) throws IOException {
+        String category = null;
+        String difficulty = null;
+        String question = null;
+        List<String> options = null;
+        int correctAnswer = 0;
+        String explanation = null;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "category":
+                    category = sharedValues.computeIfAbsent(readString(parser, value), v -> v);
+                    break;
+                case "difficulty":
+                    difficulty = sharedValues.computeIfAbsent(readString(parser, value), v -> v);
+                    break;
+                case "question":
+                    question = readString(parser, value);
+                    break;
+                case "options":
+                    expect(parser, value, JsonToken.START_ARRAY);
+                    options = new ArrayList<>(4);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        options.add(readString(parser, parser.currentToken()));
+                    }
+                    break;
+                case "correctAnswer":
+                    expect(parser, value, JsonToken.VALUE_NUMBER_INT);
+                    correctAnswer = parser.getIntValue();
+                    break;
+                case "explanation":
+                    explanation = readString(parser, value);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        
+        if (category == null || difficulty == null || question == null || options == null || explanation == null) {
+            throw new JsonParseException(parser, "Question is missing a required field");
+        }
+        if (correctAnswer < 1 || correctAnswer > options.size()) {
+            throw new JsonParseException(parser, "correctAnswer " + correctAnswer + " is not one of the "
+                + options.size() + " options");
+        }
+        return new QuizQuestion(category, difficulty, question,
+            Collections.unmodifiableList(options), correctAnswer, explanation);
+    }
+    
+    private static String readString(JsonParser parser, JsonToken token) throws IOException {
+        expect(parser, token, JsonToken.VALUE_STRING);
+        return parser.getText();
+    }
+    
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+    
+    /**
+     * Lazily loads the default bank: the file named by {@link #QUESTIONS_FILE_PROPERTY}
+     * if set, otherwise the bundled questions
+     */
+    private static class DefaultBankHolder {
+        static final QuestionBank BANK = loadDefault();
+        
+        private static QuestionBank loadDefault() {
+            String file = System.getProperty(QUESTIONS_FILE_PROPERTY);
+            if (file != null) {
+                try {
+                    return load(Paths.get(file));
+                } catch (IOException e) {
+                    System.out.println("❌ Could not load question bank " + file + ": " + e.getMessage());
+                    System.out.println("Using the built-in questions instead.");
+                }
+            }
+            try (InputStream in = QuestionBankLoader.class.getResourceAsStream(BUNDLED_QUESTIONS)) {
+                if (in == null) {
+                    throw new IOException("Resource not found: " + BUNDLED_QUESTIONS);
+                }
+                return load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load the built-in question bank", e);
+            }
+        }
+    }
+    
+    /**
+     * InputStream over a FileChannel that maps the file one window at a time, so files
+     * larger than the 2 GB limit of a single MappedByteBuffer can be read too
+     */
+    private static class MappedInputStream extends InputStream {
+        private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+        
+        private final FileChannel channel;
+        private final long size;
+        private long nextWindow;
+        private MappedByteBuffer window;
+        
+        MappedInputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+        
+        @Override
+        public int read() throws IOException {
+            return nextWindowIfNeeded() ? window.get() & 0xFF : -1;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextWindowIfNeeded()) {
+                return -1;
+            }
+            int count = Math.min(length, window.remaining());
+            window.get(buffer, offset, count);
+            return count;
+        }
+        
+        private boolean nextWindowIfNeeded() throws IOException {
+            if (window != null && window.hasRemaining()) {
+                return true;
+            }
+            if (nextWindow >= size) {
+                return false;
+            }
+            long length = Math.min(WINDOW_SIZE, size - nextWindow);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, nextWindow, length);
+            nextWindow += length;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.interviewprep.quiz;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Full-text inverted index over the question text, options and explanation of every
+ * question in a bank, with BM25 ranking.
+ *
+ * Each term's posting list is a run of (question id delta, weighted term frequency)
+ * pairs, both varint encoded, in one shared byte array; ids ascend, so deltas are
+ * small and most postings take two or three bytes. A query walks the posting lists of
+ * its terms in id order, scoring each matching question once and keeping the best
+ * {@code limit} in a bounded heap, so it costs time proportional to the postings of
+ * the query terms and never touches the questions themselves.
+ *
+ * Text is split into lower-cased letter/digit runs. CamelCase identifiers are indexed
+ * both whole and by their parts, so "ConcurrentHashMap" is found by "concurrenthashmap"
+ * as well as by "hash" or "map". Words in the question text count double.
+ */
+public final class QuestionIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int QUESTION_WEIGHT = 2;
+    private static final int OPTION_WEIGHT = 1;
+    private static final int EXPLANATION_WEIGHT = 1;
+    
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of",
+        "on", "or", "that", "the", "this", "to", "what", "which", "with"));
+    
+    private final Map<String, Integer> termIds;
+    private final int[] docFreqs;
+    private final int[] postingOffsets;   // term id -> start in postings, length via the next offset
+    private final byte[] postings;
+    private final float[] lengthNorms;    // BM25 length normalization per question, precomputed
+    
+    private QuestionIndex(Map<String, Integer> termIds, int[] docFreqs, int[] postingOffsets, byte[] postings,
+                          float[] lengthNorms) {
+        this.termIds = termIds;
+        this.docFreqs = docFreqs;
+        this.postingOffsets = postingOffsets;
+        this.postings = postings;
+        this.lengthNorms = lengthNorms;
+    }
+    
+    /**
+     * Indexes every question of the bank, decoding each once
+     */
+    public static QuestionIndex build(QuestionBank bank) {
+        Map<String, Integer> termIds = new HashMap<>();
+        List<PostingWriter> writers = new ArrayList<>();
+        int[] docLengths = new int[bank.size()];
+        long totalLength = 0;
+        
+        Map<String, int[]> frequencies = new HashMap<>();
+        for (int id = 0; id < bank.size(); id++) {
+            QuizQuestion question = bank.get(id);
+            frequencies.clear();
+            int length = addTerms(question.getQuestion(), QUESTION_WEIGHT, frequencies);
+            for (String option : question.getOptions()) {
+                length += addTerms(option, OPTION_WEIGHT, frequencies);
+            }
+            length += addTerms(question.getExplanation(), EXPLANATION_WEIGHT, frequencies);
+            docLengths[id] = length;
+            totalLength += length;
+            
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                Integer termId = termIds.get(entry.getKey());
+                if (termId == null) {
+                    termId = writers.size();
+                    termIds.put(entry.getKey(), termId);
+                    writers.add(new PostingWriter());
+                }
+                writers.get(termId).add(id, entry.getValue()[0]);
+            }
+        }
+        
+        int[] docFreqs = new int[writers.size()];
+        int[] postingOffsets = new int[writers.size() + 1];
+        long size = 0;
+        for (PostingWriter writer : writers) {
+            size += writer.length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Search index exceeds 2 GB of postings");
+        }
+        byte[] postings = new byte[(int) size];
+        int offset = 0;
+        for (int termId = 0; termId < writers.size(); termId++) {
+            PostingWriter writer = writers.get(termId);
+            docFreqs[termId] = writer.docFreq;
+            postingOffsets[termId] = offset;
+            System.arraycopy(writer.bytes, 0, postings, offset, writer.length);
+            offset += writer.length;
+            writers.set(termId, null); // let the build buffers go as we copy
+        }
+        postingOffsets[writers.size()] = offset;
+        
+        double averageDocLength = bank.size() == 0 ? 0 : (double) totalLength / bank.size();
+        float[] lengthNorms = new float[bank.size()];
+        for (int id = 0; id < lengthNorms.length; id++) {
+            lengthNorms[id] = (float) (K1 * (1 - B + B * docLengths[id] / averageDocLength));
+        }
+        return new QuestionIndex(termIds, docFreqs, postingOffsets, postings, lengthNorms);
+    }
+    
+    /**
+     * Questions containing any of the query's words, best matches first
+     */
+    public List<SearchHit> search(String query, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Cursor> cursors = new ArrayList<>();
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms::add, false);
+        for (String term : terms) {
+            Integer termId = termIds.get(term);
+            if (termId != null) {
+                cursors.add(new Cursor(termId));
+            }
+        }
+        
+        Comparator<SearchHit> worstFirst = Comparator.comparingDouble(SearchHit::getScore)
+            .thenComparing(Comparator.comparingInt(SearchHit::getQuestionId).reversed());
+        // No more hits than questions, whatever the caller asks for
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(Math.min(limit, lengthNorms.length) + 1, worstFirst);
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (Cursor cursor : cursors) {
+                doc = Math.min(doc, cursor.doc);
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            double score = 0;
+            for (Cursor cursor : cursors) {
+                if (cursor.doc == doc) {
+                    score += cursor.score();
+                    cursor.next();
+                }
+            }
+            if (best.size() < limit) {
+                best.offer(new SearchHit(doc, score));
+            } else if (score > best.peek().getScore()) {
+                best.poll();
+                best.offer(new SearchHit(doc, score));
+            }
+        }
+        
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(worstFirst.reversed());
+        return hits;
+    }
+    
+    /**
+     * Number of distinct terms
+     */
+    public int getTermCount() {
+        return docFreqs.length;
+    }
+    
+    /**
+     * Size of the compressed posting lists in bytes
+     */
+    public int getPostingBytes() {
+        return postings.length;
+    }
+    
+    /**
+     * Adds the weighted frequency of every term in the text, returns the weighted word count
+     */
+    private static int addTerms(String text, int weight, Map<String, int[]> frequencies) {
+        int[] length = new int[1];
+        tokenize(text, term -> {
+            frequencies.computeIfAbsent(term, t -> new int[1])[0] += weight;
+            length[0] += weight;
+        }, true);
+        return length[0];
+    }
+    
+    private static void tokenize(String text, Consumer<String> terms, boolean splitCamelCase) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = text.substring(start, i);
+                emit(word, terms);
+                if (splitCamelCase) {
+                    emitCamelCaseParts(word, terms);
+                }
+                start = -1;
+            }
+        }
+    }
+    
+    private static void emit(String word, Consumer<String> terms) {
+        String term = word.toLowerCase(Locale.ROOT);
+        if (!STOP_WORDS.contains(term)) {
+            terms.accept(term);
+        }
+    }
+    
+    /**
+     * "ConcurrentHashMap" -> concurrent, hash, map; "HTTPServer" -> http, server
+     */
+    private static void emitCamelCaseParts(String word, Consumer<String> terms) {
+        int partStart = 0;
+        for (int i = 1; i < word.length(); i++) {
+            char previous = word.charAt(i - 1);
+            char current = word.charAt(i);
+            boolean lowerToUpper = Character.isLowerCase(previous) && Character.isUpperCase(current);
+            boolean acronymEnd = Character.isUpperCase(previous) && Character.isUpperCase(current)
+                && i + 1 < word.length() && Character.isLowerCase(word.charAt(i + 1));
+            if (lowerToUpper || acronymEnd) {
+                emit(word.substring(partStart, i), terms);
+                partStart = i;
+            }
+        }
+        if (partStart > 0) {
+            emit(word.substring(partStart), terms);
+        }
+    }
+    
+    /**
+     * Walks one term's posting list in question id order
+     */
+    private class Cursor {
+        private final double idf;
+        private int position;
+        private final int end;
+        int doc = -1;
+        int frequency;
+        
+        Cursor(int termId) {
+            int n = lengthNorms.length;
+            this.idf = Math.log(1 + (n - docFreqs[termId] + 0.5) / (docFreqs[termId] + 0.5));
+            this.position = postingOffsets[termId];
+            this.end = postingOffsets[termId + 1];
+            next();
+        }
+        
+        void next() {
+            if (position >= end) {
+                doc = Integer.MAX_VALUE;
+                return;
+            }
+            doc += readVarint();
+            frequency = readVarint();
+        }
+        
+        double score() {
+            return idf * frequency * (K1 + 1) / (frequency + lengthNorms[doc]);
+        }
+        
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+    
+    /**
+     * Growable posting list of one term while the index is built
+     */
+    private static class PostingWriter {
+        byte[] bytes = new byte[8];
+        int length;
+        int lastDoc = -1;
+        int docFreq;
+        
+        void add(int doc, int frequency) {
+            writeVarint(doc - lastDoc);
+            writeVarint(frequency);
+            lastDoc = doc;
+            docFreq++;
+        }
+        
+        private void writeVarint(int value) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+    }
+    
+    /**
+     * A matching question and its relevance score
+     */
+    public static class SearchHit {
+        private final int questionId;
+        private final double score;
+        
+        public SearchHit(int questionId, double score) {
+            this.questionId = questionId;
+            this.score = score;
+        }
+        
+        public int getQuestionId() { return questionId; }
+        public double getScore() { return score; }
+    }
+}
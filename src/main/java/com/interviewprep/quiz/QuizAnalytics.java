@@ -0,0 +1,216 @@
+package com.interviewprep.quiz;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregate statistics over quiz results, maintained incrementally as results arrive.
+ *
+ * Accuracy per category and difficulty is kept in striped LongAdder counters so that
+ * concurrent sessions ending at the same time do not contend on one cache line. Scores
+ * go into a fixed histogram with one bucket per whole percent, so the percentile of a
+ * score against the whole population is a sum over at most 101 buckets: constant time,
+ * independent of how many results have been recorded. Per-question attempt and miss
+ * counts are flat atomic arrays indexed by question id.
+ */
+public class QuizAnalytics {
+    
+    private static final int SCORE_BUCKETS = 101;
+    
+    private final QuestionBank questionBank;
+    private final ConcurrentMap<String, AccuracyCounter> byCategory = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AccuracyCounter> byDifficulty = new ConcurrentHashMap<>();
+    private final AtomicLongArray questionAttempts;
+    private final AtomicLongArray questionMisses;
+    private final LongAdder[] scoreHistogram = new LongAdder[SCORE_BUCKETS];
+    private final LongAdder resultCount = new LongAdder();
+    
+    public QuizAnalytics(QuestionBank questionBank) {
+        this.questionBank = questionBank;
+        this.questionAttempts = new AtomicLongArray(questionBank.size());
+        this.questionMisses = new AtomicLongArray(questionBank.size());
+        for (int i = 0; i < SCORE_BUCKETS; i++) {
+            scoreHistogram[i] = new LongAdder();
+        }
+        for (String category : questionBank.getCategories()) {
+            byCategory.put(category, new AccuracyCounter());
+        }
+        for (String difficulty : questionBank.getDifficulties()) {
+            byDifficulty.put(difficulty, new AccuracyCounter());
+        }
+    }
+    
+    /**
+     * Adds a finished quiz to the statistics. Usable directly as an engine result listener
+     * and as the recovery callback of a {@link QuizResultJournal}.
+     */
+    public void record(QuizResult result) {
+        if (result.getTotalQuestions() == 0) {
+            return;
+        }
+        for (int i = 0; i < result.getTotalQuestions(); i++) {
+            int questionId = result.getQuestionId(i);
+            if (questionId < 0 || questionId >= questionBank.size()) {
+                continue; // journaled against a different question bank
+            }
+            boolean correct = result.getAnswer(i) == questionBank.getCorrectAnswer(questionId);
+            counter(byCategory, questionBank.getCategory(questionId)).record(correct);
+            counter(byDifficulty, questionBank.getDifficulty(questionId)).record(correct);
+            questionAttempts.incrementAndGet(questionId);
+            if (!correct) {
+                questionMisses.incrementAndGet(questionId);
+            }
+        }
+        scoreHistogram[scoreBucket(result.getPercentage())].increment();
+        resultCount.increment();
+    }
+    
+    public long getResultCount() {
+        return resultCount.sum();
+    }
+    
+    /**
+     * Percentage of recorded results scoring below the given percentage, counting ties
+     * as half. Sums at most 101 histogram buckets.
+     */
+    public double percentileOf(double percentage) {
+        int bucket = scoreBucket(percentage);
+        long below = 0;
+        long total = 0;
+        long same = 0;
+        for (int i = 0; i < SCORE_BUCKETS; i++) {
+            long count = scoreHistogram[i].sum();
+            total += count;
+            if (i < bucket) {
+                below += count;
+            } else if (i == bucket) {
+                same = count;
+            }
+        }
+        return total == 0 ? 0 : (below + same / 2.0) / total * 100;
+    }
+    
+    /**
+     * Number of results per whole-percent score, index 0 to 100
+     */
+    public long[] getScoreDistribution() {
+        long[] distribution = new long[SCORE_BUCKETS];
+        for (int i = 0; i < SCORE_BUCKETS; i++) {
+            distribution[i] = scoreHistogram[i].sum();
+        }
+        return distribution;
+    }
+    
+    public Map<String, Accuracy> getAccuracyByCategory() {
+        return snapshot(byCategory);
+    }
+    
+    public Map<String, Accuracy> getAccuracyByDifficulty() {
+        return snapshot(byDifficulty);
+    }
+    
+    /**
+     * Questions with the most wrong answers, most missed first. Scans the per-question
+     * counters once with a bounded heap, O(bank size * log limit).
+     */
+    public List<MissedQuestion> getMostMissed(int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        Comparator<MissedQuestion> byMisses = Comparator.comparingLong(MissedQuestion::getMisses)
+            .thenComparingDouble(MissedQuestion::getMissRate);
+        // Sized by the bank, not the caller: a huge limit must not allocate a huge heap
+        PriorityQueue<MissedQuestion> top = new PriorityQueue<>(Math.min(limit, questionMisses.length()) + 1, byMisses);
+        for (int id = 0; id < questionMisses.length(); id++) {
+            long misses = questionMisses.get(id);
+            if (misses == 0) {
+                continue;
+            }
+            top.offer(new MissedQuestion(id, questionAttempts.get(id), misses));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        
+        List<MissedQuestion> mostMissed = new ArrayList<>(top);
+        mostMissed.sort(byMisses.reversed());
+        return mostMissed;
+    }
+    
+    private static int scoreBucket(double percentage) {
+        return (int) Math.max(0, Math.min(100, Math.floor(percentage)));
+    }
+    
+    private static AccuracyCounter counter(ConcurrentMap<String, AccuracyCounter> counters, String key) {
+        AccuracyCounter counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new AccuracyCounter());
+    }
+    
+    private static Map<String, Accuracy> snapshot(Map<String, AccuracyCounter> counters) {
+        Map<String, Accuracy> snapshot = new TreeMap<>();
+        counters.forEach((key, counter) -> snapshot.put(key,
+            new Accuracy(counter.attempts.sum(), counter.correct.sum())));
+        return snapshot;
+    }
+    
+    /**
+     * Striped attempt and correct-answer counters for one category or difficulty
+     */
+    private static class AccuracyCounter {
+        final LongAdder attempts = new LongAdder();
+        final LongAdder correct = new LongAdder();
+        
+        void record(boolean isCorrect) {
+            attempts.increment();
+            if (isCorrect) {
+                correct.increment();
+            }
+        }
+    }
+    
+    /**
+     * Point-in-time accuracy of a category or difficulty
+     */
+    public static class Accuracy {
+        private final long attempts;
+        private final long correct;
+        
+        public Accuracy(long attempts, long correct) {
+            this.attempts = attempts;
+            this.correct = correct;
+        }
+        
+        public long getAttempts() { return attempts; }
+        public long getCorrect() { return correct; }
+        
+        public double getPercentage() {
+            return attempts == 0 ? 0 : (double) correct / attempts * 100;
+        }
+    }
+    
+    /**
+     * Attempt and miss counts of one question
+     */
+    public static class MissedQuestion {
+        private final int questionId;
+        private final long attempts;
+        private final long misses;
+        
+        public MissedQuestion(int questionId, long attempts, long misses) {
+            this.questionId = questionId;
+            this.attempts = attempts;
+            this.misses = misses;
+        }
+        
+        public int getQuestionId() { return questionId; }
+        public long getAttempts() { return attempts; }
+        public long getMisses() { return misses; }
+        
+        public double getMissRate() {
+            return attempts == 0 ? 0 : (double) misses / attempts;
+        }
+    }
+}
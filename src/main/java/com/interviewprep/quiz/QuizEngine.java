@@ -0,0 +1,166 @@
+package com.interviewprep.quiz;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Session-oriented quiz engine.
+ *
+ * The question bank is immutable and shared by every session; all per-candidate state
+ * lives in a QuizSession kept in a ConcurrentHashMap, so one engine can serve any
+ * number of concurrent sessions from any number of threads. The engine does no I/O:
+ * the console QuizSystem and other front ends are clients of it.
+ */
+public class QuizEngine {
+    
+    public static final String ANONYMOUS = "anonymous";
+    
+    private final QuestionBank questionBank;
+    private final SpacedRepetitionScheduler scheduler;
+    private final ConcurrentMap<String, QuizSession> sessions = new ConcurrentHashMap<>();
+    private final List<Consumer<QuizResult>> resultListeners = new CopyOnWriteArrayList<>();
+    
+    public QuizEngine(QuestionBank questionBank) {
+        this(questionBank, null);
+    }
+    
+    /**
+     * Creates an engine that picks questions for named candidates with the scheduler,
+     * which is fed every finished session; anonymous sessions stay purely random
+     */
+    public QuizEngine(QuestionBank questionBank, SpacedRepetitionScheduler scheduler) {
+        this.questionBank = questionBank;
+        this.scheduler = scheduler;
+        if (scheduler != null) {
+            addResultListener(scheduler::record);
+        }
+    }
+    
+    public QuestionBank getQuestionBank() {
+        return questionBank;
+    }
+    
+    /**
+     * Registers a callback for the final results of every session ended from now on,
+     * e.g. a {@link QuizResultJournal}. Listeners run on the thread that ends the session
+     * and must not block.
+     */
+    public void addResultListener(Consumer<QuizResult> listener) {
+        resultListeners.add(listener);
+    }
+    
+    /**
+     * Starts an anonymous session, see {@link #startSession(String, String, int)}
+     */
+    public String startSession(String category, int questionCount) {
+        return startSession(ANONYMOUS, category, questionCount);
+    }
+    
+    /**
+     * Starts a session for a candidate with up to {@code questionCount} questions from the
+     * category (null for all categories) and returns its id. Questions are chosen by the
+     * spaced repetition scheduler if there is one, otherwise at random.
+     */
+    public String startSession(String candidate, String category, int questionCount) {
+        if (questionCount < 1) {
+            throw new IllegalArgumentException("A quiz needs at least one question: " + questionCount);
+        }
+        int[] questionIds = scheduler != null && candidate != null && !candidate.equals(ANONYMOUS)
+            ? scheduler.nextQuestions(candidate, category, questionCount)
+            : questionBank.sampleIds(category, null, questionCount, ThreadLocalRandom.current());
+        if (questionIds.length == 0) {
+            throw new IllegalArgumentException("No questions in category " + category);
+        }
+        
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, new QuizSession(id, candidate != null ? candidate : ANONYMOUS, category, questionIds));
+        return id;
+    }
+    
+    /**
+     * Returns the question waiting for an answer, or null once every question is answered.
+     * Calling it again without answering returns the same question.
+     */
+    public QuizQuestion nextQuestion(String sessionId) {
+        int questionId = session(sessionId).currentQuestionId();
+        return questionId < 0 ? null : questionBank.get(questionId);
+    }
+    
+    /**
+     * Answers the current question with a 1-based option number
+     */
+    public AnswerResult submitAnswer(String sessionId, int answer) {
+        QuizSession session = session(sessionId);
+        int questionId = session.currentQuestionId();
+        if (questionId < 0) {
+            throw new IllegalStateException("Session " + sessionId + " has no questions left");
+        }
+        
+        QuizQuestion question = questionBank.get(questionId);
+        if (answer < 1 || answer > question.getOptions().size()) {
+            throw new IllegalArgumentException("Answer must be between 1 and " + question.getOptions().size());
+        }
+        boolean correct = answer == question.getCorrectAnswer();
+        boolean finished = session.answer(questionId, answer, correct);
+        
+        return new AnswerResult(correct, question.getCorrectAnswer(),
+            question.getOptions().get(question.getCorrectAnswer() - 1),
+            question.getExplanation(), finished);
+    }
+    
+    /**
+     * Results of the questions answered so far
+     */
+    public QuizResult getResults(String sessionId) {
+        return session(sessionId).toResult();
+    }
+    
+    /**
+     * Removes the session and returns its final results
+     */
+    public QuizResult endSession(String sessionId) {
+        QuizSession session = sessions.remove(sessionId);
+        if (session == null) {
+            throw new QuizSessionNotFoundException(sessionId);
+        }
+        QuizResult result = session.toResult();
+        for (Consumer<QuizResult> listener : resultListeners) {
+            listener.accept(result);
+        }
+        return result;
+    }
+    
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+    
+    /**
+     * Drops sessions that have not been used for the given time, e.g. abandoned browser
+     * tabs of a long-running server. Returns the number of sessions removed.
+     */
+    public int evictIdleSessions(long idleTime, TimeUnit unit) {
+        long cutoff = System.nanoTime() - unit.toNanos(idleTime);
+        int evicted = 0;
+        for (QuizSession session : sessions.values()) {
+            if (session.getLastAccess() - cutoff < 0 && sessions.remove(session.getId(), session)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+    
+    private QuizSession session(String sessionId) {
+        QuizSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new QuizSessionNotFoundException(sessionId);
+        }
+        session.touch();
+        return session;
+    }
+}
@@ -0,0 +1,32 @@
+package com.interviewprep.quiz;
+
+import java.util.List;
+
+/**
+ * A single multiple choice quiz question
+ */
+public class QuizQuestion {
+    private final String category;
+    private final String difficulty;
+    private final String question;
+    private final List<String> options;
+    private final int correctAnswer;
+    private final String explanation;
+    
+    public QuizQuestion(String category, String difficulty, String question, 
+                      List<String> options, int correctAnswer, String explanation) {
+        this.category = category;
+        this.difficulty = difficulty;
+        this.question = question;
+        this.options = options;
+        this.correctAnswer = correctAnswer;
+        this.explanation = explanation;
+    }
+    
+    public String getCategory() { return category; }
+    public String getDifficulty() { return difficulty; }
+    public String getQuestion() { return question; }
+    public List<String> getOptions() { return options; }
+    public int getCorrectAnswer() { return correctAnswer; }
+    public String getExplanation() { return explanation; }
+}
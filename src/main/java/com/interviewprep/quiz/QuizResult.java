@@ -0,0 +1,45 @@
+package com.interviewprep.quiz;
+
+/**
+ * Immutable snapshot of a quiz session's results
+ */
+public class QuizResult {
+    private final String sessionId;
+    private final String candidate;
+    private final String category;
+    private final long completedAt;
+    private final int[] questionIds;
+    private final int[] answers;
+    private final int score;
+    
+    /**
+     * @param candidate   who took the quiz
+     * @param category    the category the session was restricted to, null for all categories
+     * @param completedAt when the snapshot was taken, in epoch milliseconds
+     * @param questionIds ids of the answered questions, in the order they were asked
+     * @param answers     the answer given to each of those questions (1-based option)
+     */
+    public QuizResult(String sessionId, String candidate, String category, long completedAt,
+                      int[] questionIds, int[] answers, int score) {
+        this.sessionId = sessionId;
+        this.candidate = candidate;
+        this.category = category;
+        this.completedAt = completedAt;
+        this.questionIds = questionIds;
+        this.answers = answers;
+        this.score = score;
+    }
+    
+    public String getSessionId() { return sessionId; }
+    public String getCandidate() { return candidate; }
+    public String getCategory() { return category; }
+    public long getCompletedAt() { return completedAt; }
+    public int getScore() { return score; }
+    public int getTotalQuestions() { return questionIds.length; }
+    public int getQuestionId(int index) { return questionIds[index]; }
+    public int getAnswer(int index) { return answers[index]; }
+    
+    public double getPercentage() {
+        return questionIds.length == 0 ? 0 : (double) score / questionIds.length * 100;
+    }
+}
@@ -0,0 +1,577 @@
+package com.interviewprep.quiz;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, length-prefixed journal of quiz results with group commit.
+ *
+ * File layout: a 20 byte header (magic "QRJ1", int version, int questionCount, long
+ * bankFingerprint) followed by records of (int payloadLength, int crc32, payload). The
+ * header names the question bank the records' question ids point into, see
+ * {@link QuestionBank#getFingerprint()}. The payload holds the candidate, session,
+ * category, completion time, score and every (questionId, answer) pair, the answer as an
+ * unsigned byte.
+ *
+ * {@link #append} only enqueues the result. A single writer thread drains the queue,
+ * writes batches through a FileChannel and fsyncs once the unsynced bytes reach the
+ * batch size or the oldest unsynced record reaches the maximum delay, then completes the
+ * futures of every record in that batch. Opening a journal scans it from the start,
+ * replays every intact record and truncates a torn or corrupt tail left by a crash.
+ *
+ * A journal written against a different bank, or by version 1, which recorded no bank,
+ * is not replayed: its ids would be credited to whatever questions hold those positions
+ * now. Its contents are copied to a ".stale" file next to it and the journal starts over.
+ *
+ * A journal has one writer at a time: opening takes an exclusive lock on the file, held
+ * until close(), and fails if another process or another open journal already holds it.
+ * Two writers would each truncate the other's record in flight during recovery and then
+ * overwrite each other's records from their own positions.
+ *
+ * A failed write or fsync fails the journal closed: the file is cut back to the end of
+ * the last fsynced batch, the futures of the unsynced records and of every later append
+ * complete exceptionally, and close() rethrows the failure. Appending after torn bytes
+ * would leave records the recovery scan never reaches.
+ */
+public class QuizResultJournal implements AutoCloseable {
+    
+    /** System property naming the journal file used by the console and the server */
+    public static final String JOURNAL_FILE_PROPERTY = "interviewprep.journal";
+    
+    public static final int DEFAULT_BATCH_BYTES = 64 * 1024;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 50;
+    
+    private static final int MAGIC = 0x51524A31; // "QRJ1"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 20;
+    private static final int MAGIC_AND_VERSION_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_ANSWER = 0xFF;
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final PendingRecord CLOSE_MARKER = new PendingRecord(null);
+    
+    private final Path file;
+    private final FileChannel channel;
+    private final int batchBytes;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final long recoveredRecords;
+    private final long truncatedBytes;
+    private final Path quarantinedFile;
+    private volatile boolean closed;
+    private volatile IOException writeFailure;
+    
+    private QuizResultJournal(Path file, FileChannel channel, int batchBytes, long maxDelayMillis,
+                              Recovery recovery) {
+        this.file = file;
+        this.channel = channel;
+        this.batchBytes = batchBytes;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.recoveredRecords = recovery.records;
+        this.truncatedBytes = recovery.truncatedBytes;
+        this.quarantinedFile = recovery.quarantinedFile;
+        this.writer = new Thread(this::writeLoop, "quiz-result-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    /**
+     * Opens or creates a journal with the default group commit thresholds
+     */
+    public static QuizResultJournal open(Path file, QuestionBank bank, Consumer<QuizResult> recovered)
+            throws IOException {
+        return open(file, bank, recovered, DEFAULT_BATCH_BYTES, DEFAULT_MAX_DELAY_MILLIS);
+    }
+    
+    /**
+     * Opens or creates a journal of results against {@code bank}, passing every intact
+     * record to {@code recovered} before returning
+     *
+     * @param batchBytes     fsync once this many bytes are unsynced
+     * @param maxDelayMillis fsync once the oldest unsynced record is this old
+     */
+    public static QuizResultJournal open(Path file, QuestionBank bank, Consumer<QuizResult> recovered,
+                                         int batchBytes, long maxDelayMillis) throws IOException {
+        return open(file, bank, recovered, batchBytes, maxDelayMillis, UnaryOperator.identity());
+    }
+    
+    /**
+     * Opens a journal whose writes go through the wrapped channel, for injecting I/O failures
+     */
+    static QuizResultJournal open(Path file, QuestionBank bank, Consumer<QuizResult> recovered, int batchBytes,
+                                  long maxDelayMillis, UnaryOperator<FileChannel> channelWrapper) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = channelWrapper.apply(FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        try {
+            lock(channel, file);
+            Recovery recovery = recover(file, channel, bank.size(), bank.getFingerprint(), recovered);
+            return new QuizResultJournal(file, channel, batchBytes, maxDelayMillis, recovery);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Takes the writer lock, released when the channel is closed
+     */
+    private static void lock(FileChannel channel, Path file) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Held by another journal in this JVM
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException("Journal is in use by another quiz console or server: " + file
+                + " (set -D" + JOURNAL_FILE_PROPERTY + " to give this one its own file)");
+        }
+    }
+    
+    /**
+     * The file named by {@link #JOURNAL_FILE_PROPERTY}, by default
+     * ~/.interviewprep/quiz-results.journal
+     */
+    public static Path defaultFile() {
+        String file = System.getProperty(JOURNAL_FILE_PROPERTY);
+        return file != null ? Paths.get(file) : Paths.get(System.getProperty("user.home"), ".interviewprep", "quiz-results.journal");
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * Number of records found by the recovery scan when the journal was opened
+     */
+    public long getRecoveredRecords() {
+        return recoveredRecords;
+    }
+    
+    /**
+     * Bytes of torn or corrupt tail discarded by the recovery scan
+     */
+    public long getTruncatedBytes() {
+        return truncatedBytes;
+    }
+    
+    /**
+     * Where the records of a journal written against another question bank were moved
+     * when it was opened, or null if it was replayed
+     */
+    public Path getQuarantinedFile() {
+        return quarantinedFile;
+    }
+    
+    /**
+     * Queues a result for writing and returns immediately. The future completes once the
+     * batch holding the record has been fsynced, or exceptionally if writing failed, now
+     * or earlier, or the record is over 16 MB or holds an answer over 255.
+     */
+    public CompletableFuture<Void> append(QuizResult result) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed: " + file);
+        }
+        PendingRecord record = new PendingRecord(result);
+        IOException failure = writeFailure;
+        if (failure != null) {
+            record.done.completeExceptionally(failure);
+            return record.done;
+        }
+        try {
+            // Blocks only if the writer is a whole queue behind, which bounds memory use
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            record.done.completeExceptionally(e);
+        }
+        return record.done;
+    }
+    
+    /**
+     * Writes and fsyncs everything queued so far, then closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // A marker record rather than Thread.interrupt(): interrupting a thread blocked in
+        // FileChannel I/O closes the channel
+        try {
+            queue.put(CLOSE_MARKER);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        
+        // Appends that raced with close() and missed the writer
+        IOException closedException = new IOException("Journal closed before the record was written: " + file);
+        for (PendingRecord record; (record = queue.poll()) != null; ) {
+            record.done.completeExceptionally(closedException);
+        }
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+    }
+    
+    // ==================== WRITER THREAD ====================
+    
+    private void writeLoop() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(batchBytes + RECORD_HEADER_SIZE);
+        List<PendingRecord> unsynced = new ArrayList<>();
+        long syncedPosition;
+        try {
+            syncedPosition = channel.position();
+        } catch (IOException e) {
+            writeFailure = e;
+            syncedPosition = -1;
+        }
+        long unsyncedBytes = 0;
+        long oldestUnsynced = 0;
+        boolean closing = false;
+        
+        while (true) {
+            PendingRecord record;
+            try {
+                if (closing) {
+                    record = queue.poll();
+                } else if (unsynced.isEmpty()) {
+                    record = queue.take();
+                } else {
+                    long wait = oldestUnsynced + maxDelayNanos - System.nanoTime();
+                    record = queue.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                record = null;
+                closing = true;
+            }
+            if (record == CLOSE_MARKER) {
+                closing = true;
+                continue;
+            }
+            
+            if (writeFailure != null) {
+                // Failed closed, nothing more reaches the file
+                if (record != null) {
+                    record.done.completeExceptionally(writeFailure);
+                }
+            } else {
+                try {
+                    if (record != null) {
+                        try {
+                            unsyncedBytes += write(buffer, encode(record.result));
+                            if (unsynced.isEmpty()) {
+                                oldestUnsynced = System.nanoTime();
+                            }
+                            unsynced.add(record);
+                        } catch (IllegalArgumentException e) {
+                            record.done.completeExceptionally(e);
+                        }
+                    }
+                    
+                    boolean due = !unsynced.isEmpty() && (record == null
+                        || unsyncedBytes >= batchBytes
+                        || System.nanoTime() - oldestUnsynced >= maxDelayNanos);
+                    if (due) {
+                        flush(buffer);
+                        channel.force(false);
+                        syncedPosition = channel.position();
+                        unsynced.forEach(pending -> pending.done.complete(null));
+                        unsynced.clear();
+                        unsyncedBytes = 0;
+                    }
+                } catch (IOException e) {
+                    writeFailure = e;
+                    rollBack(syncedPosition, e);
+                    buffer.clear();
+                    unsynced.forEach(pending -> pending.done.completeExceptionally(e));
+                    unsynced.clear();
+                    unsyncedBytes = 0;
+                }
+            }
+            
+            if (closing && record == null) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Cuts off whatever part of the unsynced batch reached the file, so the journal ends
+     * with its last durable record
+     */
+    private void rollBack(long syncedPosition, IOException failure) {
+        try {
+            channel.truncate(syncedPosition);
+            channel.force(false);
+        } catch (IOException e) {
+            // The recovery scan drops the torn tail on the next open
+            failure.addSuppressed(e);
+        }
+    }
+    
+    private int write(ByteBuffer buffer, byte[] payload) throws IOException {
+        if (payload.length > MAX_RECORD_SIZE) {
+            // The recovery scan would take it, and every record after it, for corruption
+            throw new IllegalArgumentException("Result of " + payload.length
+                + " bytes is over the journal's record limit of " + MAX_RECORD_SIZE);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int size = RECORD_HEADER_SIZE + payload.length;
+        if (buffer.remaining() < size) {
+            flush(buffer);
+        }
+        if (buffer.remaining() < size) {
+            // Larger than the staging buffer, write it directly
+            ByteBuffer large = ByteBuffer.allocate(size);
+            large.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+            writeFully(large);
+        } else {
+            buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        }
+        return size;
+    }
+    
+    private void flush(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+    
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    // ==================== RECORD FORMAT ====================
+    
+    static byte[] encode(QuizResult result) {
+        byte[] sessionId = utf8(result.getSessionId());
+        byte[] candidate = utf8(result.getCandidate());
+        byte[] category = result.getCategory() == null ? null : utf8(result.getCategory());
+        int count = result.getTotalQuestions();
+        
+        ByteBuffer payload = ByteBuffer.allocate(8 + 4 + 4 + sessionId.length + 4 + candidate.length
+            + 4 + (category == null ? 0 : category.length) + 4 + 4 + count * 5);
+        payload.putLong(result.getCompletedAt());
+        putString(payload, sessionId);
+        putString(payload, candidate);
+        putString(payload, category);
+        payload.putInt(result.getScore());
+        payload.putInt(count);
+        for (int i = 0; i < count; i++) {
+            int answer = result.getAnswer(i);
+            if (answer < 0 || answer > MAX_ANSWER) {
+                // Would come back as a different answer on replay
+                throw new IllegalArgumentException("Answer " + answer + " of session " + result.getSessionId()
+                    + " does not fit the journal's answer byte");
+            }
+            payload.putInt(result.getQuestionId(i));
+            payload.put((byte) answer);
+        }
+        return payload.array();
+    }
+    
+    static QuizResult decode(ByteBuffer payload) {
+        long completedAt = payload.getLong();
+        String sessionId = getString(payload);
+        String candidate = getString(payload);
+        String category = getString(payload);
+        int score = payload.getInt();
+        int count = payload.getInt();
+        int[] questionIds = new int[count];
+        int[] answers = new int[count];
+        for (int i = 0; i < count; i++) {
+            questionIds[i] = payload.getInt();
+            answers[i] = payload.get() & 0xFF;
+        }
+        return new QuizResult(sessionId, candidate, category, completedAt, questionIds, answers, score);
+    }
+    
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+    
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    // ==================== RECOVERY ====================
+    
+    /**
+     * Replays intact records and truncates whatever follows the last one. A journal of
+     * another bank is quarantined first and the file restarted with this bank's header.
+     */
+    private static Recovery recover(Path file, FileChannel channel, int questionCount, long bankFingerprint,
+                                    Consumer<QuizResult> recovered) throws IOException {
+        long size = channel.size();
+        boolean otherBank = false;
+        Path quarantined = null;
+        if (size >= MAGIC_AND_VERSION_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.limit((int) Math.min(size, HEADER_SIZE));
+            readFully(channel, header, 0);
+            header.flip();
+            int version = header.getInt() == MAGIC ? header.getInt() : -1;
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Not a quiz result journal (or unsupported version)");
+            }
+            otherBank = version < VERSION
+                || (size >= HEADER_SIZE && (header.getInt() != questionCount || header.getLong() != bankFingerprint));
+            long headerSize = version < VERSION ? MAGIC_AND_VERSION_SIZE : HEADER_SIZE;
+            if (otherBank && size > headerSize) {
+                quarantined = quarantine(file, channel, size);
+            }
+        }
+        if (otherBank || size < HEADER_SIZE) {
+            // New file, a crash while writing the header, or a journal of another bank
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC).putInt(VERSION).putInt(questionCount).putLong(bankFingerprint);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, HEADER_SIZE - header.remaining());
+            }
+            channel.force(true);
+            channel.position(HEADER_SIZE);
+            return new Recovery(0, otherBank ? 0 : size, quarantined);
+        }
+        
+        long position = HEADER_SIZE;
+        long records = 0;
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        while (position + RECORD_HEADER_SIZE <= size) {
+            recordHeader.clear();
+            readFully(channel, recordHeader, position);
+            recordHeader.flip();
+            int length = recordHeader.getInt();
+            int checksum = recordHeader.getInt();
+            if (length < 0 || length > MAX_RECORD_SIZE || position + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+            
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, position + RECORD_HEADER_SIZE);
+            crc.reset();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            
+            payload.flip();
+            recovered.accept(decode(payload));
+            records++;
+            position += RECORD_HEADER_SIZE + length;
+        }
+        
+        long truncated = size - position;
+        if (truncated > 0) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+        channel.position(position);
+        return new Recovery(records, truncated, null);
+    }
+    
+    /**
+     * Copies the journal to a new ".stale" file beside it and empties it. The copy is
+     * fsynced before the journal is cut, so a crash in between leaves both.
+     */
+    private static Path quarantine(Path file, FileChannel channel, long size) throws IOException {
+        String name = file.getFileName() + ".stale";
+        for (int attempt = 1; ; attempt++) {
+            Path target = file.resolveSibling(attempt == 1 ? name : name + "-" + attempt);
+            try (FileChannel copy = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                for (long copied = 0; copied < size; ) {
+                    copied += channel.transferTo(copied, size - copied, copy);
+                }
+                copy.force(true);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            channel.truncate(0);
+            channel.force(true);
+            return target;
+        }
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of journal");
+            }
+        }
+    }
+    
+    /**
+     * What the recovery scan found
+     */
+    private static class Recovery {
+        final long records;
+        final long truncatedBytes;
+        final Path quarantinedFile;
+        
+        Recovery(long records, long truncatedBytes, Path quarantinedFile) {
+            this.records = records;
+            this.truncatedBytes = truncatedBytes;
+            this.quarantinedFile = quarantinedFile;
+        }
+    }
+    
+    /**
+     * A queued result and the future completed once it is durable
+     */
+    private static class PendingRecord {
+        final QuizResult result;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        
+        PendingRecord(QuizResult result) {
+            this.result = result;
+        }
+    }
+}
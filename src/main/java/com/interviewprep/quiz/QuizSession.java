@@ -0,0 +1,69 @@
+package com.interviewprep.quiz;
+
+import java.util.Arrays;
+
+/**
+ * Mutable state of one quiz session. All access goes through the session's own monitor,
+ * so sessions never contend with each other, only with concurrent requests for the
+ * same session.
+ */
+class QuizSession {
+    private final String id;
+    private final String candidate;
+    private final String category;
+    private final int[] questionIds;
+    private final int[] answers;
+    private int current;
+    private int score;
+    private volatile long lastAccess = System.nanoTime();
+    
+    QuizSession(String id, String candidate, String category, int[] questionIds) {
+        this.id = id;
+        this.candidate = candidate;
+        this.category = category;
+        this.questionIds = questionIds;
+        this.answers = new int[questionIds.length];
+    }
+    
+    String getId() {
+        return id;
+    }
+    
+    /**
+     * System.nanoTime() of the last request for this session
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+    
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+    
+    /**
+     * Id of the question waiting for an answer, or -1 when every question is answered
+     */
+    synchronized int currentQuestionId() {
+        return current < questionIds.length ? questionIds[current] : -1;
+    }
+    
+    /**
+     * Records the answer to the current question and moves on to the next one.
+     * Returns true if that was the last question.
+     */
+    synchronized boolean answer(int questionId, int answer, boolean correct) {
+        if (current >= questionIds.length || questionIds[current] != questionId) {
+            throw new IllegalStateException("Question " + questionId + " is not the current question of session " + id);
+        }
+        answers[current++] = answer;
+        if (correct) {
+            score++;
+        }
+        return current == questionIds.length;
+    }
+    
+    synchronized QuizResult toResult() {
+        return new QuizResult(id, candidate, category, System.currentTimeMillis(),
+            Arrays.copyOf(questionIds, current), Arrays.copyOf(answers, current), score);
+    }
+}
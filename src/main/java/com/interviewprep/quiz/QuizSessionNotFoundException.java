@@ -0,0 +1,17 @@
+package com.interviewprep.quiz;
+
+/**
+ * Thrown when a session id does not name an active quiz session
+ */
+public class QuizSessionNotFoundException extends IllegalArgumentException {
+    private final String sessionId;
+    
+    public QuizSessionNotFoundException(String sessionId) {
+        super("Unknown quiz session: " + sessionId);
+        this.sessionId = sessionId;
+    }
+    
+    public String getSessionId() {
+        return sessionId;
+    }
+}
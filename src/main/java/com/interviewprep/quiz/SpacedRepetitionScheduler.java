@@ -0,0 +1,321 @@
+package com.interviewprep.quiz;
+
+import com.interviewprep.util.IndexedMinHeap;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive question selection by spaced repetition (SM-2 style).
+ *
+ * Every candidate has, per question they have seen, an ease factor, a repetition count,
+ * an interval and a due time. A correct answer pushes the question out by a growing
+ * interval; a wrong one brings it back within minutes and lowers its ease. The next
+ * quiz asks overdue questions first, most overdue first, then questions the candidate
+ * has never seen, then whatever comes due soonest.
+ *
+ * Each candidate's questions live in one indexed min-heap per category keyed on due
+ * time, so picking a question and rescheduling one are O(log n) in the number of
+ * questions seen. Unseen questions are drawn from a lazily shuffled view of the
+ * category, remembering only the positions that have been swapped, so per-candidate
+ * memory is proportional to the questions they have seen, not to the bank.
+ */
+public class SpacedRepetitionScheduler {
+    
+    public static final double INITIAL_EASE = 2.5;
+    public static final double MIN_EASE = 1.3;
+    
+    private static final long RELEARN_DELAY = TimeUnit.MINUTES.toMillis(10);
+    private static final long FIRST_INTERVAL = TimeUnit.DAYS.toMillis(1);
+    private static final long SECOND_INTERVAL = TimeUnit.DAYS.toMillis(6);
+    
+    private final QuestionBank questionBank;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, CandidateSchedule> candidates = new ConcurrentHashMap<>();
+    
+    public SpacedRepetitionScheduler(QuestionBank questionBank) {
+        this(questionBank, System::currentTimeMillis);
+    }
+    
+    /**
+     * @param clock current time in epoch milliseconds
+     */
+    public SpacedRepetitionScheduler(QuestionBank questionBank, LongSupplier clock) {
+        this.questionBank = questionBank;
+        this.clock = clock;
+    }
+    
+    /**
+     * Picks up to {@code count} questions for the candidate from the category (null for
+     * all categories). Nothing is rescheduled until the answers are reviewed, so asking
+     * again without answering returns the same questions.
+     */
+    public int[] nextQuestions(String candidate, String category, int count) {
+        CandidateSchedule schedule = candidates.computeIfAbsent(candidate, c -> new CandidateSchedule());
+        synchronized (schedule) {
+            List<CategorySchedule> scope = new ArrayList<>();
+            if (category != null) {
+                if (questionBank.count(category, null) > 0) {
+                    scope.add(schedule.category(category));
+                }
+            } else {
+                for (String name : questionBank.getCategories()) {
+                    scope.add(schedule.category(name));
+                }
+            }
+            return select(scope, count, clock.getAsLong());
+        }
+    }
+    
+    /**
+     * Reschedules a question after the candidate answered it
+     */
+    public void review(String candidate, int questionId, boolean correct, long reviewedAt) {
+        CandidateSchedule schedule = candidates.computeIfAbsent(candidate, c -> new CandidateSchedule());
+        synchronized (schedule) {
+            CategorySchedule category = schedule.category(questionBank.getCategory(questionId));
+            category.review(category.slotOf(questionId), correct, reviewedAt);
+        }
+    }
+    
+    /**
+     * Reviews every answer of a finished quiz. Usable directly as an engine result
+     * listener and as the recovery callback of a {@link QuizResultJournal}.
+     */
+    public void record(QuizResult result) {
+        for (int i = 0; i < result.getTotalQuestions(); i++) {
+            int questionId = result.getQuestionId(i);
+            if (questionId < 0 || questionId >= questionBank.size()) {
+                continue; // journaled against a different question bank
+            }
+            boolean correct = result.getAnswer(i) == questionBank.getCorrectAnswer(questionId);
+            review(result.getCandidate(), questionId, correct, result.getCompletedAt());
+        }
+    }
+    
+    /**
+     * When the question is next due for the candidate, or -1 if they have not answered it
+     */
+    public long getDueTime(String candidate, int questionId) {
+        CandidateSchedule schedule = candidates.get(candidate);
+        if (schedule == null) {
+            return -1;
+        }
+        synchronized (schedule) {
+            CategorySchedule category = schedule.categories.get(questionBank.getCategory(questionId));
+            Integer slot = category != null ? category.slots.get(questionId) : null;
+            return slot != null && category.repetitions[slot] >= 0 ? category.due.priority(slot) : -1;
+        }
+    }
+    
+    /**
+     * Current ease factor of the question for the candidate
+     */
+    public double getEase(String candidate, int questionId) {
+        CandidateSchedule schedule = candidates.get(candidate);
+        if (schedule == null) {
+            return INITIAL_EASE;
+        }
+        synchronized (schedule) {
+            CategorySchedule category = schedule.categories.get(questionBank.getCategory(questionId));
+            Integer slot = category != null ? category.slots.get(questionId) : null;
+            return slot != null ? category.ease[slot] : INITIAL_EASE;
+        }
+    }
+    
+    /**
+     * Overdue questions first, then unseen ones, then the ones due soonest. Questions are
+     * polled from the heaps while selecting and put back with their due time unchanged.
+     */
+    private static int[] select(List<CategorySchedule> scope, int count, long now) {
+        int[] selected = new int[count];
+        int n = 0;
+        List<CategorySchedule> polledFrom = new ArrayList<>();
+        List<Integer> polledSlots = new ArrayList<>();
+        List<Long> polledDue = new ArrayList<>();
+        
+        while (n < count) {
+            CategorySchedule earliest = earliestDue(scope, now);
+            if (earliest == null) {
+                break;
+            }
+            polledFrom.add(earliest);
+            polledDue.add(earliest.due.peekPriority());
+            int slot = earliest.due.poll();
+            polledSlots.add(slot);
+            selected[n++] = earliest.questionIds[slot];
+        }
+        
+        while (n < count) {
+            CategorySchedule withUnseen = randomWithUnseen(scope);
+            if (withUnseen == null) {
+                break;
+            }
+            int slot = withUnseen.introduce();
+            polledFrom.add(withUnseen);
+            polledDue.add(Long.MIN_VALUE); // shown but unanswered questions stay due
+            polledSlots.add(slot);
+            selected[n++] = withUnseen.questionIds[slot];
+        }
+        
+        while (n < count) {
+            CategorySchedule earliest = earliestDue(scope, Long.MAX_VALUE);
+            if (earliest == null) {
+                break;
+            }
+            polledFrom.add(earliest);
+            polledDue.add(earliest.due.peekPriority());
+            int slot = earliest.due.poll();
+            polledSlots.add(slot);
+            selected[n++] = earliest.questionIds[slot];
+        }
+        
+        for (int i = 0; i < polledFrom.size(); i++) {
+            polledFrom.get(i).due.set(polledSlots.get(i), polledDue.get(i));
+        }
+        return n == count ? selected : Arrays.copyOf(selected, n);
+    }
+    
+    private static CategorySchedule earliestDue(List<CategorySchedule> scope, long dueBy) {
+        CategorySchedule earliest = null;
+        for (CategorySchedule category : scope) {
+            if (!category.due.isEmpty() && category.due.peekPriority() <= dueBy
+                && (earliest == null || category.due.peekPriority() < earliest.due.peekPriority())) {
+                earliest = category;
+            }
+        }
+        return earliest;
+    }
+    
+    /**
+     * Picks a category with probability proportional to its unseen questions, so a quiz
+     * over all categories draws new questions uniformly from the whole bank
+     */
+    private static CategorySchedule randomWithUnseen(List<CategorySchedule> scope) {
+        long unseen = 0;
+        for (CategorySchedule category : scope) {
+            unseen += category.unseen();
+        }
+        if (unseen == 0) {
+            return null;
+        }
+        long pick = ThreadLocalRandom.current().nextLong(unseen);
+        for (CategorySchedule category : scope) {
+            pick -= category.unseen();
+            if (pick < 0) {
+                return category;
+            }
+        }
+        throw new IllegalStateException("Unseen question count changed during selection");
+    }
+    
+    /**
+     * All scheduling state of one candidate, guarded by its own monitor
+     */
+    private class CandidateSchedule {
+        final Map<String, CategorySchedule> categories = new HashMap<>();
+        
+        CategorySchedule category(String name) {
+            return categories.computeIfAbsent(name, c -> new CategorySchedule(questionBank.bucket(c, null)));
+        }
+    }
+    
+    /**
+     * One candidate's schedule for the questions of one category. Questions get a dense
+     * slot number when first introduced; slot i is also position i of the lazily
+     * shuffled category, so positions below {@code introduced} hold the seen questions.
+     */
+    private static class CategorySchedule {
+        final int[] bucket;                                         // category's question ids, ascending
+        final Map<Integer, Integer> idAt = new HashMap<>();         // shuffled position -> question id
+        final Map<Integer, Integer> positionOf = new HashMap<>();   // question id -> shuffled position
+        final Map<Integer, Integer> slots = new HashMap<>();        // question id -> slot
+        final IndexedMinHeap due = new IndexedMinHeap();
+        int introduced;
+        
+        int[] questionIds = new int[16];
+        double[] ease = new double[16];
+        int[] repetitions = new int[16];    // -1 until the question is first answered
+        long[] intervals = new long[16];
+        
+        CategorySchedule(int[] bucket) {
+            this.bucket = bucket;
+        }
+        
+        int unseen() {
+            return bucket.length - introduced;
+        }
+        
+        /**
+         * Introduces a random unseen question and returns its slot. The caller schedules it.
+         */
+        int introduce() {
+            return introduceAt(introduced + ThreadLocalRandom.current().nextInt(bucket.length - introduced));
+        }
+        
+        /**
+         * Slot of the question, introducing it first if the candidate has not seen it
+         */
+        int slotOf(int questionId) {
+            Integer slot = slots.get(questionId);
+            if (slot != null) {
+                return slot;
+            }
+            Integer position = positionOf.get(questionId);
+            return introduceAt(position != null ? position : Arrays.binarySearch(bucket, questionId));
+        }
+        
+        private int introduceAt(int position) {
+            int slot = introduced++;
+            int questionId = idAt(position);
+            int displaced = idAt(slot);
+            // Swap positions of the virtual shuffle so the seen questions stay in front
+            idAt.put(position, displaced);
+            positionOf.put(displaced, position);
+            idAt.remove(slot);
+            positionOf.remove(questionId);
+            
+            if (slot == questionIds.length) {
+                int capacity = slot * 2;
+                questionIds = Arrays.copyOf(questionIds, capacity);
+                ease = Arrays.copyOf(ease, capacity);
+                repetitions = Arrays.copyOf(repetitions, capacity);
+                intervals = Arrays.copyOf(intervals, capacity);
+            }
+            questionIds[slot] = questionId;
+            ease[slot] = INITIAL_EASE;
+            repetitions[slot] = -1;
+            slots.put(questionId, slot);
+            return slot;
+        }
+        
+        private int idAt(int position) {
+            Integer id = idAt.get(position);
+            return id != null ? id : bucket[position];
+        }
+        
+        void review(int slot, boolean correct, long reviewedAt) {
+            int seen = Math.max(repetitions[slot], 0);
+            if (correct) {
+                repetitions[slot] = seen + 1;
+                if (repetitions[slot] == 1) {
+                    intervals[slot] = FIRST_INTERVAL;
+                } else if (repetitions[slot] == 2) {
+                    intervals[slot] = SECOND_INTERVAL;
+                } else {
+                    intervals[slot] = Math.round(intervals[slot] * ease[slot]);
+                }
+                ease[slot] += 0.1;
+            } else {
+                repetitions[slot] = 0;
+                intervals[slot] = RELEARN_DELAY;
+                ease[slot] = Math.max(MIN_EASE, ease[slot] - 0.2);
+            }
+            due.set(slot, reviewedAt + intervals[slot]);
+        }
+    }
+}
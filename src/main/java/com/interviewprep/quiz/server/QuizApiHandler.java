@@ -0,0 +1,337 @@
+package com.interviewprep.quiz.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interviewprep.quiz.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JSON endpoints of the quiz service:
+ * <pre>
+ * GET    /api/categories                   categories and question counts
+ * POST   /api/sessions                     {"candidate": "jane", "category": "OOP", "questionCount": 10}
+ *                                          -> {"sessionId": ...}
+ * GET    /api/sessions/{id}/question       current question (without the answer), or {"finished": true}
+ * POST   /api/sessions/{id}/answers        {"answer": 2} -> correctness and explanation
+ * GET    /api/sessions/{id}                results so far
+ * DELETE /api/sessions/{id}                ends the session and returns the final results
+ * GET    /api/metrics                      active sessions, request count and latency percentiles
+ * GET    /api/analytics?top=10             accuracy per category and difficulty, most missed
+ *                                          questions and the score distribution
+ * GET    /api/search?q=HashMap&limit=10    full-text search, best matches first (without answers)
+ * </pre>
+ *
+ * Request bodies over {@value #MAX_BODY_BYTES} bytes are rejected with 413 before they
+ * are parsed, so a client cannot make the server build an arbitrarily large JSON tree.
+ */
+class QuizApiHandler implements HttpHandler {
+    
+    static final String PREFIX = "/api/";
+    
+    /** Upper bound of ?top= and ?limit=, which size per-request heaps */
+    static final int MAX_LIST_LENGTH = 100;
+    
+    /** Largest request body read; session and answer requests take well under 1 KB */
+    static final int MAX_BODY_BYTES = 4 * 1024;
+    
+    private final QuizEngine engine;
+    private final QuizAnalytics analytics;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    
+    QuizApiHandler(QuizEngine engine, QuizAnalytics analytics) {
+        this.engine = engine;
+        this.analytics = analytics;
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String[] path = exchange.getRequestURI().getPath().substring(PREFIX.length()).split("/");
+        boolean metrics = path.length == 1 && path[0].equals("metrics");
+        
+        try {
+            send(exchange, 200, route(exchange.getRequestMethod(), path, exchange));
+        } catch (ApiException e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (QuizSessionNotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+        } catch (JsonProcessingException e) {
+            sendError(exchange, 400, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (IllegalStateException e) {
+            sendError(exchange, 409, e.getMessage());
+        } catch (RuntimeException e) {
+            // Details stay in the server log, clients only learn that it was not their fault
+            System.err.println("❌ " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed");
+            e.printStackTrace();
+            sendError(exchange, 500, "Internal server error");
+        } finally {
+            exchange.close();
+            if (!metrics) {
+                latency.record(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    private JsonNode route(String method, String[] path, HttpExchange exchange) throws IOException {
+        if (path.length == 1 && path[0].equals("categories")) {
+            requireMethod(method, "GET");
+            return categories();
+        }
+        if (path.length == 1 && path[0].equals("metrics")) {
+            requireMethod(method, "GET");
+            return metrics();
+        }
+        if (path.length == 1 && path[0].equals("analytics")) {
+            requireMethod(method, "GET");
+            return analytics(queryInt(exchange, "top", 10, 1, MAX_LIST_LENGTH));
+        }
+        if (path.length == 1 && path[0].equals("search")) {
+            requireMethod(method, "GET");
+            String query = queryParameter(exchange, "q");
+            if (query == null || query.isBlank()) {
+                throw new IllegalArgumentException("\"q\" is required");
+            }
+            return search(query, queryInt(exchange, "limit", 10, 1, MAX_LIST_LENGTH));
+        }
+        if (path.length == 1 && path[0].equals("sessions")) {
+            requireMethod(method, "POST");
+            return startSession(readBody(exchange));
+        }
+        if (path.length == 2 && path[0].equals("sessions")) {
+            if (method.equals("DELETE")) {
+                return result(engine.endSession(path[1]));
+            }
+            requireMethod(method, "GET");
+            return result(engine.getResults(path[1]));
+        }
+        if (path.length == 3 && path[0].equals("sessions") && path[2].equals("question")) {
+            requireMethod(method, "GET");
+            return question(engine.nextQuestion(path[1]));
+        }
+        if (path.length == 3 && path[0].equals("sessions") && path[2].equals("answers")) {
+            requireMethod(method, "POST");
+            JsonNode answer = readBody(exchange).path("answer");
+            if (!answer.canConvertToInt()) {
+                throw new IllegalArgumentException("\"answer\" must be an option number");
+            }
+            return answer(engine.submitAnswer(path[1], answer.intValue()));
+        }
+        throw new ApiException(404, "No such endpoint: " + exchange.getRequestURI().getPath());
+    }
+    
+    private JsonNode categories() {
+        QuestionBank bank = engine.getQuestionBank();
+        ArrayNode categories = mapper.createArrayNode();
+        for (String category : bank.getCategories()) {
+            categories.addObject()
+                .put("name", category)
+                .put("questionCount", bank.count(category, null));
+        }
+        return categories;
+    }
+    
+    private JsonNode startSession(JsonNode body) {
+        JsonNode candidate = body.path("candidate");
+        JsonNode category = body.path("category");
+        int questionCount = body.path("questionCount").asInt(10);
+        String sessionId = engine.startSession(candidate.isTextual() ? candidate.asText() : null,
+            category.isTextual() ? category.asText() : null, questionCount);
+        return mapper.createObjectNode().put("sessionId", sessionId);
+    }
+    
+    private JsonNode question(QuizQuestion question) {
+        ObjectNode node = mapper.createObjectNode();
+        if (question == null) {
+            return node.put("finished", true);
+        }
+        node.put("finished", false)
+            .put("category", question.getCategory())
+            .put("difficulty", question.getDifficulty())
+            .put("question", question.getQuestion());
+        ArrayNode options = node.putArray("options");
+        question.getOptions().forEach(options::add);
+        return node;
+    }
+    
+    private JsonNode answer(AnswerResult result) {
+        return mapper.createObjectNode()
+            .put("correct", result.isCorrect())
+            .put("correctAnswer", result.getCorrectAnswer())
+            .put("correctOption", result.getCorrectOption())
+            .put("explanation", result.getExplanation())
+            .put("finished", result.isFinished());
+    }
+    
+    private JsonNode result(QuizResult result) {
+        return mapper.createObjectNode()
+            .put("sessionId", result.getSessionId())
+            .put("candidate", result.getCandidate())
+            .put("score", result.getScore())
+            .put("totalQuestions", result.getTotalQuestions())
+            .put("percentage", result.getPercentage())
+            .put("percentile", analytics.percentileOf(result.getPercentage()));
+    }
+    
+    private JsonNode metrics() {
+        ObjectNode node = mapper.createObjectNode()
+            .put("activeSessions", engine.getActiveSessionCount())
+            .put("requests", latency.getCount())
+            .put("errors", errors.sum());
+        node.putObject("latencyMicros")
+            .put("p50", micros(latency.percentile(50)))
+            .put("p90", micros(latency.percentile(90)))
+            .put("p99", micros(latency.percentile(99)))
+            .put("p999", micros(latency.percentile(99.9)))
+            .put("max", micros(latency.percentile(100)));
+        return node;
+    }
+    
+    private JsonNode analytics(int top) {
+        ObjectNode node = mapper.createObjectNode().put("results", analytics.getResultCount());
+        accuracy(node.putObject("categories"), analytics.getAccuracyByCategory());
+        accuracy(node.putObject("difficulties"), analytics.getAccuracyByDifficulty());
+        
+        QuestionBank bank = engine.getQuestionBank();
+        ArrayNode mostMissed = node.putArray("mostMissed");
+        for (QuizAnalytics.MissedQuestion missed : analytics.getMostMissed(top)) {
+            mostMissed.addObject()
+                .put("question", bank.get(missed.getQuestionId()).getQuestion())
+                .put("category", bank.getCategory(missed.getQuestionId()))
+                .put("attempts", missed.getAttempts())
+                .put("misses", missed.getMisses());
+        }
+        
+        ArrayNode scores = node.putArray("scoreDistribution");
+        for (long count : analytics.getScoreDistribution()) {
+            scores.add(count);
+        }
+        return node;
+    }
+    
+    private JsonNode search(String query, int limit) {
+        QuestionBank bank = engine.getQuestionBank();
+        ArrayNode hits = mapper.createArrayNode();
+        for (QuestionIndex.SearchHit hit : bank.getSearchIndex().search(query, limit)) {
+            hits.addObject()
+                .put("category", bank.getCategory(hit.getQuestionId()))
+                .put("difficulty", bank.getDifficulty(hit.getQuestionId()))
+                .put("question", bank.get(hit.getQuestionId()).getQuestion())
+                .put("score", hit.getScore());
+        }
+        return hits;
+    }
+    
+    private static void accuracy(ObjectNode node, Map<String, QuizAnalytics.Accuracy> accuracy) {
+        accuracy.forEach((key, value) -> node.putObject(key)
+            .put("attempts", value.getAttempts())
+            .put("correct", value.getCorrect())
+            .put("percentage", value.getPercentage()));
+    }
+    
+    private static int queryInt(HttpExchange exchange, String name, int defaultValue, int min, int max) {
+        String value = queryParameter(exchange, name);
+        if (value == null) {
+            return defaultValue;
+        }
+        int number;
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("\"" + name + "\" must be a number");
+        }
+        if (number < min || number > max) {
+            throw new IllegalArgumentException("\"" + name + "\" must be between " + min + " and " + max);
+        }
+        return number;
+    }
+    
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith(name + "=")) {
+                    return URLDecoder.decode(parameter.substring(name.length() + 1), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+    
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        try {
+            if (contentLength != null && Long.parseLong(contentLength.trim()) > MAX_BODY_BYTES) {
+                throw bodyTooLarge();
+            }
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Invalid Content-Length: " + contentLength);
+        }
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            // Chunked bodies carry no Content-Length, so the read itself is capped too
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw bodyTooLarge();
+        }
+        JsonNode body = mapper.readTree(bytes);
+        return body == null || body.isMissingNode() ? mapper.createObjectNode() : body;
+    }
+    
+    private static ApiException bodyTooLarge() {
+        return new ApiException(413, "Request body is over " + MAX_BODY_BYTES + " bytes");
+    }
+    
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, "Method " + method + " not allowed, use " + expected);
+        }
+    }
+    
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        errors.increment();
+        send(exchange, status, mapper.createObjectNode().put("error", message));
+    }
+    
+    private void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    /**
+     * Error with an explicit HTTP status
+     */
+    private static class ApiException extends RuntimeException {
+        private final int status;
+        
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.interviewprep.quiz.server;
+
+import com.interviewprep.quiz.QuestionBankLoader;
+import com.interviewprep.quiz.QuizAnalytics;
+import com.interviewprep.quiz.QuizEngine;
+import com.interviewprep.quiz.QuizResultJournal;
+import com.interviewprep.quiz.SpacedRepetitionScheduler;
+import com.interviewprep.util.VirtualThreads;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.*;
+
+/**
+ * Embedded HTTP/JSON front end for the quiz engine, built on the JDK's
+ * com.sun.net.httpserver.
+ *
+ * The server's dispatcher thread multiplexes connections with a selector and hands each
+ * request to an executor: one virtual thread per request when the runtime supports them
+ * (JDK 21+), otherwise a bounded pool of platform threads whose queue pushes back on the
+ * dispatcher when full.
+ */
+public class QuizServer {
+    
+    public static final int DEFAULT_PORT = 8080;
+    
+    private static final int BACKLOG = 4096;
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final long SESSION_IDLE_MINUTES = 30;
+    
+    private final QuizEngine engine;
+    private final QuizAnalytics analytics;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService housekeeping;
+    
+    public QuizServer(QuizEngine engine, int port) throws IOException {
+        this(engine, newAnalytics(engine), port);
+    }
+    
+    /**
+     * Creates a server reporting the given analytics, which the caller keeps up to date,
+     * e.g. replayed from a result journal and registered as a result listener
+     */
+    public QuizServer(QuizEngine engine, QuizAnalytics analytics, int port) throws IOException {
+        this.engine = engine;
+        this.analytics = analytics;
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.requestExecutor = newRequestExecutor();
+        this.housekeeping = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-session-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        server.createContext(QuizApiHandler.PREFIX, new QuizApiHandler(engine, analytics));
+        server.setExecutor(requestExecutor);
+    }
+    
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(QuestionBankLoader.defaultBank());
+        QuizEngine engine = new QuizEngine(QuestionBankLoader.defaultBank(), scheduler);
+        QuizAnalytics analytics = new QuizAnalytics(engine.getQuestionBank());
+        QuizResultJournal journal = QuizResultJournal.open(QuizResultJournal.defaultFile(), engine.getQuestionBank(),
+            result -> {
+                analytics.record(result);
+                scheduler.record(result);
+            });
+        engine.addResultListener(analytics::record);
+        engine.addResultListener(journal::append);
+        
+        QuizServer quizServer = new QuizServer(engine, analytics, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            quizServer.stop();
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("❌ Could not flush the result journal: " + e.getMessage());
+            }
+        }));
+        quizServer.start();
+        
+        System.out.println("🧠 Quiz server listening on http://localhost:" + quizServer.getPort() + QuizApiHandler.PREFIX);
+        System.out.println("Request threads: " + (VirtualThreads.isSupported() ? "virtual" : "bounded platform pool"));
+        System.out.println("Results journal: " + journal.getFile() + " (" + journal.getRecoveredRecords() + " results recovered)");
+        if (journal.getQuarantinedFile() != null) {
+            System.out.println("⚠️  Results saved against another question bank were moved to "
+                + journal.getQuarantinedFile());
+        }
+    }
+    
+    public void start() {
+        housekeeping.scheduleAtFixedRate(() -> engine.evictIdleSessions(SESSION_IDLE_MINUTES, TimeUnit.MINUTES),
+            1, 1, TimeUnit.MINUTES);
+        server.start();
+    }
+    
+    public void stop() {
+        server.stop(1);
+        housekeeping.shutdownNow();
+        requestExecutor.shutdown();
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    public QuizAnalytics getAnalytics() {
+        return analytics;
+    }
+    
+    private static QuizAnalytics newAnalytics(QuizEngine engine) {
+        QuizAnalytics analytics = new QuizAnalytics(engine.getQuestionBank());
+        engine.addResultListener(analytics::record);
+        return analytics;
+    }
+    
+    private static ExecutorService newRequestExecutor() {
+        if (VirtualThreads.isSupported()) {
+            return VirtualThreads.newVirtualThreadPerTaskExecutor();
+        }
+        int threads = Runtime.getRuntime().availableProcessors() * 4;
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
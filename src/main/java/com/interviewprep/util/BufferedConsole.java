@@ -0,0 +1,102 @@
+package com.interviewprep.util;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Scanner;
+
+/**
+ * Buffered standard output for the console app.
+ *
+ * The default System.out flushes to the file descriptor on every println, one system
+ * call per line, and the examples print thousands of lines. {@link #install()} replaces
+ * it with a PrintStream over a 64 KB buffer that is written out when full, before every
+ * read from the console ({@link #readLine(Scanner)}), every 100 ms from a daemon thread so
+ * long-running demos still show progress, and at exit. System.err flushes System.out
+ * before each write, so the two streams stay in order.
+ *
+ * {@code -Dinterviewprep.console=unbuffered} keeps the JDK streams, for comparison.
+ */
+public final class BufferedConsole {
+    
+    public static final String CONSOLE_PROPERTY = "interviewprep.console";
+    
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final long FLUSH_INTERVAL_MILLIS = 100;
+    
+    private static boolean installed;
+    
+    private BufferedConsole() {
+    }
+    
+    /**
+     * Replaces System.out and System.err unless the unbuffered mode is requested; calling
+     * it again has no effect
+     *
+     * @return whether System.out is now buffered
+     */
+    public static synchronized boolean install() {
+        if (installed) {
+            return true;
+        }
+        if ("unbuffered".equalsIgnoreCase(System.getProperty(CONSOLE_PROPERTY, ""))) {
+            return false;
+        }
+        PrintStream bufferedOut = new PrintStream(
+            new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_BYTES), false);
+        PrintStream err = new PrintStream(new FilterOutputStream(new FileOutputStream(FileDescriptor.err)) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                bufferedOut.flush();
+                out.write(bytes, offset, length);
+            }
+            
+            @Override
+            public void write(int b) throws IOException {
+                bufferedOut.flush();
+                out.write(b);
+            }
+        }, true);
+        System.setOut(bufferedOut);
+        System.setErr(err);
+        
+        Thread flusher = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(FLUSH_INTERVAL_MILLIS);
+                    bufferedOut.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "console-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(bufferedOut::flush, "console-flush-on-exit"));
+        installed = true;
+        return true;
+    }
+    
+    /**
+     * Writes pending output to the console
+     */
+    public static void flush() {
+        System.out.flush();
+    }
+    
+    /**
+     * Flushes pending output, so the prompt is visible, then reads a line of input
+     *
+     * @throws EndOfInputException if the input has ended
+     */
+    public static String readLine(Scanner scanner) {
+        flush();
+        if (!scanner.hasNextLine()) {
+            throw new EndOfInputException();
+        }
+        return scanner.nextLine();
+    }
+}
@@ -0,0 +1,13 @@
+package com.interviewprep.util;
+
+/**
+ * Thrown by {@link BufferedConsole#readLine(java.util.Scanner)} when the input has no
+ * more lines, so callers can tell the user (or a script) stopping typing apart from a
+ * bug that throws NoSuchElementException
+ */
+public class EndOfInputException extends RuntimeException {
+    
+    public EndOfInputException() {
+        super("End of console input");
+    }
+}
@@ -0,0 +1,186 @@
+package com.interviewprep.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of int keys ordered by a long priority, with a position index so that
+ * any key can be looked up, re-prioritized or removed in O(log n).
+ *
+ * {@link java.util.PriorityQueue} can only change an element's priority by remove(Object)
+ * and re-offer, and remove(Object) is a linear scan. Here keys are dense non-negative
+ * ints (e.g. array slots), so the heap keeps each key's heap position in a plain array
+ * and sifts from there. Storage grows as larger keys are inserted. Not thread-safe.
+ */
+public final class IndexedMinHeap {
+    
+    private static final int ABSENT = -1;
+    
+    private int[] heap;        // heap[i] = key at heap position i
+    private int[] positions;   // positions[key] = heap position of key, or ABSENT
+    private long[] priorities; // priorities[key] = priority of key while present
+    private int size;
+    
+    public IndexedMinHeap() {
+        this(16);
+    }
+    
+    public IndexedMinHeap(int initialKeyCapacity) {
+        int capacity = Math.max(initialKeyCapacity, 1);
+        heap = new int[capacity];
+        positions = new int[capacity];
+        priorities = new long[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public boolean contains(int key) {
+        return key >= 0 && key < positions.length && positions[key] != ABSENT;
+    }
+    
+    /**
+     * Inserts the key, or moves it to its new place if it is already present
+     */
+    public void set(int key, long priority) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must not be negative: " + key);
+        }
+        ensureKeyCapacity(key);
+        int position = positions[key];
+        if (position == ABSENT) {
+            priorities[key] = priority;
+            heap[size] = key;
+            positions[key] = size;
+            siftUp(size++);
+        } else {
+            long previous = priorities[key];
+            priorities[key] = priority;
+            if (priority < previous) {
+                siftUp(position);
+            } else {
+                siftDown(position);
+            }
+        }
+    }
+    
+    /**
+     * Priority of a key that is present
+     */
+    public long priority(int key) {
+        requirePresent(key);
+        return priorities[key];
+    }
+    
+    /**
+     * Key with the lowest priority, without removing it
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return heap[0];
+    }
+    
+    public long peekPriority() {
+        return priorities[peek()];
+    }
+    
+    /**
+     * Removes and returns the key with the lowest priority
+     */
+    public int poll() {
+        int key = peek();
+        removeAt(0);
+        return key;
+    }
+    
+    /**
+     * Removes the key if present, returns whether it was
+     */
+    public boolean remove(int key) {
+        if (!contains(key)) {
+            return false;
+        }
+        removeAt(positions[key]);
+        return true;
+    }
+    
+    private void removeAt(int position) {
+        int removed = heap[position];
+        int last = heap[--size];
+        positions[removed] = ABSENT;
+        if (position == size) {
+            return;
+        }
+        heap[position] = last;
+        positions[last] = position;
+        siftDown(position);
+        if (heap[position] == last) {
+            siftUp(position);
+        }
+    }
+    
+    private void siftUp(int position) {
+        int key = heap[position];
+        long priority = priorities[key];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentKey = heap[parent];
+            if (priorities[parentKey] <= priority) {
+                break;
+            }
+            heap[position] = parentKey;
+            positions[parentKey] = position;
+            position = parent;
+        }
+        heap[position] = key;
+        positions[key] = position;
+    }
+    
+    private void siftDown(int position) {
+        int key = heap[position];
+        long priority = priorities[key];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && priorities[heap[right]] < priorities[heap[child]]) {
+                child = right;
+            }
+            int childKey = heap[child];
+            if (priority <= priorities[childKey]) {
+                break;
+            }
+            heap[position] = childKey;
+            positions[childKey] = position;
+            position = child;
+        }
+        heap[position] = key;
+        positions[key] = position;
+    }
+    
+    private void ensureKeyCapacity(int key) {
+        if (key < positions.length) {
+            return;
+        }
+        int capacity = Math.max(key + 1, positions.length * 2);
+        int oldCapacity = positions.length;
+        heap = Arrays.copyOf(heap, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        Arrays.fill(positions, oldCapacity, capacity, ABSENT);
+    }
+    
+    private void requirePresent(int key) {
+        if (!contains(key)) {
+            throw new NoSuchElementException("Key not in heap: " + key);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.interviewprep.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Growable list of primitive ints.
+ *
+ * An {@code ArrayList<Integer>} holds a reference per element to a separately
+ * allocated Integer (only -128..127 are cached), so each element costs a 4-byte
+ * reference plus a 16-byte object and every read is a pointer chase. Here the values
+ * sit directly in one int array: 4 bytes each and sequential in memory. Not thread-safe.
+ */
+public final class IntArrayList {
+    
+    private int[] elements;
+    private int size;
+    
+    public IntArrayList() {
+        this(10);
+    }
+    
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        }
+        elements = new int[initialCapacity];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void add(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+    
+    /**
+     * Inserts at the index, shifting later elements right: O(n - index)
+     */
+    public void add(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+    
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+    
+    /**
+     * Replaces the element at the index, returns the previous one
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+    
+    /**
+     * Removes the element at the index, shifting later elements left, and returns it
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+    
+    /**
+     * Index of the first occurrence of the value, or -1
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+    
+    /**
+     * Sorts ascending in place (dual-pivot quicksort on the backing array)
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+    
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+    
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+    
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+    
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 1);
+        elements = Arrays.copyOf(elements, capacity);
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.interviewprep.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of primitive ints, the unboxed counterpart of
+ * {@code PriorityQueue<Integer>} in natural order.
+ *
+ * The heap is an int array in level order. PriorityQueue stores references and
+ * compares through compareTo on Integer objects scattered around the heap; here a sift
+ * compares ints that sit next to each other. Not thread-safe.
+ */
+public final class IntBinaryHeap {
+    
+    private int[] heap;
+    private int size;
+    
+    public IntBinaryHeap() {
+        this(16);
+    }
+    
+    public IntBinaryHeap(int initialCapacity) {
+        heap = new int[Math.max(initialCapacity, 1)];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void offer(int value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size + (size >> 1) + 1);
+        }
+        int position = size++;
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = value;
+    }
+    
+    /**
+     * Smallest value, without removing it
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return heap[0];
+    }
+    
+    /**
+     * Removes and returns the smallest value
+     */
+    public int poll() {
+        int smallest = peek();
+        int last = heap[--size];
+        int position = 0;
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = last;
+        return smallest;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+    
+    /**
+     * The values in heap (level) order, as PriorityQueue prints them
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+    
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
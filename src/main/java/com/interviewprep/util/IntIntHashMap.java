@@ -0,0 +1,237 @@
+package com.interviewprep.util;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from int keys to int values with open addressing.
+ *
+ * {@code HashMap<Integer, Integer>} allocates a node per entry (hash, key, value and
+ * next references) plus boxed keys and values, roughly 50-70 bytes an entry. Here
+ * keys and values alternate in a single int array, so an entry is two adjacent ints in
+ * a table kept at most 70% full. Collisions probe the next slots (linear probing),
+ * which stays within one or two cache lines; removal shifts later entries of the probe
+ * run back instead of leaving tombstones. Key 0 marks an empty slot, so an entry with
+ * key 0 is stored beside the table. Not thread-safe.
+ */
+public final class IntIntHashMap {
+    
+    private static final int FREE = 0;
+    private static final double MAX_LOAD = 0.7;
+    
+    private int[] table;     // key at 2i, value at 2i + 1
+    private int mask;        // slot count - 1
+    private int size;        // entries in the table, not counting key 0
+    private int maxSize;
+    private boolean hasZeroKey;
+    private int zeroValue;
+    
+    public IntIntHashMap() {
+        this(16);
+    }
+    
+    public IntIntHashMap(int expectedSize) {
+        int slots = Integer.highestOneBit((int) Math.max(4, Math.ceil(expectedSize / MAX_LOAD)) - 1) << 1;
+        allocate(slots);
+    }
+    
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    public boolean containsKey(int key) {
+        if (key == FREE) {
+            return hasZeroKey;
+        }
+        return find(key) >= 0;
+    }
+    
+    /**
+     * Value mapped to the key, or the default if there is none
+     */
+    public int get(int key, int defaultValue) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = find(key);
+        return slot < 0 ? defaultValue : table[slot + 1];
+    }
+    
+    /**
+     * Maps the key to the value, returns the previous value or the default if there was none
+     */
+    public int put(int key, int value, int defaultValue) {
+        if (key == FREE) {
+            int previous = hasZeroKey ? zeroValue : defaultValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        int slot = slotFor(key);
+        if (table[slot] == key) {
+            int previous = table[slot + 1];
+            table[slot + 1] = value;
+            return previous;
+        }
+        insert(slot, key, value);
+        return defaultValue;
+    }
+    
+    public void put(int key, int value) {
+        put(key, value, 0);
+    }
+    
+    /**
+     * Adds delta to the key's value, treating a missing key as 0, and returns the sum;
+     * the counting idiom {@code map.merge(key, 1, Integer::sum)} without boxing
+     */
+    public int addTo(int key, int delta) {
+        if (key == FREE) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = slotFor(key);
+        if (table[slot] == key) {
+            return table[slot + 1] += delta;
+        }
+        insert(slot, key, delta);
+        return delta;
+    }
+    
+    /**
+     * Removes the key, returns whether it was present
+     */
+    public boolean remove(int key) {
+        if (key == FREE) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            return had;
+        }
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        shiftBack(slot);
+        size--;
+        return true;
+    }
+    
+    public void clear() {
+        Arrays.fill(table, FREE);
+        size = 0;
+        hasZeroKey = false;
+    }
+    
+    /**
+     * Visits every entry, in no particular order
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(FREE, zeroValue);
+        }
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != FREE) {
+                action.accept(table[i], table[i + 1]);
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(key).append('=').append(value);
+        });
+        return text.append('}').toString();
+    }
+    
+    /**
+     * Table index of the key, or -1
+     */
+    private int find(int key) {
+        int slot = slotFor(key);
+        return table[slot] == key ? slot : -1;
+    }
+    
+    /**
+     * Table index holding the key, or of the free slot where it belongs
+     */
+    private int slotFor(int key) {
+        int slot = (hash(key) & mask) << 1;
+        while (table[slot] != FREE && table[slot] != key) {
+            slot = (slot + 2) & (table.length - 1);
+        }
+        return slot;
+    }
+    
+    private void insert(int slot, int key, int value) {
+        table[slot] = key;
+        table[slot + 1] = value;
+        if (++size > maxSize) {
+            rehash();
+        }
+    }
+    
+    /**
+     * Empties the slot and moves later entries of its probe run back into the gap where
+     * their own probe sequence passes through it, so lookups never need tombstones
+     */
+    private void shiftBack(int slot) {
+        int length = table.length;
+        int gap = slot;
+        int next = (gap + 2) & (length - 1);
+        while (table[next] != FREE) {
+            int home = (hash(table[next]) & mask) << 1;
+            // Distances along the probe run, modulo the table size
+            if (((next - home) & (length - 1)) >= ((next - gap) & (length - 1))) {
+                table[gap] = table[next];
+                table[gap + 1] = table[next + 1];
+                gap = next;
+            }
+            next = (next + 2) & (length - 1);
+        }
+        table[gap] = FREE;
+        table[gap + 1] = 0;
+    }
+    
+    private void rehash() {
+        int[] old = table;
+        allocate((mask + 1) << 1);
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != FREE) {
+                int slot = slotFor(old[i]);
+                table[slot] = old[i];
+                table[slot + 1] = old[i + 1];
+            }
+        }
+    }
+    
+    private void allocate(int slots) {
+        table = new int[slots * 2];
+        mask = slots - 1;
+        maxSize = (int) (slots * MAX_LOAD);
+    }
+    
+    /**
+     * Fibonacci hashing: spreads sequential and patterned keys across the table
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    
+    /**
+     * Receives map entries without boxing them
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+}
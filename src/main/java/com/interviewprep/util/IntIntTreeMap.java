@@ -0,0 +1,429 @@
+package com.interviewprep.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted map from int keys to int values, a B+-tree counterpart of
+ * {@code TreeMap<Integer, Integer>}.
+ *
+ * A TreeMap is a red-black tree of 40-byte entries, each pointing to its boxed key and
+ * value: a lookup follows ~log2(n) pointers to nodes anywhere in the heap, and a range
+ * scan walks successor links from node to node. Here the entries live in leaves of up to
+ * 128 sorted keys and values held in two int arrays, and the leaves are linked in key
+ * order. Inner nodes hold up to 64 separator keys, so 10 million entries are 3-4 levels
+ * deep; a lookup binary-searches one small array per level, and a range scan reads the
+ * leaf arrays sequentially.
+ *
+ * A full leaf splits in half, except when appending past the largest key, where it stays
+ * full and a new leaf is started, so ascending inserts fill leaves completely. Removal
+ * does not merge underfull nodes; a node is dropped only once it is empty, which keeps
+ * removal simple at the cost of sparser leaves after heavy deletes. Not thread-safe.
+ */
+public final class IntIntTreeMap {
+    
+    private static final int LEAF_CAPACITY = 128;
+    private static final int INNER_CAPACITY = 64;
+    private static final int MAX_DEPTH = 16;
+    
+    private Node root = new Leaf();
+    private Leaf head = (Leaf) root;
+    private Leaf tail = (Leaf) root;
+    private int size;
+    
+    // Path of the last descent, for splitting or removing nodes on the way back up
+    private final Inner[] path = new Inner[MAX_DEPTH];
+    private final int[] pathIndexes = new int[MAX_DEPTH];
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public boolean containsKey(int key) {
+        Leaf leaf = leafFor(key);
+        return Arrays.binarySearch(leaf.keys, 0, leaf.size, key) >= 0;
+    }
+    
+    /**
+     * Value mapped to the key, or the default if there is none
+     */
+    public int get(int key, int defaultValue) {
+        Leaf leaf = leafFor(key);
+        int position = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        return position >= 0 ? leaf.values[position] : defaultValue;
+    }
+    
+    /**
+     * Maps the key to the value, returns the previous value or the default if there was none
+     */
+    public int put(int key, int value, int defaultValue) {
+        int depth = descend(key);
+        Leaf leaf = (Leaf) (depth == 0 ? root : path[depth - 1].children[pathIndexes[depth - 1]]);
+        int position = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        if (position >= 0) {
+            int previous = leaf.values[position];
+            leaf.values[position] = value;
+            return previous;
+        }
+        position = -position - 1;
+        size++;
+        if (leaf.size < LEAF_CAPACITY) {
+            leaf.insert(position, key, value);
+            return defaultValue;
+        }
+        
+        Leaf right = splitLeaf(leaf, position == LEAF_CAPACITY && leaf == tail);
+        if (right.size > 0 && position <= leaf.size) {
+            leaf.insert(position, key, value);
+        } else {
+            right.insert(position - leaf.size, key, value);
+        }
+        
+        // Add the new node to the parent, splitting full parents up to the root
+        Node child = right;
+        int separator = right.keys[0];
+        while (depth > 0) {
+            Inner parent = path[--depth];
+            parent.insert(pathIndexes[depth], separator, child);
+            if (parent.size <= INNER_CAPACITY) {
+                return defaultValue;
+            }
+            separator = parent.keys[parent.size / 2];
+            child = splitInner(parent);
+        }
+        Inner newRoot = new Inner();
+        newRoot.children[0] = root;
+        newRoot.insert(0, separator, child);
+        root = newRoot;
+        return defaultValue;
+    }
+    
+    public void put(int key, int value) {
+        put(key, value, 0);
+    }
+    
+    /**
+     * Removes the key, returns whether it was present
+     */
+    public boolean remove(int key) {
+        int depth = descend(key);
+        Leaf leaf = (Leaf) (depth == 0 ? root : path[depth - 1].children[pathIndexes[depth - 1]]);
+        int position = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        if (position < 0) {
+            return false;
+        }
+        leaf.remove(position);
+        size--;
+        if (leaf.size > 0 || depth == 0) {
+            return true;
+        }
+        
+        // Unlink the empty leaf, then drop parents left without children
+        if (leaf.previous != null) {
+            leaf.previous.next = leaf.next;
+        } else {
+            head = leaf.next;
+        }
+        if (leaf.next != null) {
+            leaf.next.previous = leaf.previous;
+        } else {
+            tail = leaf.previous;
+        }
+        while (depth > 0) {
+            Inner parent = path[--depth];
+            parent.removeChild(pathIndexes[depth]);
+            if (parent.size >= 0) {
+                break;
+            }
+        }
+        while (root instanceof Inner && ((Inner) root).size == 0) {
+            root = ((Inner) root).children[0];
+        }
+        return true;
+    }
+    
+    public void clear() {
+        root = new Leaf();
+        head = (Leaf) root;
+        tail = (Leaf) root;
+        size = 0;
+    }
+    
+    public int firstKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return head.keys[0];
+    }
+    
+    public int lastKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return tail.keys[tail.size - 1];
+    }
+    
+    /**
+     * Greatest key less than or equal to the given one, or the default if there is none
+     */
+    public int floorKey(int key, int defaultValue) {
+        if (size == 0) {
+            return defaultValue;
+        }
+        Leaf leaf = leafFor(key);
+        int position = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        if (position >= 0) {
+            return key;
+        }
+        position = -position - 2;
+        if (position >= 0) {
+            return leaf.keys[position];
+        }
+        // Every key of the leaf is larger; the previous leaf ends below its separator
+        Leaf previous = leaf.previous;
+        return previous == null ? defaultValue : previous.keys[previous.size - 1];
+    }
+    
+    /**
+     * Least key greater than or equal to the given one, or the default if there is none
+     */
+    public int ceilingKey(int key, int defaultValue) {
+        if (size == 0) {
+            return defaultValue;
+        }
+        Leaf leaf = leafFor(key);
+        int position = lowerBound(leaf, key);
+        if (position < leaf.size) {
+            return leaf.keys[position];
+        }
+        return leaf.next == null ? defaultValue : leaf.next.keys[0];
+    }
+    
+    /**
+     * Greatest key strictly less than the given one, or the default if there is none
+     */
+    public int lowerKey(int key, int defaultValue) {
+        return key == Integer.MIN_VALUE ? defaultValue : floorKey(key - 1, defaultValue);
+    }
+    
+    /**
+     * Least key strictly greater than the given one, or the default if there is none
+     */
+    public int higherKey(int key, int defaultValue) {
+        return key == Integer.MAX_VALUE ? defaultValue : ceilingKey(key + 1, defaultValue);
+    }
+    
+    /**
+     * Visits the entries with keys in [fromInclusive, toExclusive) in ascending order
+     */
+    public void subMap(int fromInclusive, int toExclusive, IntIntHashMap.EntryConsumer action) {
+        scan(fromInclusive, toExclusive, action);
+    }
+    
+    /**
+     * Visits the entries with keys strictly less than the bound in ascending order
+     */
+    public void headMap(int toExclusive, IntIntHashMap.EntryConsumer action) {
+        scan(Integer.MIN_VALUE, toExclusive, action);
+    }
+    
+    /**
+     * Visits the entries with keys greater than or equal to the bound in ascending order
+     */
+    public void tailMap(int fromInclusive, IntIntHashMap.EntryConsumer action) {
+        scan(fromInclusive, Integer.MAX_VALUE + 1L, action);
+    }
+    
+    /**
+     * Visits every entry in ascending key order
+     */
+    public void forEach(IntIntHashMap.EntryConsumer action) {
+        for (Leaf leaf = head; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                action.accept(leaf.keys[i], leaf.values[i]);
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(key).append('=').append(value);
+        });
+        return text.append('}').toString();
+    }
+    
+    private void scan(int fromInclusive, long toExclusive, IntIntHashMap.EntryConsumer action) {
+        if (size == 0 || fromInclusive >= toExclusive) {
+            return;
+        }
+        Leaf leaf = leafFor(fromInclusive);
+        int position = lowerBound(leaf, fromInclusive);
+        for (; leaf != null; leaf = leaf.next, position = 0) {
+            int[] keys = leaf.keys;
+            for (; position < leaf.size; position++) {
+                if (keys[position] >= toExclusive) {
+                    return;
+                }
+                action.accept(keys[position], leaf.values[position]);
+            }
+        }
+    }
+    
+    private Leaf leafFor(int key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[inner.childIndex(key)];
+        }
+        return (Leaf) node;
+    }
+    
+    /**
+     * Walks from the root to the leaf for the key, recording the inner nodes and child
+     * indexes passed, and returns the depth of the leaf
+     */
+    private int descend(int key) {
+        Node node = root;
+        int depth = 0;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int index = inner.childIndex(key);
+            path[depth] = inner;
+            pathIndexes[depth++] = index;
+            node = inner.children[index];
+        }
+        return depth;
+    }
+    
+    /**
+     * Moves the upper half of a full leaf (or nothing, when appending) into a new leaf
+     * linked in after it
+     */
+    private Leaf splitLeaf(Leaf leaf, boolean appending) {
+        Leaf right = new Leaf();
+        int keep = appending ? LEAF_CAPACITY : LEAF_CAPACITY / 2;
+        int moved = leaf.size - keep;
+        System.arraycopy(leaf.keys, keep, right.keys, 0, moved);
+        System.arraycopy(leaf.values, keep, right.values, 0, moved);
+        right.size = moved;
+        leaf.size = keep;
+        
+        right.next = leaf.next;
+        right.previous = leaf;
+        if (leaf.next != null) {
+            leaf.next.previous = right;
+        } else {
+            tail = right;
+        }
+        leaf.next = right;
+        return right;
+    }
+    
+    /**
+     * Splits an overfull inner node around its middle key, which moves up to the parent
+     */
+    private static Inner splitInner(Inner inner) {
+        Inner right = new Inner();
+        int middle = inner.size / 2;
+        int moved = inner.size - middle - 1;
+        System.arraycopy(inner.keys, middle + 1, right.keys, 0, moved);
+        System.arraycopy(inner.children, middle + 1, right.children, 0, moved + 1);
+        Arrays.fill(inner.children, middle + 1, inner.size + 1, null);
+        right.size = moved;
+        inner.size = middle;
+        return right;
+    }
+    
+    /**
+     * Index of the first key in the leaf that is not less than the given one
+     */
+    private static int lowerBound(Leaf leaf, int key) {
+        int position = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        return position >= 0 ? position : -position - 1;
+    }
+    
+    private abstract static class Node {
+        int size; // keys held
+    }
+    
+    /**
+     * Separator keys[i] is the smallest key that can be found under children[i + 1]
+     */
+    private static final class Inner extends Node {
+        // One slot of slack, so a node can take an insert before it splits
+        final int[] keys = new int[INNER_CAPACITY + 1];
+        final Node[] children = new Node[INNER_CAPACITY + 2];
+        
+        /**
+         * Child whose key range contains the key: the number of separators not above it
+         */
+        int childIndex(int key) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle] <= key) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+        
+        /**
+         * Adds a child split off from children[index], directly after it
+         */
+        void insert(int index, int separator, Node child) {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(children, index + 1, children, index + 2, size - index);
+            keys[index] = separator;
+            children[index + 1] = child;
+            size++;
+        }
+        
+        /**
+         * Drops an empty child and one separator next to it; size becomes -1 when the
+         * last child goes
+         */
+        void removeChild(int index) {
+            int keyIndex = index > 0 ? index - 1 : 0;
+            if (size > 0) {
+                System.arraycopy(keys, keyIndex + 1, keys, keyIndex, size - keyIndex - 1);
+            }
+            System.arraycopy(children, index + 1, children, index, size - index);
+            children[size] = null;
+            size--;
+        }
+    }
+    
+    private static final class Leaf extends Node {
+        final int[] keys = new int[LEAF_CAPACITY];
+        final int[] values = new int[LEAF_CAPACITY];
+        Leaf previous;
+        Leaf next;
+        
+        void insert(int position, int key, int value) {
+            System.arraycopy(keys, position, keys, position + 1, size - position);
+            System.arraycopy(values, position, values, position + 1, size - position);
+            keys[position] = key;
+            values[position] = value;
+            size++;
+        }
+        
+        void remove(int position) {
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+        }
+    }
+}
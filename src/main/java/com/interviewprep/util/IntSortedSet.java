@@ -0,0 +1,202 @@
+package com.interviewprep.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Sorted set of primitive ints, the unboxed counterpart of {@code TreeSet<Integer>}.
+ *
+ * A TreeSet spends a red-black tree node (about 40 bytes) plus a boxed Integer on
+ * every element, and a lookup follows ~log2(n) pointers to nodes anywhere in the heap.
+ * Here the values are kept in sorted blocks of up to 512 ints. A lookup binary-searches
+ * the blocks by their first value and then the block itself; an insert shifts at most
+ * one block and splits it in half when full, so blocks are between half and
+ * completely full, 4-8 bytes per element. Not thread-safe.
+ */
+public final class IntSortedSet {
+    
+    private static final int BLOCK_SIZE = 512;
+    
+    private int[][] blocks = new int[4][];
+    private int[] blockSizes = new int[4];
+    private int blockCount;
+    private int size;
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public boolean contains(int value) {
+        if (size == 0) {
+            return false;
+        }
+        int block = blockFor(value);
+        return Arrays.binarySearch(blocks[block], 0, blockSizes[block], value) >= 0;
+    }
+    
+    /**
+     * Adds the value, returns false if it was already present
+     */
+    public boolean add(int value) {
+        if (blockCount == 0) {
+            blocks[0] = new int[BLOCK_SIZE];
+            blockCount = 1;
+        }
+        int block = blockFor(value);
+        int position = Arrays.binarySearch(blocks[block], 0, blockSizes[block], value);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (blockSizes[block] == BLOCK_SIZE) {
+            splitBlock(block);
+            int half = blockSizes[block];
+            if (position > half) {
+                block++;
+                position -= half;
+            }
+        }
+        int[] values = blocks[block];
+        System.arraycopy(values, position, values, position + 1, blockSizes[block] - position);
+        values[position] = value;
+        blockSizes[block]++;
+        size++;
+        return true;
+    }
+    
+    /**
+     * Removes the value, returns whether it was present
+     */
+    public boolean remove(int value) {
+        if (size == 0) {
+            return false;
+        }
+        int block = blockFor(value);
+        int position = Arrays.binarySearch(blocks[block], 0, blockSizes[block], value);
+        if (position < 0) {
+            return false;
+        }
+        int[] values = blocks[block];
+        System.arraycopy(values, position + 1, values, position, blockSizes[block] - position - 1);
+        size--;
+        if (--blockSizes[block] == 0 && blockCount > 1) {
+            removeBlock(block);
+        }
+        return true;
+    }
+    
+    public int first() {
+        if (size == 0) {
+            throw new NoSuchElementException("Set is empty");
+        }
+        return blocks[0][0];
+    }
+    
+    public int last() {
+        if (size == 0) {
+            throw new NoSuchElementException("Set is empty");
+        }
+        return blocks[blockCount - 1][blockSizes[blockCount - 1] - 1];
+    }
+    
+    /**
+     * Values strictly less than the bound, ascending
+     */
+    public int[] headSet(int toExclusive) {
+        return range(Integer.MIN_VALUE, toExclusive);
+    }
+    
+    /**
+     * Values greater than or equal to the bound, ascending
+     */
+    public int[] tailSet(int fromInclusive) {
+        return range(fromInclusive, Integer.MAX_VALUE + 1L);
+    }
+    
+    /**
+     * Visits every value in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        for (int block = 0; block < blockCount; block++) {
+            int[] values = blocks[block];
+            for (int i = 0; i < blockSizes[block]; i++) {
+                action.accept(values[i]);
+            }
+        }
+    }
+    
+    public int[] toArray() {
+        return range(Integer.MIN_VALUE, Integer.MAX_VALUE + 1L);
+    }
+    
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+    
+    private int[] range(long fromInclusive, long toExclusive) {
+        IntArrayList values = new IntArrayList();
+        int start = size == 0 || fromInclusive <= Integer.MIN_VALUE ? 0 : blockFor((int) fromInclusive);
+        for (int block = start; block < blockCount; block++) {
+            int[] blockValues = blocks[block];
+            for (int i = 0; i < blockSizes[block]; i++) {
+                if (blockValues[i] >= toExclusive) {
+                    return values.toArray();
+                }
+                if (blockValues[i] >= fromInclusive) {
+                    values.add(blockValues[i]);
+                }
+            }
+        }
+        return values.toArray();
+    }
+    
+    /**
+     * Last block whose first value is not greater than the value, or the first block
+     */
+    private int blockFor(int value) {
+        int low = 1;
+        int high = blockCount - 1;
+        int found = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (blocks[middle][0] <= value) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Moves the upper half of a full block into a new block right after it
+     */
+    private void splitBlock(int block) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            blockSizes = Arrays.copyOf(blockSizes, blockCount * 2);
+        }
+        System.arraycopy(blocks, block + 1, blocks, block + 2, blockCount - block - 1);
+        System.arraycopy(blockSizes, block + 1, blockSizes, block + 2, blockCount - block - 1);
+        int half = BLOCK_SIZE / 2;
+        int[] upper = new int[BLOCK_SIZE];
+        System.arraycopy(blocks[block], half, upper, 0, BLOCK_SIZE - half);
+        blocks[block + 1] = upper;
+        blockSizes[block + 1] = BLOCK_SIZE - half;
+        blockSizes[block] = half;
+        blockCount++;
+    }
+    
+    private void removeBlock(int block) {
+        System.arraycopy(blocks, block + 1, blocks, block, blockCount - block - 1);
+        System.arraycopy(blockSizes, block + 1, blockSizes, block, blockCount - block - 1);
+        blocks[--blockCount] = null;
+    }
+}
@@ -0,0 +1,351 @@
+package com.interviewprep.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Hash map from long keys to long values stored outside the Java heap, either in a
+ * direct ByteBuffer or in a memory-mapped file that survives restarts.
+ *
+ * Millions of entries in a {@code HashMap<Long, Long>} are millions of node and box
+ * objects the garbage collector has to trace and copy on every old-generation cycle.
+ * Here the whole table is one buffer of 16-byte slots (key, value) that the collector
+ * sees as a single object, so pause times stay flat however many entries it holds.
+ * Lookups use linear probing like {@link IntIntHashMap}, with key 0 marking a free
+ * slot and kept in the header instead.
+ *
+ * The table doubles when it is 70% full. In memory that is a new buffer; a file-backed
+ * map writes the new table to a sibling file and atomically renames it over the old
+ * one, so a crash mid-resize leaves the previous table intact. Writes to a mapped file
+ * reach the disk when the OS flushes them, or on {@link #force()} and {@link #close()}.
+ *
+ * A buffer is indexed by int, which caps the table at 2^26 slots (about 47 million
+ * entries). Direct memory is returned when the map becomes unreachable, not on close.
+ * Not thread-safe.
+ */
+public final class OffHeapLongLongMap implements AutoCloseable {
+    
+    private static final int MAGIC = 0x4F484D31; // "OHM1"
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_SLOTS = 1 << 26;
+    private static final double MAX_LOAD = 0.7;
+    private static final long FREE = 0;
+    
+    // Header layout
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SLOTS_OFFSET = 4;
+    private static final int SIZE_OFFSET = 8;
+    private static final int HAS_ZERO_OFFSET = 16;
+    private static final int ZERO_VALUE_OFFSET = 24;
+    
+    private final Path file;
+    private ByteBuffer buffer;
+    private int mask;
+    private long size;   // entries in the table, not counting key 0
+    private long maxSize;
+    private boolean closed;
+    
+    private OffHeapLongLongMap(Path file, ByteBuffer buffer) {
+        this.file = file;
+        setBuffer(buffer);
+    }
+    
+    /**
+     * An empty map in direct memory, sized so the expected entries fit without resizing
+     */
+    public static OffHeapLongLongMap allocate(long expectedSize) {
+        int slots = slotsFor(expectedSize);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytesFor(slots)).order(ByteOrder.LITTLE_ENDIAN);
+        initialize(buffer, slots);
+        return new OffHeapLongLongMap(null, buffer);
+    }
+    
+    /**
+     * Opens the map stored in the file, or creates the file with an empty map
+     *
+     * @throws IOException if the file exists but does not hold a map
+     */
+    public static OffHeapLongLongMap open(Path file, long expectedSize) throws IOException {
+        if (Files.exists(file) && Files.size(file) > 0) {
+            MappedByteBuffer buffer = map(file, Files.size(file));
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException(file + " is not an off-heap map file");
+            }
+            int slots = buffer.getInt(SLOTS_OFFSET);
+            if (Integer.bitCount(slots) != 1 || bytesFor(slots) != buffer.capacity()) {
+                throw new IOException(file + " has a corrupt header");
+            }
+            return new OffHeapLongLongMap(file, buffer);
+        }
+        int slots = slotsFor(expectedSize);
+        MappedByteBuffer buffer = map(file, bytesFor(slots));
+        initialize(buffer, slots);
+        return new OffHeapLongLongMap(file, buffer);
+    }
+    
+    public long size() {
+        return size + (hasZeroKey() ? 1 : 0);
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Bytes of off-heap memory (or file) the table occupies
+     */
+    public long getAllocatedBytes() {
+        return buffer.capacity();
+    }
+    
+    public boolean containsKey(long key) {
+        ensureOpen();
+        if (key == FREE) {
+            return hasZeroKey();
+        }
+        return buffer.getLong(slotFor(key)) == key;
+    }
+    
+    /**
+     * Value mapped to the key, or the default if there is none
+     */
+    public long get(long key, long defaultValue) {
+        ensureOpen();
+        if (key == FREE) {
+            return hasZeroKey() ? buffer.getLong(ZERO_VALUE_OFFSET) : defaultValue;
+        }
+        int offset = slotFor(key);
+        return buffer.getLong(offset) == key ? buffer.getLong(offset + 8) : defaultValue;
+    }
+    
+    public void put(long key, long value) {
+        ensureOpen();
+        if (key == FREE) {
+            buffer.putLong(HAS_ZERO_OFFSET, 1);
+            buffer.putLong(ZERO_VALUE_OFFSET, value);
+            return;
+        }
+        int offset = slotFor(key);
+        if (buffer.getLong(offset) != key) {
+            insert(offset, key, value);
+        } else {
+            buffer.putLong(offset + 8, value);
+        }
+    }
+    
+    /**
+     * Adds delta to the key's value, treating a missing key as 0, and returns the sum
+     */
+    public long addTo(long key, long delta) {
+        ensureOpen();
+        if (key == FREE) {
+            long sum = (hasZeroKey() ? buffer.getLong(ZERO_VALUE_OFFSET) : 0) + delta;
+            put(FREE, sum);
+            return sum;
+        }
+        int offset = slotFor(key);
+        if (buffer.getLong(offset) != key) {
+            insert(offset, key, delta);
+            return delta;
+        }
+        long sum = buffer.getLong(offset + 8) + delta;
+        buffer.putLong(offset + 8, sum);
+        return sum;
+    }
+    
+    /**
+     * Removes the key, returns whether it was present
+     */
+    public boolean remove(long key) {
+        ensureOpen();
+        if (key == FREE) {
+            boolean had = hasZeroKey();
+            buffer.putLong(HAS_ZERO_OFFSET, 0);
+            return had;
+        }
+        int offset = slotFor(key);
+        if (buffer.getLong(offset) != key) {
+            return false;
+        }
+        shiftBack(offset);
+        setSize(size - 1);
+        return true;
+    }
+    
+    /**
+     * Writes changes of a file-backed map to disk; no-op in memory
+     */
+    public void force() {
+        if (buffer instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+    
+    /**
+     * Flushes a file-backed map; the map cannot be used afterwards
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            force();
+            closed = true;
+        }
+    }
+    
+    private boolean hasZeroKey() {
+        return buffer.getLong(HAS_ZERO_OFFSET) != 0;
+    }
+    
+    /**
+     * Buffer offset of the slot holding the key, or of the free slot where it belongs
+     */
+    private int slotFor(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            int offset = HEADER_BYTES + slot * SLOT_BYTES;
+            long current = buffer.getLong(offset);
+            if (current == FREE || current == key) {
+                return offset;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    private void insert(int offset, long key, long value) {
+        buffer.putLong(offset, key);
+        buffer.putLong(offset + 8, value);
+        setSize(size + 1);
+        if (size > maxSize) {
+            resize();
+        }
+    }
+    
+    /**
+     * Backward-shift deletion, as in {@link IntIntHashMap}
+     */
+    private void shiftBack(int offset) {
+        int gap = (offset - HEADER_BYTES) / SLOT_BYTES;
+        int next = (gap + 1) & mask;
+        while (true) {
+            int nextOffset = HEADER_BYTES + next * SLOT_BYTES;
+            long key = buffer.getLong(nextOffset);
+            if (key == FREE) {
+                break;
+            }
+            int home = hash(key) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                int gapOffset = HEADER_BYTES + gap * SLOT_BYTES;
+                buffer.putLong(gapOffset, key);
+                buffer.putLong(gapOffset + 8, buffer.getLong(nextOffset + 8));
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        int gapOffset = HEADER_BYTES + gap * SLOT_BYTES;
+        buffer.putLong(gapOffset, FREE);
+        buffer.putLong(gapOffset + 8, 0);
+    }
+    
+    private void resize() {
+        int slots = (mask + 1) << 1;
+        if (slots > MAX_SLOTS) {
+            throw new IllegalStateException("Off-heap map is full at " + size() + " entries");
+        }
+        ByteBuffer old = buffer;
+        try {
+            if (file == null) {
+                buffer = ByteBuffer.allocateDirect(bytesFor(slots)).order(ByteOrder.LITTLE_ENDIAN);
+                rehashFrom(old, slots);
+            } else {
+                Path resized = file.resolveSibling(file.getFileName() + ".resize");
+                Files.deleteIfExists(resized);
+                MappedByteBuffer mapped = map(resized, bytesFor(slots));
+                buffer = mapped;
+                rehashFrom(old, slots);
+                mapped.force();
+                Files.move(resized, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            buffer = old;
+            throw new IllegalStateException("Could not resize off-heap map file " + file, e);
+        }
+        setBuffer(buffer);
+    }
+    
+    private void rehashFrom(ByteBuffer old, int slots) {
+        initialize(buffer, slots);
+        mask = slots - 1;
+        buffer.putLong(HAS_ZERO_OFFSET, old.getLong(HAS_ZERO_OFFSET));
+        buffer.putLong(ZERO_VALUE_OFFSET, old.getLong(ZERO_VALUE_OFFSET));
+        buffer.putLong(SIZE_OFFSET, old.getLong(SIZE_OFFSET));
+        int oldSlots = old.getInt(SLOTS_OFFSET);
+        for (int slot = 0; slot < oldSlots; slot++) {
+            int oldOffset = HEADER_BYTES + slot * SLOT_BYTES;
+            long key = old.getLong(oldOffset);
+            if (key != FREE) {
+                int offset = slotFor(key);
+                buffer.putLong(offset, key);
+                buffer.putLong(offset + 8, old.getLong(oldOffset + 8));
+            }
+        }
+    }
+    
+    private void setBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        int slots = buffer.getInt(SLOTS_OFFSET);
+        this.mask = slots - 1;
+        this.size = buffer.getLong(SIZE_OFFSET);
+        this.maxSize = (long) (slots * MAX_LOAD);
+    }
+    
+    private void setSize(long newSize) {
+        size = newSize;
+        buffer.putLong(SIZE_OFFSET, newSize);
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off-heap map is closed");
+        }
+    }
+    
+    private static void initialize(ByteBuffer buffer, int slots) {
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(SLOTS_OFFSET, slots);
+    }
+    
+    private static MappedByteBuffer map(Path file, long bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+    
+    private static int slotsFor(long expectedSize) {
+        long needed = Math.max(16, (long) Math.ceil(expectedSize / MAX_LOAD));
+        if (needed > MAX_SLOTS) {
+            throw new IllegalArgumentException("Too many entries for one off-heap map: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+    
+    private static int bytesFor(int slots) {
+        return HEADER_BYTES + slots * SLOT_BYTES;
+    }
+    
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
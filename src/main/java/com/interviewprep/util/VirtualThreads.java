@@ -0,0 +1,80 @@
+package com.interviewprep.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads (JDK 21+) from code compiled for Java 11.
+ *
+ * The factory method is looked up reflectively once; on older runtimes, or on JDK 19/20
+ * without --enable-preview, {@link #isSupported()} returns false and callers fall back
+ * to platform thread pools.
+ */
+public final class VirtualThreads {
+    
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookup();
+    private static final ThreadFactory FACTORY = NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null ? null : lookupFactory();
+    
+    private VirtualThreads() {
+    }
+    
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+    
+    /**
+     * Equivalent of {@code Executors.newVirtualThreadPerTaskExecutor()}
+     *
+     * @throws UnsupportedOperationException if the runtime has no virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer, running on "
+                + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new UnsupportedOperationException("Could not create a virtual thread executor", e);
+        }
+    }
+    
+    /**
+     * Equivalent of {@code Thread.ofVirtual().factory()}: unstarted virtual threads for
+     * code that manages its threads by hand
+     *
+     * @throws UnsupportedOperationException if the runtime has no virtual threads
+     */
+    public static ThreadFactory factory() {
+        if (FACTORY == null) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer, running on "
+                + System.getProperty("java.version"));
+        }
+        return FACTORY;
+    }
+    
+    private static Method lookup() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            // Preview builds expose the method but throw unless preview features are enabled
+            ((ExecutorService) method.invoke(null)).shutdown();
+            return method;
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+    
+    private static ThreadFactory lookupFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            // Call through the public interface; the builder's own class is not accessible
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
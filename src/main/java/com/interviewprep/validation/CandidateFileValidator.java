@@ -0,0 +1,410 @@
+package com.interviewprep.validation;
+
+import com.interviewprep.validation.ValidationReport.RowError;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Validates candidate import files with {@link CandidateRules}.
+ *
+ * A file is CSV whose header row names an "age" and an "email" column, in any position.
+ * It is cut into 8 MB chunks that worker threads map through a FileChannel and scan
+ * byte by byte. A chunk owns the rows that start inside it and reads past its end to
+ * finish the last one, so chunks need no coordination. Ages are parsed from the digits
+ * and emails checked through a CharSequence view of the mapped bytes, so valid rows
+ * allocate nothing. At most two chunks per thread are in flight, and their results are
+ * merged into the {@link ValidationReport} in file order; apart from the report's error
+ * bitmap, memory use does not depend on the size of the file.
+ *
+ * Fields may be quoted but must not contain line breaks, and a row may be up to 64 KB.
+ * Every line after the header is a row, so row N is line N + 1 of the file; blank lines
+ * are valid rows, so that the numbers still point at the right line.
+ *
+ * <pre>
+ * java -cp app.jar com.interviewprep.validation.CandidateFileValidator candidates.csv --threads 8
+ * </pre>
+ */
+public final class CandidateFileValidator {
+    
+    public static final int DEFAULT_CHUNK_BYTES = 8 << 20;
+    
+    private static final int MAX_ROW_BYTES = 64 << 10;
+    private static final int MAX_SAMPLE_CHARS = 40;
+    private static final int NOT_A_NUMBER = Integer.MIN_VALUE;
+    private static final String USAGE =
+        "Usage: CandidateFileValidator <candidates.csv> [--threads <count>]\n"
+            + "       CandidateFileValidator --generate <candidates.csv> <rows>";
+    
+    private final int threads;
+    private final int chunkBytes;
+    
+    public CandidateFileValidator(int threads) {
+        this(threads, DEFAULT_CHUNK_BYTES);
+    }
+    
+    public CandidateFileValidator(int threads, int chunkBytes) {
+        if (threads < 1 || chunkBytes < 1) {
+            throw new IllegalArgumentException("Threads and chunk size must be positive");
+        }
+        this.threads = threads;
+        this.chunkBytes = chunkBytes;
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("--generate")) {
+            long rows = Long.parseLong(args[2]);
+            writeSample(Paths.get(args[1]), rows, 42);
+            System.out.printf("✅ Wrote %,d candidates to %s%n", rows, args[1]);
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length == 3 && args[1].equals("--threads")) {
+            threads = Integer.parseInt(args[2]);
+        } else if (args.length != 1) {
+            System.out.println(USAGE);
+            return;
+        }
+        new CandidateFileValidator(threads).validate(Paths.get(args[0])).print(System.out);
+    }
+    
+    /**
+     * Writes a file of random candidates: about 18% are under 18, 1% have an age that is
+     * not a number and 20% an email without @
+     */
+    public static void writeSample(Path file, long rows, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("id,name,age,email\n");
+            StringBuilder row = new StringBuilder();
+            for (long id = 1; id <= rows; id++) {
+                row.setLength(0);
+                row.append(id).append(",Candidate ").append(id).append(',');
+                if (random.nextInt(100) == 0) {
+                    row.append("n/a");
+                } else {
+                    row.append(random.nextInt(100));
+                }
+                row.append(",candidate").append(id).append(random.nextInt(5) == 0 ? '.' : '@').append("example.org\n");
+                out.append(row);
+            }
+        }
+    }
+    
+    /**
+     * Validates every row of the file
+     *
+     * @throws IOException if the file cannot be read, has no age or email column or has
+     *         a row over 64 KB
+     */
+    public ValidationReport validate(Path file) throws IOException {
+        long start = System.nanoTime();
+        ValidationReport report = new ValidationReport();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Header header = readHeader(channel, file);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+            try {
+                long next = header.end;
+                while (next < size || !inFlight.isEmpty()) {
+                    while (next < size && inFlight.size() < 2 * threads) {
+                        long chunkStart = next;
+                        long chunkEnd = Math.min(size, next + chunkBytes);
+                        inFlight.add(pool.submit(() -> validateChunk(channel, size, header, chunkStart, chunkEnd)));
+                        next = chunkEnd;
+                    }
+                    report.add(inFlight.removeFirst().get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Validation of " + file + " was interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException("Validation of " + file + " failed", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+            report.finish(size, System.nanoTime() - start);
+        }
+        return report;
+    }
+    
+    private static Header readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), MAX_ROW_BYTES));
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // read until the buffer is full or the file ends
+        }
+        int length = buffer.position();
+        int newline = indexOf(buffer, '\n', 0, length);
+        if (newline < 0 && length < channel.size()) {
+            throw new IOException(file + " has a header row over " + MAX_ROW_BYTES + " bytes");
+        }
+        int end = newline < 0 ? length : newline;
+        String line = new String(buffer.array(), 0, end, StandardCharsets.UTF_8);
+        String[] columns = line.replace("\uFEFF", "").replace("\r", "").split(",", -1);
+        int ageColumn = -1;
+        int emailColumn = -1;
+        for (int i = 0; i < columns.length; i++) {
+            String name = columns[i].replace("\"", "").trim();
+            if (name.equalsIgnoreCase("age")) {
+                ageColumn = i;
+            } else if (name.equalsIgnoreCase("email")) {
+                emailColumn = i;
+            }
+        }
+        if (ageColumn < 0 || emailColumn < 0) {
+            throw new IOException(file + " has no age and email columns in its header: " + line);
+        }
+        return new Header(ageColumn, emailColumn, newline < 0 ? length : newline + 1);
+    }
+    
+    /**
+     * Validates the rows that start in [start, end) of the file
+     */
+    private static ChunkResult validateChunk(FileChannel channel, long fileSize, Header header, long start, long end)
+            throws IOException {
+        // One byte before the chunk tells whether a row starts at its first byte
+        long mapStart = start - 1;
+        long mapEnd = Math.min(fileSize, end + MAX_ROW_BYTES);
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        int limit = buffer.limit();
+        int chunkEnd = (int) (end - mapStart);
+        ChunkResult result = new ChunkResult(buffer);
+        
+        int position = 1;
+        if (buffer.get(0) != '\n') {
+            // The previous chunk owns the row in progress
+            int newline = indexOf(buffer, '\n', 1, limit);
+            if (newline < 0) {
+                return result;
+            }
+            position = newline + 1;
+        }
+        while (position < chunkEnd) {
+            int rowEnd = indexOf(buffer, '\n', position, limit);
+            if (rowEnd < 0) {
+                if (mapEnd < fileSize) {
+                    throw new IOException("Row at byte " + (mapStart + position) + " is over " + MAX_ROW_BYTES
+                        + " bytes");
+                }
+                rowEnd = limit;
+            }
+            result.validateRow(header, position, rowEnd);
+            position = rowEnd + 1;
+        }
+        return result;
+    }
+    
+    private static int indexOf(ByteBuffer buffer, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static final class Header {
+        final int ageColumn;
+        final int emailColumn;
+        final long end;
+        
+        Header(int ageColumn, int emailColumn, long end) {
+            this.ageColumn = ageColumn;
+            this.emailColumn = emailColumn;
+            this.end = end;
+        }
+    }
+    
+    /**
+     * Errors found in one chunk, with rows numbered from 1 within the chunk
+     */
+    static final class ChunkResult {
+        final BitSet errorBits = new BitSet();
+        final List<RowError> samples = new ArrayList<>();
+        int rows;
+        int invalidRows;
+        int ageErrors;
+        int emailErrors;
+        
+        private final ByteBuffer buffer;
+        private final ByteSlice age;
+        private final ByteSlice email;
+        
+        ChunkResult(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.age = new ByteSlice(buffer);
+            this.email = new ByteSlice(buffer);
+        }
+        
+        void validateRow(Header header, int from, int to) {
+            if (to > from && buffer.get(to - 1) == '\r') {
+                to--;
+            }
+            if (to == from) {
+                // Blank line, e.g. trailing ones at the end of an export: nothing to check,
+                // but counted so that row numbers stay line numbers
+                rows++;
+                return;
+            }
+            age.set(0, 0);
+            email.set(0, 0);
+            boolean hasAge = false;
+            int lastColumn = Math.max(header.ageColumn, header.emailColumn);
+            int position = from;
+            for (int column = 0; column <= lastColumn; column++) {
+                int valueFrom = position;
+                int valueTo;
+                int comma;
+                if (position < to && buffer.get(position) == '"') {
+                    valueFrom = ++position;
+                    while (position < to && buffer.get(position) != '"') {
+                        position++;
+                    }
+                    valueTo = position;
+                    comma = indexOf(buffer, ',', Math.min(position + 1, to), to);
+                } else {
+                    comma = indexOf(buffer, ',', position, to);
+                    valueTo = comma < 0 ? to : comma;
+                }
+                if (column == header.ageColumn) {
+                    age.set(valueFrom, valueTo);
+                    hasAge = true;
+                } else if (column == header.emailColumn) {
+                    email.set(valueFrom, valueTo);
+                }
+                if (comma < 0) {
+                    break;
+                }
+                position = comma + 1;
+            }
+            
+            rows++;
+            int parsedAge = hasAge ? parseAge(age) : NOT_A_NUMBER;
+            ValidationResult ageResult = parsedAge == NOT_A_NUMBER
+                ? ValidationResult.AGE_NOT_A_NUMBER : CandidateRules.checkAge(parsedAge);
+            ValidationResult emailResult = CandidateRules.checkEmail(email);
+            if (ageResult.isValid() && emailResult.isValid()) {
+                return;
+            }
+            invalidRows++;
+            if (!ageResult.isValid()) {
+                ageErrors++;
+                errorBits.set(2 * (rows - 1));
+                addSample(ageResult, age);
+            }
+            if (!emailResult.isValid()) {
+                emailErrors++;
+                errorBits.set(2 * (rows - 1) + 1);
+                addSample(emailResult, email);
+            }
+        }
+        
+        private void addSample(ValidationResult result, ByteSlice value) {
+            if (samples.size() < ValidationReport.SAMPLE_LIMIT) {
+                String text = value.toString();
+                if (text.length() > MAX_SAMPLE_CHARS) {
+                    text = text.substring(0, MAX_SAMPLE_CHARS) + "...";
+                }
+                samples.add(new RowError(rows, result, text));
+            }
+        }
+        
+        /**
+         * The age as an int, or NOT_A_NUMBER unless it is an optionally signed whole
+         * number of up to nine digits, surrounded by spaces at most
+         */
+        private static int parseAge(ByteSlice age) {
+            int from = 0;
+            int to = age.length();
+            while (from < to && age.charAt(from) == ' ') {
+                from++;
+            }
+            while (to > from && age.charAt(to - 1) == ' ') {
+                to--;
+            }
+            boolean negative = from < to && age.charAt(from) == '-';
+            if (negative) {
+                from++;
+            }
+            if (from == to || to - from > 9) {
+                return NOT_A_NUMBER;
+            }
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                char c = age.charAt(i);
+                if (c < '0' || c > '9') {
+                    return NOT_A_NUMBER;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return negative ? -value : value;
+        }
+    }
+    
+    /**
+     * A field of the mapped file seen as characters without decoding it. Bytes map to
+     * chars one to one, which is exact for ASCII; a multi-byte UTF-8 character shows up
+     * as several chars above 0x7F, none of which can be mistaken for '@' or a digit.
+     */
+    private static final class ByteSlice implements CharSequence {
+        private final ByteBuffer buffer;
+        private int from;
+        private int to;
+        
+        ByteSlice(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        ByteSlice set(int from, int to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+        
+        @Override
+        public int length() {
+            return to - from;
+        }
+        
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(from + index) & 0xFF);
+        }
+        
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new ByteSlice(buffer).set(from + start, from + end);
+        }
+        
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(from + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
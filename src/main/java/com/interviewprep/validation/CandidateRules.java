@@ -0,0 +1,30 @@
+package com.interviewprep.validation;
+
+/**
+ * The rules a candidate's fields must meet, shared by the bulk file validator and the
+ * exception handling examples
+ */
+public final class CandidateRules {
+    
+    public static final int MINIMUM_AGE = 18;
+    
+    private CandidateRules() {
+    }
+    
+    public static ValidationResult checkAge(int age) {
+        return age < MINIMUM_AGE ? ValidationResult.AGE_UNDER_18 : ValidationResult.VALID;
+    }
+    
+    /**
+     * An email only has to contain '@'; takes any CharSequence so callers can check text
+     * without building a String
+     */
+    public static ValidationResult checkEmail(CharSequence email) {
+        for (int i = 0; i < email.length(); i++) {
+            if (email.charAt(i) == '@') {
+                return ValidationResult.VALID;
+            }
+        }
+        return ValidationResult.EMAIL_WITHOUT_AT;
+    }
+}
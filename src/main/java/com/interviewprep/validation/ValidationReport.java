@@ -0,0 +1,171 @@
+package com.interviewprep.validation;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of validating a candidate file: error counts, the first few errors in file
+ * order and a bitmap with two bits per row, one for the age and one for the email.
+ *
+ * Rows are the lines after the header, numbered from 1, so row N is line N + 1 of the
+ * file. The bitmap is the only part that grows with the file, by a quarter of a byte per
+ * row: 25 MB for 100 million rows.
+ */
+public final class ValidationReport {
+    
+    /** Rows the bitmap can hold; BitSet is indexed by int */
+    public static final long MAX_ROWS = Integer.MAX_VALUE / 2;
+    
+    static final int SAMPLE_LIMIT = 10;
+    
+    private final BitSet errorBits = new BitSet();
+    private final List<RowError> samples = new ArrayList<>();
+    private long rows;
+    private long invalidRows;
+    private long ageErrors;
+    private long emailErrors;
+    private long bytes;
+    private long elapsedNanos;
+    
+    ValidationReport() {
+    }
+    
+    public long getRows() {
+        return rows;
+    }
+    
+    /**
+     * Rows with at least one invalid field
+     */
+    public long getInvalidRows() {
+        return invalidRows;
+    }
+    
+    public long getAgeErrors() {
+        return ageErrors;
+    }
+    
+    public long getEmailErrors() {
+        return emailErrors;
+    }
+    
+    public long getBytes() {
+        return bytes;
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    public boolean isAgeInvalid(long row) {
+        return errorBits.get(bitIndex(row));
+    }
+    
+    public boolean isEmailInvalid(long row) {
+        return errorBits.get(bitIndex(row) + 1);
+    }
+    
+    /**
+     * The first errors in file order, at most ten
+     */
+    public List<RowError> getSamples() {
+        return Collections.unmodifiableList(samples);
+    }
+    
+    /**
+     * The bitmap itself: bit 2 * (row - 1) is set for an invalid age, the next one for an
+     * invalid email
+     */
+    public BitSet getErrorBits() {
+        return (BitSet) errorBits.clone();
+    }
+    
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("Rows: %,d, invalid: %,d (%,d ages, %,d emails)%n", rows, invalidRows, ageErrors, emailErrors);
+        out.printf("Read %,.1f MB in %.2f s: %,.1f MB/s, %,.0f rows/s%n",
+            bytes / 1e6, seconds, bytes / 1e6 / seconds, rows / seconds);
+        out.printf("Error bitmap: %,d bytes%n", errorBits.size() / 8);
+        for (RowError error : samples) {
+            out.println("❌ " + error);
+        }
+    }
+    
+    /**
+     * Appends a chunk's rows; chunks must be added in file order
+     */
+    void add(CandidateFileValidator.ChunkResult chunk) {
+        if (rows + chunk.rows > MAX_ROWS) {
+            throw new IllegalStateException("More than " + MAX_ROWS + " rows do not fit in the error bitmap");
+        }
+        int base = (int) (2 * rows);
+        BitSet bits = chunk.errorBits;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            errorBits.set(base + i);
+        }
+        for (RowError error : chunk.samples) {
+            if (samples.size() == SAMPLE_LIMIT) {
+                break;
+            }
+            samples.add(new RowError(rows + error.row, error.result, error.value));
+        }
+        rows += chunk.rows;
+        invalidRows += chunk.invalidRows;
+        ageErrors += chunk.ageErrors;
+        emailErrors += chunk.emailErrors;
+    }
+    
+    void finish(long bytes, long elapsedNanos) {
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    private static int bitIndex(long row) {
+        if (row < 1 || row > MAX_ROWS) {
+            throw new IndexOutOfBoundsException("Row " + row);
+        }
+        return (int) (2 * (row - 1));
+    }
+    
+    /**
+     * One invalid field: the row, which rule it broke and the field as found in the file
+     */
+    public static final class RowError {
+        private final long row;
+        private final ValidationResult result;
+        private final String value;
+        
+        RowError(long row, ValidationResult result, String value) {
+            this.row = row;
+            this.result = result;
+            this.value = value;
+        }
+        
+        public long getRow() {
+            return row;
+        }
+        
+        public ValidationResult getResult() {
+            return result;
+        }
+        
+        public String getValue() {
+            return value;
+        }
+        
+        /**
+         * Line of the file holding the row, counting the header as line 1
+         */
+        public long getLine() {
+            return row + 1;
+        }
+        
+        @Override
+        public String toString() {
+            return "Row " + row + " (line " + getLine() + "): " + result.getMessage() + " (\"" + value + "\")";
+        }
+    }
+}
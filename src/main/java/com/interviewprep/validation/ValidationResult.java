@@ -0,0 +1,26 @@
+package com.interviewprep.validation;
+
+/**
+ * Outcome of a candidate field check as a constant: returning one allocates nothing,
+ * whether the input is valid or not
+ */
+public enum ValidationResult {
+    VALID("Valid"),
+    AGE_UNDER_18("Age must be 18 or older"),
+    AGE_NOT_A_NUMBER("Age must be a whole number"),
+    EMAIL_WITHOUT_AT("Invalid email format");
+    
+    private final String message;
+    
+    ValidationResult(String message) {
+        this.message = message;
+    }
+    
+    public boolean isValid() {
+        return this == VALID;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,55 @@
+package com.interviewprep;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for replaying scripted sessions headlessly
+ */
+public class BatchModeTest {
+    
+    private static final List<String> QUIZ_SCRIPT = BatchMode.parseScript(Arrays.asList(
+        "# search, then a two-question quiz",
+        "7", "thread", "<enter>", "", "<enter>",
+        "6", "0", "2", "1", "2", "n",
+        "0"));
+    
+    @Test
+    public void testParallelSessionsReachExit() {
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        PrintStream console = System.out;
+        
+        int exitCode = new BatchMode(QUIZ_SCRIPT, 40, 4, false).runSessions(new PrintStream(report, true));
+        
+        assertSame(console, System.out, "System.out is restored after the run");
+        assertEquals(0, exitCode);
+        String text = report.toString(StandardCharsets.UTF_8);
+        assertTrue(text.contains("Reached Exit: 40, ran out of input: 0, failed: 0"), text);
+        assertTrue(text.contains("Quizzes finished: 40"), text);
+    }
+    
+    @Test
+    public void testScriptEndingBeforeExitIsReported() {
+        List<String> truncated = QUIZ_SCRIPT.subList(0, QUIZ_SCRIPT.size() - 3);
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        
+        int exitCode = new BatchMode(truncated, 3, 2, false).runSessions(new PrintStream(report, true));
+        
+        assertEquals(1, exitCode);
+        assertTrue(report.toString(StandardCharsets.UTF_8).contains("Reached Exit: 0, ran out of input: 3"));
+    }
+    
+    @Test
+    public void testInvalidArguments() {
+        assertEquals(2, BatchMode.run(new String[] {"--sessions", "5"}));
+        assertEquals(2, BatchMode.run(new String[] {"--script"}));
+        assertEquals(2, BatchMode.run(new String[] {"--script", "no-such-script.txt"}));
+    }
+}
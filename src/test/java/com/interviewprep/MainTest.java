@@ -1,6 +1,11 @@
 package com.interviewprep;
 
+import com.interviewprep.util.BufferedConsole;
+import com.interviewprep.util.EndOfInputException;
 import org.junit.jupiter.api.Test;
+
+import java.util.Scanner;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -26,4 +31,12 @@ public class MainTest {
             mainClass.getMethod("main", String[].class);
         });
     }
-} 
\ No newline at end of file
+    
+    @Test
+    public void testEndOfInputIsReportedWhereInputIsRead() {
+        assertThrows(EndOfInputException.class, () -> BufferedConsole.readLine(new Scanner("")));
+        assertEquals("0", BufferedConsole.readLine(new Scanner("0\n")));
+        assertFalse(Main.runSession(new Scanner("1\n"), null));
+        assertTrue(Main.runSession(new Scanner("0\n"), null));
+    }
+}
@@ -0,0 +1,32 @@
+package com.interviewprep.concepts;
+
+import com.interviewprep.validation.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the result-code validators and the stackless exceptions
+ */
+public class ExceptionHandlingExamplesTest {
+    
+    @Test
+    public void testResultCodesFollowTheThrowingRules() {
+        assertSame(ValidationResult.AGE_UNDER_18, ExceptionHandlingExamples.checkAge(17));
+        assertSame(ValidationResult.VALID, ExceptionHandlingExamples.checkAge(18));
+        assertSame(ValidationResult.EMAIL_WITHOUT_AT, ExceptionHandlingExamples.checkEmail("invalid-email"));
+        assertSame(ValidationResult.VALID, ExceptionHandlingExamples.checkEmail(new StringBuilder("a@b.org")));
+        assertFalse(ValidationResult.AGE_UNDER_18.isValid());
+        assertEquals("Invalid email format", ValidationResult.EMAIL_WITHOUT_AT.getMessage());
+    }
+    
+    @Test
+    public void testStacklessExceptionsKeepTheirData() {
+        ExceptionHandlingExamples.InvalidEmailException e =
+            new ExceptionHandlingExamples.StacklessInvalidEmailException("Invalid email format", "nobody");
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals("nobody", e.getInvalidEmail());
+        assertTrue(new ExceptionHandlingExamples.InvalidAgeException("too young").getStackTrace().length > 0);
+        assertEquals(0, new ExceptionHandlingExamples.StacklessInvalidAgeException("too young").getStackTrace().length);
+    }
+}
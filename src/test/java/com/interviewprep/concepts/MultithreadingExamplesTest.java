@@ -0,0 +1,88 @@
+package com.interviewprep.concepts;
+
+import com.interviewprep.concurrent.TimeSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the sleep-paced thread demos on virtual time
+ */
+public class MultithreadingExamplesTest {
+    
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private PrintStream console;
+    
+    @BeforeEach
+    public void captureOutput() {
+        console = System.out;
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+    
+    @AfterEach
+    public void restoreOutput() {
+        System.setOut(console);
+    }
+    
+    @Test
+    public void testThreadDemosInterleaveAsInRealTime() {
+        TimeSource time = TimeSource.virtual();
+        MultithreadingExamples examples = new MultithreadingExamples(false, time);
+        
+        // Every pause goes through the clock: exactly the demo's pauses pass on it, in far
+        // less real time than they would take
+        assertRunsOnTheClock(time, examples::demonstrateThreadExtends, 2_500, true);
+        assertRunsOnTheClock(time, examples::demonstrateThreadRunnable, 1_800, true);
+        // Followed by real-time throughput benchmarks, so only the clock is checked
+        assertRunsOnTheClock(time, examples::demonstrateThreadCommunication, 5_000, false);
+        String text = output.toString(StandardCharsets.UTF_8);
+        
+        // Lines due at different times appear in time order however loaded the machine
+        assertInOrder(text, "Thread-2 - Count: 2", "Thread-1 - Count: 3", "Thread-2 completed!",
+            "Thread-1 - Count: 5", "Thread-1 completed!");
+        assertInOrder(text, "Runnable-1 - Count: 2", "Runnable-2 - Count: 3", "Runnable-1 - Count: 4",
+            "Runnable-1 completed!", "Runnable-2 - Count: 6", "Runnable-2 completed!");
+        assertInOrder(text, "Received: Message 1", "Received: Message 2", "Received: Message 3",
+            "Received: Message 4", "Received: Message 5", "Producer-Consumer completed!");
+    }
+    
+    private static void assertRunsOnTheClock(TimeSource time, Runnable demo, long pauseMillis, boolean checkRealTime) {
+        long realStart = System.nanoTime();
+        long start = time.nanoTime();
+        demo.run();
+        long realMillis = (System.nanoTime() - realStart) / 1_000_000;
+        
+        assertEquals(pauseMillis, (time.nanoTime() - start) / 1_000_000);
+        if (checkRealTime) {
+            assertTrue(realMillis < pauseMillis / 4, "took " + realMillis + " ms of real time");
+        }
+    }
+    
+    private static void assertInOrder(String text, String... lines) {
+        int previous = -1;
+        for (String line : lines) {
+            int index = text.indexOf(line);
+            assertTrue(index > previous, "\"" + line + "\" out of order in:\n" + text);
+            previous = index;
+        }
+    }
+    
+    @Test
+    public void testTimeScaleProperty() {
+        System.setProperty(MultithreadingExamples.TIME_SCALE_PROPERTY, "250");
+        try {
+            assertEquals(250, MultithreadingExamples.requestedTimeSource().getSpeedUp());
+            System.setProperty(MultithreadingExamples.TIME_SCALE_PROPERTY, "fast");
+            assertSame(TimeSource.system(), MultithreadingExamples.requestedTimeSource());
+        } finally {
+            System.clearProperty(MultithreadingExamples.TIME_SCALE_PROPERTY);
+        }
+        assertSame(TimeSource.system(), MultithreadingExamples.requestedTimeSource());
+    }
+}
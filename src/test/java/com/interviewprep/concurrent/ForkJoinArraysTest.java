@@ -0,0 +1,61 @@
+package com.interviewprep.concurrent;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the fork/join array operations
+ */
+public class ForkJoinArraysTest {
+    
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    
+    @AfterAll
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+    
+    @Test
+    public void testSum() {
+        long[] numbers = new Random(1).longs(100_003, -1000, 1000).toArray();
+        long expected = Arrays.stream(numbers).sum();
+        for (int threshold : new int[] {1, 7, 1000, 1_000_000}) {
+            assertEquals(expected, ForkJoinArrays.sum(POOL, numbers, threshold));
+        }
+        assertEquals(0, ForkJoinArrays.sum(POOL, new long[0], 10));
+        assertThrows(IllegalArgumentException.class, () -> ForkJoinArrays.sum(POOL, numbers, 0));
+    }
+    
+    @Test
+    public void testSort() {
+        int[] numbers = new Random(2).ints(100_003, -50, 50).toArray();
+        int[] expected = numbers.clone();
+        Arrays.sort(expected);
+        for (int threshold : new int[] {1, 13, 4096, 1_000_000}) {
+            int[] sorted = numbers.clone();
+            ForkJoinArrays.sort(POOL, sorted, threshold);
+            assertArrayEquals(expected, sorted);
+        }
+    }
+    
+    @Test
+    public void testPrefixSum() {
+        long[] numbers = new Random(3).longs(100_003, 0, 100).toArray();
+        long[] expected = numbers.clone();
+        Arrays.parallelPrefix(expected, Long::sum);
+        for (int threshold : new int[] {1, 100, 1_000_000}) {
+            long[] scanned = numbers.clone();
+            ForkJoinArrays.prefixSum(POOL, scanned, threshold);
+            assertArrayEquals(expected, scanned);
+        }
+        long[] empty = new long[0];
+        ForkJoinArrays.prefixSum(POOL, empty, 10);
+        assertEquals(0, empty.length);
+    }
+}
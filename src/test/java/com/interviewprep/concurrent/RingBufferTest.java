@@ -0,0 +1,104 @@
+package com.interviewprep.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sequence-based ring buffer
+ */
+public class RingBufferTest {
+    
+    @Test
+    public void testOfferAndDrainInBatches() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4, RingBuffer.ProducerType.SINGLE, WaitStrategy.YIELD);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(4, ring.size());
+        
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, ring.drain(drained::add, 3));
+        assertTrue(ring.offer(4));
+        assertEquals(2, ring.drain(drained::add, 10));
+        assertEquals(0, ring.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(3, RingBuffer.ProducerType.SINGLE, WaitStrategy.PARK));
+        assertThrows(NullPointerException.class, () -> ring.offer(null));
+    }
+    
+    @Test
+    public void testSingleProducerPreservesOrder() throws Exception {
+        for (WaitStrategy strategy : new WaitStrategy[] {WaitStrategy.YIELD, WaitStrategy.PARK}) {
+            RingBuffer<Integer> ring = new RingBuffer<>(64, RingBuffer.ProducerType.SINGLE, strategy);
+            int count = 200_000;
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        ring.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            
+            int[] expected = {0};
+            while (expected[0] < count) {
+                ring.awaitAndDrain(value -> assertEquals(expected[0]++, value.intValue()), 16);
+            }
+            producer.join();
+        }
+    }
+    
+    @Test
+    public void testMultipleProducersDeliverEverythingOnce() throws Exception {
+        RingBuffer<Long> ring = new RingBuffer<>(128, RingBuffer.ProducerType.MULTI, WaitStrategy.PARK);
+        int producers = 4;
+        int perProducer = 50_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p << 32;
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        ring.put(base | i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            threads.add(producer);
+        }
+        
+        // Each producer's messages arrive in the order it sent them
+        int[] next = new int[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            received += ring.awaitAndDrain(value -> {
+                int producer = (int) (value >>> 32);
+                assertEquals(next[producer]++, (int) (long) value);
+            }, 64);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int count : next) {
+            assertEquals(perProducer, count);
+        }
+        assertEquals(0, ring.size());
+    }
+    
+    @Test
+    public void testWaitingIsInterruptible() throws Exception {
+        RingBuffer<String> ring = new RingBuffer<>(1, RingBuffer.ProducerType.SINGLE, WaitStrategy.PARK);
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> ring.awaitAndDrain(message -> { }, 1));
+    }
+}
@@ -0,0 +1,129 @@
+package com.interviewprep.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the structured task scope
+ */
+public class TaskScopeTest {
+    
+    private static final ThreadFactory THREADS = Thread::new;
+    
+    @Test
+    public void testAllSuccessfulCollectsResultsInForkOrder() throws Exception {
+        try (TaskScope<Integer> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_FAILURE, THREADS)) {
+            scope.fork(() -> {
+                Thread.sleep(50);
+                return 1;
+            });
+            scope.fork(() -> 2);
+            assertEquals(List.of(1, 2), scope.join().results());
+        }
+    }
+    
+    @Test
+    public void testFailureCancelsSiblings() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        TaskScope.Subtask<Integer> slow;
+        try (TaskScope<Integer> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_FAILURE, THREADS)) {
+            slow = scope.fork(() -> {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return 1;
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("grader down");
+            });
+            scope.join();
+            ExecutionException failure = assertThrows(ExecutionException.class, scope::results);
+            assertEquals("grader down", failure.getCause().getMessage());
+        }
+        // close() has waited for the cancelled sibling to exit
+        assertEquals(0, interrupted.getCount());
+        assertEquals(TaskScope.Subtask.State.CANCELLED, slow.state());
+    }
+    
+    @Test
+    public void testFirstSuccessWins() throws Exception {
+        long start = System.nanoTime();
+        try (TaskScope<String> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_SUCCESS, THREADS)) {
+            scope.fork(() -> {
+                Thread.sleep(60_000);
+                return "slow";
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("broken");
+            });
+            scope.fork(() -> "fast");
+            assertEquals("fast", scope.join().result());
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    }
+    
+    @Test
+    public void testDeadlineShutsDownScope() throws Exception {
+        try (TaskScope<String> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_SUCCESS, THREADS,
+                100, TimeUnit.MILLISECONDS)) {
+            TaskScope.Subtask<String> slow = scope.fork(() -> {
+                Thread.sleep(60_000);
+                return "slow";
+            });
+            scope.join();
+            assertTrue(scope.isTimedOut());
+            assertThrows(TimeoutException.class, scope::result);
+            
+            // Forking after shutdown does not start anything
+            assertEquals(TaskScope.Subtask.State.CANCELLED, scope.fork(() -> "late").state());
+            scope.close();
+            assertEquals(TaskScope.Subtask.State.CANCELLED, slow.state());
+        }
+    }
+    
+    @Test
+    public void testBoundedCloseLeavesStuckSubtaskBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskScope<String> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_SUCCESS, THREADS);
+        TaskScope.Subtask<String> stuck = scope.fork(() -> {
+            // Ignores the interrupt, like a thread blocked in socket I/O
+            while (true) {
+                try {
+                    release.await();
+                    return "stuck";
+                } catch (InterruptedException e) {
+                    // ignored
+                }
+            }
+        });
+        scope.fork(() -> "fast");
+        assertEquals("fast", scope.join().result());
+        
+        assertFalse(scope.close(50, TimeUnit.MILLISECONDS));
+        release.countDown();
+        scope.close();
+        assertEquals(TaskScope.Subtask.State.CANCELLED, stuck.state());
+        assertTrue(scope.close(0, TimeUnit.NANOSECONDS));
+    }
+    
+    @Test
+    public void testOnlyOwnerMayFork() throws Exception {
+        try (TaskScope<Integer> scope = new TaskScope<>(TaskScope.Policy.SHUTDOWN_ON_FAILURE, THREADS)) {
+            TaskScope.Subtask<Integer> nested = scope.fork(() -> scope.fork(() -> 1).get());
+            scope.join();
+            assertEquals(TaskScope.Subtask.State.FAILED, nested.state());
+            assertTrue(nested.exception() instanceof IllegalStateException);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.interviewprep.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the real and compressed demo clocks
+ */
+public class TimeSourceTest {
+    
+    @Test
+    public void testSystemTimeIsUnscaled() {
+        TimeSource time = TimeSource.system();
+        assertSame(time, TimeSource.compressed(1));
+        assertEquals(1, time.getSpeedUp());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), time.toRealNanos(2, TimeUnit.SECONDS));
+        assertEquals("real time", time.toString());
+    }
+    
+    @Test
+    public void testCompressedSleepAndClock() throws InterruptedException {
+        TimeSource time = TimeSource.compressed(50);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), time.toRealNanos(1, TimeUnit.SECONDS));
+        
+        long realStart = System.nanoTime();
+        long start = time.nanoTime();
+        long startMillis = time.currentTimeMillis();
+        time.sleep(2, TimeUnit.SECONDS);
+        long realMillis = (System.nanoTime() - realStart) / 1_000_000;
+        long demoMillis = (time.nanoTime() - start) / 1_000_000;
+        
+        assertTrue(realMillis >= 40 && realMillis < 1_000, "slept " + realMillis + " ms");
+        assertTrue(demoMillis >= 2_000, "clock advanced " + demoMillis + " ms");
+        assertTrue(time.currentTimeMillis() - startMillis >= 2_000);
+    }
+    
+    @Test
+    public void testVirtualTimeWaitsForBusyThreads() throws InterruptedException {
+        TimeSource time = TimeSource.virtual();
+        long start = time.nanoTime();
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        Thread slow = time.track(new Thread(() -> {
+            try {
+                time.sleep(1, TimeUnit.SECONDS);
+                // Real work, during which the clock must not move on
+                Thread.sleep(50);
+                events.add("slow at " + TimeUnit.NANOSECONDS.toMillis(time.nanoTime() - start));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        Thread fast = time.track(new Thread(() -> {
+            try {
+                time.sleep(2, TimeUnit.SECONDS);
+                events.add("fast at " + TimeUnit.NANOSECONDS.toMillis(time.nanoTime() - start));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        
+        long realStart = System.nanoTime();
+        fast.start();
+        slow.start();
+        fast.join();
+        slow.join();
+        
+        assertEquals(Arrays.asList("slow at 1000", "fast at 2000"), events);
+        assertTrue(System.nanoTime() - realStart < TimeUnit.SECONDS.toNanos(1));
+        assertEquals("virtual time", time.toString());
+        assertThrows(UnsupportedOperationException.class, () -> time.toRealNanos(1, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testInvalidSpeedUps() {
+        assertThrows(IllegalArgumentException.class, () -> TimeSource.compressed(0.5));
+        assertThrows(IllegalArgumentException.class, () -> TimeSource.compressed(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> TimeSource.compressed(Double.POSITIVE_INFINITY));
+    }
+}
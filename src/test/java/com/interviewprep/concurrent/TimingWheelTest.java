@@ -0,0 +1,76 @@
+package com.interviewprep.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the hierarchical timing wheel
+ */
+public class TimingWheelTest {
+    
+    @Test
+    public void testFiresInDeadlineOrderNeverEarly() throws Exception {
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, Thread::new)) {
+            // 400 ms spans more than one turn of the 256-slot inner wheel, so it cascades
+            int[] delays = {400, 20, 150, 0, 60};
+            List<Integer> fired = Collections.synchronizedList(new ArrayList<>());
+            List<String> early = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(delays.length);
+            for (int delay : delays) {
+                long start = System.nanoTime();
+                wheel.schedule(() -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (elapsed < TimeUnit.MILLISECONDS.toNanos(delay)) {
+                        early.add(delay + " ms timeout fired after " + elapsed + " ns");
+                    }
+                    fired.add(delay);
+                    done.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of(0, 20, 60, 150, 400), fired);
+            assertEquals(List.of(), early);
+            assertEquals(0, wheel.pendingCount());
+        }
+    }
+    
+    @Test
+    public void testCancelledTimeoutsNeverFire() throws Exception {
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, Thread::new)) {
+            CountDownLatch kept = new CountDownLatch(1);
+            List<TimingWheel.Timeout> cancelled = new ArrayList<>();
+            boolean[] wrongFired = {false};
+            for (int i = 0; i < 1000; i++) {
+                cancelled.add(wheel.schedule(() -> wrongFired[0] = true, 200 + i % 300, TimeUnit.MILLISECONDS));
+            }
+            TimingWheel.Timeout keep = wheel.schedule(kept::countDown, 600, TimeUnit.MILLISECONDS);
+            assertEquals(1001, wheel.pendingCount());
+            
+            for (TimingWheel.Timeout timeout : cancelled) {
+                assertTrue(timeout.cancel());
+                assertFalse(timeout.cancel());
+                assertTrue(timeout.isCancelled());
+            }
+            assertEquals(1, wheel.pendingCount());
+            assertTrue(kept.await(10, TimeUnit.SECONDS));
+            assertFalse(wrongFired[0]);
+            assertFalse(keep.cancel());
+            assertTrue(keep.isExpired());
+        }
+    }
+    
+    @Test
+    public void testClosedWheelRejectsTimeouts() {
+        TimingWheel wheel = new TimingWheel(10, TimeUnit.MILLISECONDS, Thread::new);
+        wheel.close();
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> { }, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(0, TimeUnit.MILLISECONDS, Thread::new));
+    }
+}
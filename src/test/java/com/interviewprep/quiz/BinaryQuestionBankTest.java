@@ -0,0 +1,115 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary question bank format
+ */
+public class BinaryQuestionBankTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<QuizQuestion> questions = new ArrayList<>();
+        questions.add(new QuizQuestion("OOP", "Easy", "Wie heißt das? ☕", Arrays.asList("a", "b", "c"), 2, "Weil ✅"));
+        questions.add(new QuizQuestion("Maven", "Hard", "Q2", Arrays.asList("x", "y"), 1, ""));
+        questions.add(new QuizQuestion("OOP", "Hard", "Q3", Arrays.asList("p", "q", "r", "s"), 4, "E3"));
+        Path file = tempDir.resolve("bank.qbank");
+        
+        BinaryQuestionBank.write(questions, file);
+        QuestionBank bank = QuestionBankLoader.load(file);
+        
+        assertEquals(3, bank.size());
+        assertEquals(2, bank.count("OOP", null));
+        assertEquals(1, bank.count("OOP", "Hard"));
+        assertEquals(Arrays.asList("OOP", "Maven"), new ArrayList<>(bank.getCategories()));
+        for (int i = 0; i < questions.size(); i++) {
+            QuizQuestion expected = questions.get(i);
+            QuizQuestion actual = bank.get(i);
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.getDifficulty(), actual.getDifficulty());
+            assertEquals(expected.getQuestion(), actual.getQuestion());
+            assertEquals(expected.getOptions(), actual.getOptions());
+            assertEquals(expected.getCorrectAnswer(), actual.getCorrectAnswer());
+            assertEquals(expected.getExplanation(), actual.getExplanation());
+        }
+    }
+    
+    @Test
+    public void testBundledBankConverts() throws IOException {
+        QuestionBank json = QuestionBankLoader.defaultBank();
+        Path file = tempDir.resolve("bundled.qbank");
+        
+        BinaryQuestionBank.write(json.getQuestions(), file);
+        QuestionBank binary = BinaryQuestionBank.open(file);
+        
+        assertEquals(json.size(), binary.size());
+        assertEquals(json.getCategories(), binary.getCategories());
+        assertEquals(json.get(json.size() - 1).getExplanation(), binary.get(binary.size() - 1).getExplanation());
+        // Converting the bank keeps the results journaled against it
+        assertEquals(json.getFingerprint(), binary.getFingerprint());
+    }
+    
+    @Test
+    public void testRejectsTruncatedFile() throws IOException {
+        Path file = tempDir.resolve("bad.qbank");
+        BinaryQuestionBank.write(QuestionBankLoader.defaultBank().getQuestions(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+        
+        assertThrows(IOException.class, () -> BinaryQuestionBank.open(file));
+    }
+    
+    @Test
+    public void testRoundTripsAnswersAbove127() throws IOException {
+        List<String> options = new ArrayList<>();
+        for (int i = 0; i < 255; i++) {
+            options.add("option " + i);
+        }
+        List<QuizQuestion> questions = Arrays.asList(
+            new QuizQuestion("OOP", "Easy", "Q200", options, 200, ""),
+            new QuizQuestion("OOP", "Easy", "Q255", options, 255, ""));
+        Path file = tempDir.resolve("wide.qbank");
+        
+        BinaryQuestionBank.write(questions, file);
+        QuestionBank bank = BinaryQuestionBank.open(file);
+        
+        assertEquals(200, bank.get(0).getCorrectAnswer());
+        assertEquals(200, bank.getCorrectAnswer(0));
+        assertEquals(255, bank.get(1).getCorrectAnswer());
+        assertEquals(255, bank.getCorrectAnswer(1));
+        assertEquals(255, bank.get(1).getOptions().size());
+    }
+    
+    @Test
+    public void testRejectsValuesThatDoNotFitInAByte() {
+        Path file = tempDir.resolve("invalid.qbank");
+        List<String> manyOptions = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            manyOptions.add("option " + i);
+        }
+        List<QuizQuestion> tooManyOptions = Arrays.asList(
+            new QuizQuestion("OOP", "Easy", "Q1", manyOptions, 256, ""));
+        List<QuizQuestion> answerOutOfRange = Arrays.asList(
+            new QuizQuestion("OOP", "Easy", "Q2", Arrays.asList("a", "b"), 3, ""));
+        
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> BinaryQuestionBank.write(tooManyOptions, file));
+        assertTrue(e.getMessage().contains("Q1"));
+        e = assertThrows(IllegalArgumentException.class, () -> BinaryQuestionBank.write(answerOutOfRange, file));
+        assertTrue(e.getMessage().contains("Q2"));
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,96 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for scoring across redundant graders
+ */
+public class ParallelGraderTest {
+    
+    private final QuestionBank bank = QuestionBankLoader.defaultBank();
+    
+    private QuizResult result() {
+        int[] ids = {0, 1, 2};
+        int[] answers = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            answers[i] = bank.getCorrectAnswer(ids[i]);
+        }
+        answers[2] = answers[2] == 1 ? 2 : 1;
+        return new QuizResult("s1", "alice", null, 0, ids, answers, 2);
+    }
+    
+    @Test
+    public void testFastestGraderWins() throws Exception {
+        ParallelGrader.Grader stalled = result -> {
+            Thread.sleep(60_000);
+            return -1;
+        };
+        ParallelGrader grader = new ParallelGrader(List.of(stalled, ParallelGrader.answerKey(bank)), 10, TimeUnit.SECONDS);
+        long start = System.nanoTime();
+        assertEquals(2, grader.score(result()));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+    
+    @Test
+    public void testFailuresAndDeadline() {
+        ParallelGrader.Grader broken = result -> {
+            throw new IllegalStateException("grader down");
+        };
+        ParallelGrader failing = new ParallelGrader(List.of(broken, broken), 10, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> failing.score(result()));
+        assertEquals("grader down", failure.getCause().getMessage());
+        
+        ParallelGrader.Grader stalled = result -> {
+            Thread.sleep(60_000);
+            return -1;
+        };
+        ParallelGrader slow = new ParallelGrader(List.of(stalled), 100, TimeUnit.MILLISECONDS);
+        assertThrows(TimeoutException.class, () -> slow.score(result()));
+    }
+    
+    @Test
+    public void testDoesNotWaitForGradersIgnoringInterrupts() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch exited = new CountDownLatch(2);
+        // Like a replica blocked in socket I/O, which an interrupt does not wake
+        ParallelGrader.Grader stuck = result -> {
+            try {
+                while (true) {
+                    try {
+                        release.await();
+                        return -1;
+                    } catch (InterruptedException e) {
+                        // ignored
+                    }
+                }
+            } finally {
+                exited.countDown();
+            }
+        };
+        
+        try {
+            ParallelGrader withFastGrader = new ParallelGrader(List.of(stuck, ParallelGrader.answerKey(bank)),
+                10, TimeUnit.SECONDS);
+            long start = System.nanoTime();
+            assertEquals(2, withFastGrader.score(result()));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            
+            ParallelGrader stuckOnly = new ParallelGrader(List.of(stuck), 100, TimeUnit.MILLISECONDS);
+            start = System.nanoTime();
+            assertThrows(TimeoutException.class, () -> stuckOnly.score(result()));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            assertEquals(2, exited.getCount(), "score() returned before the stuck graders exited");
+        } finally {
+            release.countDown();
+        }
+        assertTrue(exited.await(5, TimeUnit.SECONDS));
+    }
+}
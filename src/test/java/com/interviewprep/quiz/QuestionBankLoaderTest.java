@@ -0,0 +1,69 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for loading question banks from JSON files
+ */
+public class QuestionBankLoaderTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    public void testBundledQuestionsLoad() {
+        QuestionBank bank = QuestionBankLoader.defaultBank();
+        
+        assertTrue(bank.size() > 0);
+        assertTrue(bank.getCategories().contains("Maven"));
+        assertSame(bank, QuestionBankLoader.defaultBank());
+    }
+    
+    @Test
+    public void testLoadFromMappedFile() throws IOException {
+        Path file = write("{\"version\": 1, \"questions\": ["
+            + "{\"category\": \"OOP\", \"difficulty\": \"Easy\", \"question\": \"Q1\","
+            + " \"options\": [\"a\", \"b\", \"c\"], \"correctAnswer\": 3, \"explanation\": \"E1\", \"extra\": {\"x\": 1}},"
+            + "{\"category\": \"OOP\", \"difficulty\": \"Hard\", \"question\": \"Q2\","
+            + " \"options\": [\"d\", \"e\"], \"correctAnswer\": 1, \"explanation\": \"E2\"}"
+            + "]}");
+        
+        QuestionBank bank = QuestionBankLoader.load(file);
+        
+        assertEquals(2, bank.size());
+        QuizQuestion first = bank.get(0);
+        assertEquals("Q1", first.getQuestion());
+        assertEquals(Arrays.asList("a", "b", "c"), first.getOptions());
+        assertEquals(3, first.getCorrectAnswer());
+        assertEquals("E1", first.getExplanation());
+        assertSame(first.getCategory(), bank.get(1).getCategory());
+        assertEquals(1, bank.count("OOP", "Hard"));
+    }
+    
+    @Test
+    public void testRejectsInvalidBanks() throws IOException {
+        Path wrongVersion = write("{\"version\": 2, \"questions\": []}");
+        Path badAnswer = write("{\"version\": 1, \"questions\": [{\"category\": \"OOP\", \"difficulty\": \"Easy\","
+            + " \"question\": \"Q\", \"options\": [\"a\"], \"correctAnswer\": 2, \"explanation\": \"E\"}]}");
+        Path missingField = write("{\"version\": 1, \"questions\": [{\"category\": \"OOP\"}]}");
+        
+        assertThrows(IOException.class, () -> QuestionBankLoader.load(wrongVersion));
+        assertThrows(IOException.class, () -> QuestionBankLoader.load(badAnswer));
+        assertThrows(IOException.class, () -> QuestionBankLoader.load(missingField));
+    }
+    
+    private Path write(String json) throws IOException {
+        Path file = Files.createTempFile(tempDir, "bank", ".json");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
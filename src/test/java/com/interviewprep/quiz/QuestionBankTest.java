@@ -0,0 +1,87 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the indexed question bank
+ */
+public class QuestionBankTest {
+    
+    private static QuestionBank bankOf(String... categoryAndDifficulty) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (int i = 0; i < categoryAndDifficulty.length; i += 2) {
+            questions.add(new QuizQuestion(categoryAndDifficulty[i], categoryAndDifficulty[i + 1],
+                "Q" + i, Arrays.asList("a", "b"), 1, "E" + i));
+        }
+        return new QuestionBank(questions);
+    }
+    
+    @Test
+    public void testBucketsByCategoryAndDifficulty() {
+        QuestionBank bank = bankOf("OOP", "Easy", "OOP", "Hard", "Maven", "Easy", "OOP", "Easy");
+        
+        assertEquals(4, bank.count(null, null));
+        assertEquals(3, bank.count("OOP", null));
+        assertEquals(3, bank.count(null, "Easy"));
+        assertEquals(2, bank.count("OOP", "Easy"));
+        assertEquals(0, bank.count("Maven", "Hard"));
+        assertEquals(0, bank.count("Unknown", null));
+        assertEquals(Arrays.asList("OOP", "Maven"), new ArrayList<>(bank.getCategories()));
+    }
+    
+    @Test
+    public void testFingerprintTracksWhatResultsReferTo() {
+        QuestionBank bank = bankOf("OOP", "Easy", "Maven", "Hard");
+        List<QuizQuestion> questions = new ArrayList<>(bank.getQuestions());
+        QuizQuestion first = questions.get(0);
+        
+        assertEquals(bank.getFingerprint(), bankOf("OOP", "Easy", "Maven", "Hard").getFingerprint());
+        questions.set(0, new QuizQuestion(first.getCategory(), first.getDifficulty(), first.getQuestion(),
+            first.getOptions(), first.getCorrectAnswer(), "Reworded explanation"));
+        assertEquals(bank.getFingerprint(), new QuestionBank(questions).getFingerprint());
+        
+        questions.set(0, new QuizQuestion(first.getCategory(), first.getDifficulty(), first.getQuestion(),
+            first.getOptions(), 2, first.getExplanation()));
+        assertNotEquals(bank.getFingerprint(), new QuestionBank(questions).getFingerprint());
+        assertNotEquals(bank.getFingerprint(), bankOf("Maven", "Hard", "OOP", "Easy").getFingerprint());
+    }
+    
+    @Test
+    public void testSampleReturnsDistinctQuestionsFromBucket() {
+        String[] spec = new String[2000];
+        for (int i = 0; i < spec.length; i += 2) {
+            spec[i] = i % 4 == 0 ? "OOP" : "Maven";
+            spec[i + 1] = "Easy";
+        }
+        QuestionBank bank = bankOf(spec);
+        Random random = new Random(7);
+        
+        for (int k : new int[] {0, 1, 10, 500, 600}) {
+            int[] ids = bank.sampleIds("OOP", "Easy", k, random);
+            assertEquals(Math.min(k, 500), ids.length);
+            Set<Integer> distinct = new HashSet<>();
+            for (int id : ids) {
+                assertEquals("OOP", bank.get(id).getCategory());
+                assertTrue(distinct.add(id), "duplicate id " + id);
+            }
+        }
+    }
+    
+    @Test
+    public void testSampleIsUniform() {
+        QuestionBank bank = bankOf("A", "Easy", "A", "Easy", "A", "Easy", "A", "Easy");
+        Random random = new Random(11);
+        int[] firstPick = new int[4];
+        
+        for (int i = 0; i < 40000; i++) {
+            firstPick[bank.sampleIds(null, null, 2, random)[0]]++;
+        }
+        for (int count : firstPick) {
+            assertEquals(10000, count, 500);
+        }
+    }
+}
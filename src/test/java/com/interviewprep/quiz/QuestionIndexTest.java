@@ -0,0 +1,72 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for full-text search over the question bank
+ */
+public class QuestionIndexTest {
+    
+    private static QuestionBank bank() {
+        List<QuizQuestion> questions = new ArrayList<>();
+        questions.add(new QuizQuestion("Collections", "Medium", "How does ConcurrentHashMap achieve thread safety?",
+            Arrays.asList("Locks", "Nothing"), 1, "It uses CAS and fine-grained locking."));
+        questions.add(new QuizQuestion("Collections", "Easy", "Which map keeps keys sorted?",
+            Arrays.asList("HashMap", "TreeMap"), 2, "TreeMap is a red-black tree."));
+        questions.add(new QuizQuestion("Maven", "Easy", "What does mvn clean do?",
+            Arrays.asList("Deletes target", "Compiles"), 1, "It removes the build output."));
+        return new QuestionBank(questions);
+    }
+    
+    private static int[] ids(List<QuestionIndex.SearchHit> hits) {
+        return hits.stream().mapToInt(QuestionIndex.SearchHit::getQuestionId).toArray();
+    }
+    
+    @Test
+    public void testFindsWholeWordsAndCamelCaseParts() {
+        QuestionIndex index = bank().getSearchIndex();
+        
+        assertArrayEquals(new int[] {0}, ids(index.search("ConcurrentHashMap", 10)));
+        assertArrayEquals(new int[] {2}, ids(index.search("MVN", 10)));
+        assertArrayEquals(new int[] {1}, ids(index.search("tree", 10)));
+        // "map" is in question 1's text and a part of HashMap/TreeMap there, only a part in 0
+        assertArrayEquals(new int[] {1, 0}, ids(index.search("map", 10)));
+        assertArrayEquals(new int[] {1}, ids(index.search("map", 1)));
+        assertArrayEquals(new int[] {1, 0}, ids(index.search("map", Integer.MAX_VALUE)));
+        
+        assertTrue(index.search("the", 10).isEmpty());
+        assertTrue(index.search("volatile", 10).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search("map", 0).isEmpty());
+    }
+    
+    @Test
+    public void testRanksQuestionsMatchingMoreTerms() {
+        QuestionIndex index = bank().getSearchIndex();
+        List<QuestionIndex.SearchHit> hits = index.search("thread safety map", 10);
+        
+        assertEquals(0, hits.get(0).getQuestionId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+    
+    @Test
+    public void testLargeBank() {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            questions.add(new QuizQuestion("Generated", "Easy", "Question number " + i + " about topic" + (i % 1000),
+                Arrays.asList("yes", "no"), 1, i % 50_000 == 0 ? "Rare explanation keyword" : "Common explanation"));
+        }
+        QuestionIndex index = new QuestionBank(questions).getSearchIndex();
+        
+        assertArrayEquals(new int[] {0, 50_000, 100_000, 150_000}, ids(index.search("keyword", 10)));
+        assertEquals(10, index.search("topic7", 10).size());
+        // About ten postings per question, each under three bytes
+        assertTrue(index.getPostingBytes() < 200_000 * 10 * 3);
+    }
+}
@@ -0,0 +1,109 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the incrementally maintained quiz analytics
+ */
+public class QuizAnalyticsTest {
+    
+    // Question i is in OOP when even, Maven when odd; its correct answer is 1
+    private static QuestionBank bank(int size) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            questions.add(new QuizQuestion(i % 2 == 0 ? "OOP" : "Maven", i < 2 ? "Easy" : "Hard", "Q" + i,
+                Arrays.asList("a", "b", "c"), 1, "E" + i));
+        }
+        return new QuestionBank(questions);
+    }
+    
+    private static QuizResult result(int[] questionIds, int[] answers) {
+        int score = 0;
+        for (int answer : answers) {
+            score += answer == 1 ? 1 : 0;
+        }
+        return new QuizResult("s", "c", null, 0, questionIds, answers, score);
+    }
+    
+    @Test
+    public void testAccuracyAndMostMissed() {
+        QuizAnalytics analytics = new QuizAnalytics(bank(4));
+        analytics.record(result(new int[] {0, 1, 2}, new int[] {1, 2, 2}));
+        analytics.record(result(new int[] {2, 3}, new int[] {3, 1}));
+        
+        Map<String, QuizAnalytics.Accuracy> categories = analytics.getAccuracyByCategory();
+        assertEquals(3, categories.get("OOP").getAttempts());
+        assertEquals(1, categories.get("OOP").getCorrect());
+        assertEquals(50.0, categories.get("Maven").getPercentage(), 1e-9);
+        assertEquals(3, analytics.getAccuracyByDifficulty().get("Hard").getAttempts());
+        
+        List<QuizAnalytics.MissedQuestion> mostMissed = analytics.getMostMissed(2);
+        assertEquals(2, mostMissed.size());
+        assertEquals(2, mostMissed.get(0).getQuestionId());
+        assertEquals(2, mostMissed.get(0).getMisses());
+        assertEquals(1, mostMissed.get(1).getQuestionId());
+        assertTrue(analytics.getMostMissed(0).isEmpty());
+        // A limit far above the bank size must not size the heap by it
+        assertTrue(analytics.getMostMissed(Integer.MAX_VALUE).size() >= 2);
+    }
+    
+    @Test
+    public void testPercentile() {
+        QuizAnalytics analytics = new QuizAnalytics(bank(4));
+        assertEquals(0, analytics.percentileOf(50), 1e-9);
+        
+        // Scores 0%, 50%, 50%, 100%
+        analytics.record(result(new int[] {0, 1}, new int[] {2, 2}));
+        analytics.record(result(new int[] {0, 1}, new int[] {1, 2}));
+        analytics.record(result(new int[] {2, 3}, new int[] {2, 1}));
+        analytics.record(result(new int[] {0, 1}, new int[] {1, 1}));
+        
+        assertEquals(4, analytics.getResultCount());
+        assertEquals(12.5, analytics.percentileOf(0), 1e-9);
+        assertEquals(50.0, analytics.percentileOf(50), 1e-9);
+        assertEquals(87.5, analytics.percentileOf(100), 1e-9);
+        long[] distribution = analytics.getScoreDistribution();
+        assertEquals(101, distribution.length);
+        assertEquals(2, distribution[50]);
+    }
+    
+    @Test
+    public void testIgnoresUnknownQuestionIds() {
+        QuizAnalytics analytics = new QuizAnalytics(bank(2));
+        analytics.record(result(new int[] {0, 7}, new int[] {1, 1}));
+        analytics.record(result(new int[0], new int[0]));
+        
+        assertEquals(1, analytics.getResultCount());
+        assertEquals(1, analytics.getAccuracyByCategory().get("OOP").getAttempts());
+    }
+    
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        QuizAnalytics analytics = new QuizAnalytics(bank(4));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    analytics.record(result(new int[] {0, 1, 2, 3}, new int[] {1, 2, 1, 2}));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(4000, analytics.getResultCount());
+        assertEquals(8000, analytics.getAccuracyByCategory().get("OOP").getCorrect());
+        assertEquals(4000, analytics.getMostMissed(1).get(0).getMisses());
+        assertEquals(4000, analytics.getScoreDistribution()[50]);
+    }
+}
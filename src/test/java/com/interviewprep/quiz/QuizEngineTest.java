@@ -0,0 +1,89 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the session-oriented quiz engine
+ */
+public class QuizEngineTest {
+    
+    private static QuestionBank bank(int size) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            questions.add(new QuizQuestion(i % 2 == 0 ? "OOP" : "Maven", "Easy", "Q" + i,
+                Arrays.asList("a", "b", "c"), 1 + i % 3, "E" + i));
+        }
+        return new QuestionBank(questions);
+    }
+    
+    @Test
+    public void testSessionLifecycle() {
+        QuizEngine engine = new QuizEngine(bank(10));
+        String sessionId = engine.startSession("OOP", 3);
+        
+        QuizQuestion first = engine.nextQuestion(sessionId);
+        assertSame(first, engine.nextQuestion(sessionId));
+        AnswerResult correct = engine.submitAnswer(sessionId, first.getCorrectAnswer());
+        assertTrue(correct.isCorrect());
+        assertFalse(correct.isFinished());
+        
+        QuizQuestion second = engine.nextQuestion(sessionId);
+        assertNotSame(first, second);
+        assertEquals("OOP", second.getCategory());
+        AnswerResult wrong = engine.submitAnswer(sessionId, second.getCorrectAnswer() % 3 + 1);
+        assertFalse(wrong.isCorrect());
+        assertEquals(second.getExplanation(), wrong.getExplanation());
+        
+        assertTrue(engine.submitAnswer(sessionId, 1).isFinished());
+        assertNull(engine.nextQuestion(sessionId));
+        assertThrows(IllegalStateException.class, () -> engine.submitAnswer(sessionId, 1));
+        
+        QuizResult result = engine.endSession(sessionId);
+        assertEquals(3, result.getTotalQuestions());
+        assertTrue(result.getScore() >= 1 && result.getScore() <= 2);
+        assertEquals(0, engine.getActiveSessionCount());
+        assertThrows(IllegalArgumentException.class, () -> engine.nextQuestion(sessionId));
+    }
+    
+    @Test
+    public void testRejectsInvalidInput() {
+        QuizEngine engine = new QuizEngine(bank(4));
+        
+        assertThrows(IllegalArgumentException.class, () -> engine.startSession(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> engine.startSession("Unknown", 1));
+        String sessionId = engine.startSession(null, 10);
+        assertThrows(IllegalArgumentException.class, () -> engine.submitAnswer(sessionId, 4));
+        assertEquals(0, engine.endSession(sessionId).getTotalQuestions());
+    }
+    
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        QuizEngine engine = new QuizEngine(bank(1000));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<QuizResult>> futures = new ArrayList<>();
+        
+        for (int s = 0; s < 2000; s++) {
+            futures.add(pool.submit(() -> {
+                String sessionId = engine.startSession(null, 20);
+                QuizQuestion question;
+                while ((question = engine.nextQuestion(sessionId)) != null) {
+                    engine.submitAnswer(sessionId, question.getCorrectAnswer());
+                }
+                return engine.endSession(sessionId);
+            }));
+        }
+        for (Future<QuizResult> future : futures) {
+            QuizResult result = future.get(30, TimeUnit.SECONDS);
+            assertEquals(20, result.getScore());
+        }
+        pool.shutdown();
+        assertEquals(0, engine.getActiveSessionCount());
+    }
+}
@@ -0,0 +1,374 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the append-only quiz result journal
+ */
+public class QuizResultJournalTest {
+    
+    private static final QuestionBank BANK = new QuestionBank(Arrays.asList(
+        new QuizQuestion("OOP", "Easy", "Q1", Arrays.asList("a", "b"), 1, ""),
+        new QuizQuestion("OOP", "Hard", "Q2", Arrays.asList("a", "b", "c", "d"), 4, "")));
+    
+    @TempDir
+    Path tempDir;
+    
+    private static QuizResult result(int n) {
+        return new QuizResult("session-" + n, "candidate-" + n, n % 2 == 0 ? null : "OOP", 1_000L + n,
+            new int[] {n, n + 1}, new int[] {1, 4}, n % 3);
+    }
+    
+    @Test
+    public void testAppendAndRecover() throws Exception {
+        Path file = tempDir.resolve("results.journal");
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> fail("new journal has no records"))) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(result(i));
+            }
+            journal.append(result(10)).get(5, TimeUnit.SECONDS);
+        }
+        
+        List<QuizResult> recovered = new ArrayList<>();
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, recovered::add)) {
+            assertEquals(11, journal.getRecoveredRecords());
+            assertEquals(0, journal.getTruncatedBytes());
+        }
+        assertEquals(11, recovered.size());
+        QuizResult third = recovered.get(3);
+        assertEquals("session-3", third.getSessionId());
+        assertEquals("candidate-3", third.getCandidate());
+        assertEquals("OOP", third.getCategory());
+        assertNull(recovered.get(4).getCategory());
+        assertEquals(1_003L, third.getCompletedAt());
+        assertEquals(2, third.getTotalQuestions());
+        assertEquals(4, third.getQuestionId(1));
+        assertEquals(4, third.getAnswer(1));
+        assertEquals(0, third.getScore());
+    }
+    
+    @Test
+    public void testTruncatesTornTail() throws Exception {
+        Path file = tempDir.resolve("torn.journal");
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            journal.append(result(1));
+            journal.append(result(2));
+        }
+        long intactSize = Files.size(file);
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            journal.append(result(3));
+        }
+        // Simulate a crash in the middle of writing the last record
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+        
+        List<QuizResult> recovered = new ArrayList<>();
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, recovered::add)) {
+            assertEquals(2, journal.getRecoveredRecords());
+            assertTrue(journal.getTruncatedBytes() > 0);
+            assertEquals(intactSize, Files.size(file));
+            journal.append(result(4));
+        }
+        
+        recovered.clear();
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, recovered::add)) {
+            assertEquals(3, journal.getRecoveredRecords());
+        }
+        assertEquals("session-4", recovered.get(2).getSessionId());
+    }
+    
+    @Test
+    public void testConcurrentAppends() throws Exception {
+        Path file = tempDir.resolve("concurrent.journal");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<CompletableFuture<Void>>> appends = new ArrayList<>();
+        
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { }, 4096, 5)) {
+            for (int i = 0; i < 5000; i++) {
+                int n = i;
+                appends.add(pool.submit(() -> journal.append(result(n))));
+            }
+            for (Future<CompletableFuture<Void>> append : appends) {
+                append.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+            }
+        }
+        pool.shutdown();
+        
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            assertEquals(5000, journal.getRecoveredRecords());
+        }
+    }
+    
+    @Test
+    public void testFailsClosedAfterAWriteError() throws Exception {
+        Path file = tempDir.resolve("failing.journal");
+        AtomicBoolean failWrites = new AtomicBoolean();
+        QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { }, 4096, 5,
+            channel -> new FailingChannel(channel, failWrites));
+        journal.append(result(1)).get(5, TimeUnit.SECONDS);
+        long durableSize = Files.size(file);
+        
+        failWrites.set(true);
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> journal.append(result(2)).get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        // The torn bytes are gone, and later results are not written after them
+        assertEquals(durableSize, Files.size(file));
+        failWrites.set(false);
+        assertThrows(ExecutionException.class, () -> journal.append(result(3)).get(5, TimeUnit.SECONDS));
+        assertThrows(IOException.class, journal::close);
+        
+        List<QuizResult> recovered = new ArrayList<>();
+        try (QuizResultJournal reopened = QuizResultJournal.open(file, BANK, recovered::add)) {
+            assertEquals(1, reopened.getRecoveredRecords());
+            assertEquals(0, reopened.getTruncatedBytes());
+            reopened.append(result(4)).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals("session-1", recovered.get(0).getSessionId());
+    }
+    
+    @Test
+    public void testRejectsOversizedRecord() throws Exception {
+        Path file = tempDir.resolve("oversized.journal");
+        char[] name = new char[17 * 1024 * 1024];
+        Arrays.fill(name, 'x');
+        QuizResult huge = new QuizResult("session-huge", new String(name), "OOP", 1_000L,
+            new int[] {1}, new int[] {1}, 1);
+        
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            journal.append(result(1));
+            ExecutionException e = assertThrows(ExecutionException.class,
+                () -> journal.append(huge).get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+            journal.append(result(2)).get(5, TimeUnit.SECONDS);
+        }
+        
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            assertEquals(2, journal.getRecoveredRecords());
+        }
+    }
+    
+    @Test
+    public void testRoundTripsAnswersUpTo255() throws Exception {
+        Path file = tempDir.resolve("answers.journal");
+        QuizResult wide = new QuizResult("session-wide", "candidate", "OOP", 1_000L,
+            new int[] {0, 1, 2}, new int[] {127, 200, 255}, 0);
+        QuizResult tooWide = new QuizResult("session-too-wide", "candidate", "OOP", 1_000L,
+            new int[] {0}, new int[] {256}, 0);
+        
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            journal.append(wide).get(5, TimeUnit.SECONDS);
+            ExecutionException e = assertThrows(ExecutionException.class,
+                () -> journal.append(tooWide).get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        
+        List<QuizResult> recovered = new ArrayList<>();
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, recovered::add)) {
+            assertEquals(1, journal.getRecoveredRecords());
+        }
+        assertEquals(127, recovered.get(0).getAnswer(0));
+        assertEquals(200, recovered.get(0).getAnswer(1));
+        assertEquals(255, recovered.get(0).getAnswer(2));
+    }
+    
+    @Test
+    public void testQuarantinesJournalOfAnotherBank() throws Exception {
+        Path file = tempDir.resolve("edited.journal");
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            journal.append(result(1));
+            journal.append(result(2)).get(5, TimeUnit.SECONDS);
+        }
+        byte[] oldJournal = Files.readAllBytes(file);
+        // Same size, but the second question now has a different correct answer
+        QuestionBank edited = new QuestionBank(Arrays.asList(BANK.get(0),
+            new QuizQuestion("OOP", "Hard", "Q2", Arrays.asList("a", "b", "c", "d"), 3, "")));
+        
+        try (QuizResultJournal journal = QuizResultJournal.open(file, edited, r -> fail("replayed another bank"))) {
+            assertEquals(0, journal.getRecoveredRecords());
+            assertEquals(file.resolveSibling("edited.journal.stale"), journal.getQuarantinedFile());
+            journal.append(result(3)).get(5, TimeUnit.SECONDS);
+        }
+        assertArrayEquals(oldJournal, Files.readAllBytes(file.resolveSibling("edited.journal.stale")));
+        
+        List<QuizResult> recovered = new ArrayList<>();
+        try (QuizResultJournal journal = QuizResultJournal.open(file, edited, recovered::add)) {
+            assertNull(journal.getQuarantinedFile());
+        }
+        assertEquals(1, recovered.size());
+        assertEquals("session-3", recovered.get(0).getSessionId());
+        
+        // Switching back quarantines again, without overwriting the first copy
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> fail("replayed another bank"))) {
+            assertEquals(file.resolveSibling("edited.journal.stale-2"), journal.getQuarantinedFile());
+        }
+        assertArrayEquals(oldJournal, Files.readAllBytes(file.resolveSibling("edited.journal.stale")));
+    }
+    
+    @Test
+    public void testQuarantinesVersion1Journal() throws Exception {
+        Path file = tempDir.resolve("v1.journal");
+        Files.write(file, new byte[] {'Q', 'R', 'J', '1', 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0});
+        
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> fail("replayed a version 1 journal"))) {
+            assertEquals(file.resolveSibling("v1.journal.stale"), journal.getQuarantinedFile());
+            journal.append(result(1)).get(5, TimeUnit.SECONDS);
+        }
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            assertEquals(1, journal.getRecoveredRecords());
+        }
+    }
+    
+    @Test
+    public void testRefusesASecondWriter() throws Exception {
+        Path file = tempDir.resolve("shared.journal");
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            journal.append(result(1)).get(5, TimeUnit.SECONDS);
+            long size = Files.size(file);
+            
+            IOException e = assertThrows(IOException.class, () -> QuizResultJournal.open(file, BANK, r -> { }));
+            assertTrue(e.getMessage().contains("in use"));
+            // The refused open must not have run recovery on the live file
+            assertEquals(size, Files.size(file));
+            journal.append(result(2)).get(5, TimeUnit.SECONDS);
+        }
+        
+        try (QuizResultJournal journal = QuizResultJournal.open(file, BANK, r -> { })) {
+            assertEquals(2, journal.getRecoveredRecords());
+        }
+    }
+    
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("other.txt");
+        Files.write(file, "definitely not a journal".getBytes());
+        
+        assertThrows(IOException.class, () -> QuizResultJournal.open(file, BANK, r -> { }));
+    }
+    
+    /**
+     * Channel that, while the flag is set, writes half of each buffer and then fails
+     */
+    private static class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private final AtomicBoolean failWrites;
+        
+        FailingChannel(FileChannel delegate, AtomicBoolean failWrites) {
+            this.delegate = delegate;
+            this.failWrites = failWrites;
+        }
+        
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failWrites.get()) {
+                ByteBuffer half = src.duplicate();
+                half.limit(src.position() + src.remaining() / 2);
+                delegate.write(half);
+                throw new IOException("Injected write failure");
+            }
+            return delegate.write(src);
+        }
+        
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+        
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+        
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+        
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+        
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+        
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+        
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+        
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+        
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+        
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+        
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+        
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+        
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+        
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+        
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+        
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.interviewprep.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for spaced repetition question selection
+ */
+public class SpacedRepetitionSchedulerTest {
+    
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    
+    // Correct answer is always 1; question i is in OOP when even, Maven when odd
+    private static QuestionBank bank(int size) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            questions.add(new QuizQuestion(i % 2 == 0 ? "OOP" : "Maven", "Easy", "Q" + i,
+                Arrays.asList("a", "b"), 1, "E" + i));
+        }
+        return new QuestionBank(questions);
+    }
+    
+    @Test
+    public void testUnseenQuestionsBeforeReviews() {
+        AtomicLong now = new AtomicLong(0);
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(bank(10), now::get);
+        
+        int[] first = scheduler.nextQuestions("jane", null, 10);
+        assertEquals(10, Arrays.stream(first).distinct().count());
+        // Unanswered questions are handed out again
+        assertEquals(toSet(first), toSet(scheduler.nextQuestions("jane", null, 10)));
+        
+        for (int id : first) {
+            scheduler.review("jane", id, id != 4, now.get());
+        }
+        assertEquals(DAY, scheduler.getDueTime("jane", 2));
+        assertTrue(scheduler.getEase("jane", 4) < SpacedRepetitionScheduler.INITIAL_EASE);
+        
+        // Within the day only the missed question is due, after that everything is
+        now.set(TimeUnit.HOURS.toMillis(1));
+        assertEquals(4, scheduler.nextQuestions("jane", null, 1)[0]);
+        assertEquals(4, scheduler.nextQuestions("jane", "OOP", 3)[0]);
+        assertEquals(-1, scheduler.getDueTime("john", 4));
+    }
+    
+    @Test
+    public void testIntervalsGrow() {
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(bank(2), () -> 0);
+        scheduler.review("jane", 1, true, 0);
+        assertEquals(DAY, scheduler.getDueTime("jane", 1));
+        scheduler.review("jane", 1, true, DAY);
+        assertEquals(7 * DAY, scheduler.getDueTime("jane", 1));
+        scheduler.review("jane", 1, true, 7 * DAY);
+        assertTrue(scheduler.getDueTime("jane", 1) > 7 * DAY + 6 * DAY * 2);
+        scheduler.review("jane", 1, false, 30 * DAY);
+        assertEquals(30 * DAY + TimeUnit.MINUTES.toMillis(10), scheduler.getDueTime("jane", 1));
+    }
+    
+    @Test
+    public void testRecordsResultsAndStaysInCategory() {
+        QuestionBank bank = bank(1000);
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(bank, () -> 0);
+        scheduler.record(new QuizResult("s", "jane", null, 0, new int[] {3, 5, 4000}, new int[] {2, 1, 1}, 1));
+        assertEquals(TimeUnit.MINUTES.toMillis(10), scheduler.getDueTime("jane", 3));
+        assertEquals(DAY, scheduler.getDueTime("jane", 5));
+        
+        // The 498 unseen Maven questions come first, each exactly once, then the earliest due
+        Set<Integer> seen = new HashSet<>();
+        for (int round = 0; round < 50; round++) {
+            for (int id : scheduler.nextQuestions("jane", "Maven", 10)) {
+                assertEquals("Maven", bank.getCategory(id));
+                assertTrue(id != 3 && id != 5 && seen.add(id), "question " + id + " served twice");
+                scheduler.review("jane", id, true, 0);
+            }
+            if (seen.size() == 490) {
+                break;
+            }
+        }
+        int[] last = scheduler.nextQuestions("jane", "Maven", 10);
+        assertEquals(3, last[8]);
+        assertEquals(498, seen.size() + Arrays.stream(last, 0, 8).filter(id -> !seen.contains(id)).count());
+    }
+    
+    @Test
+    public void testEngineUsesSchedulerForNamedCandidates() {
+        QuestionBank bank = bank(4);
+        QuizEngine engine = new QuizEngine(bank, new SpacedRepetitionScheduler(bank));
+        String sessionId = engine.startSession("jane", null, 4);
+        Set<Integer> asked = new HashSet<>();
+        QuizQuestion question;
+        while ((question = engine.nextQuestion(sessionId)) != null) {
+            asked.add(Integer.parseInt(question.getQuestion().substring(1)));
+            engine.submitAnswer(sessionId, question.getQuestion().equals("Q2") ? 2 : 1);
+        }
+        engine.endSession(sessionId);
+        assertEquals(4, asked.size());
+        
+        // The missed question is due again before the others
+        String next = engine.startSession("jane", null, 1);
+        assertEquals("Q2", engine.nextQuestion(next).getQuestion());
+    }
+    
+    private static Set<Integer> toSet(int[] ids) {
+        Set<Integer> set = new HashSet<>();
+        for (int id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+}
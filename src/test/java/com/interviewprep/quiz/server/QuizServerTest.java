@@ -0,0 +1,122 @@
+package com.interviewprep.quiz.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewprep.quiz.QuestionBankLoader;
+import com.interviewprep.quiz.QuizEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end tests of the HTTP front end
+ */
+public class QuizServerTest {
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private QuizServer server;
+    
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new QuizServer(new QuizEngine(QuestionBankLoader.defaultBank()), 0);
+        server.start();
+    }
+    
+    @AfterEach
+    public void stopServer() {
+        server.stop();
+    }
+    
+    @Test
+    public void testFullSession() throws Exception {
+        JsonNode categories = call("GET", "/api/categories", null, 200);
+        assertTrue(categories.size() > 0);
+        
+        String sessionId = call("POST", "/api/sessions", "{\"category\": \"Maven\", \"questionCount\": 2}", 200)
+            .get("sessionId").asText();
+        
+        for (int i = 0; i < 2; i++) {
+            JsonNode question = call("GET", "/api/sessions/" + sessionId + "/question", null, 200);
+            assertFalse(question.get("finished").asBoolean());
+            assertEquals("Maven", question.get("category").asText());
+            assertFalse(question.has("correctAnswer"));
+            
+            JsonNode answer = call("POST", "/api/sessions/" + sessionId + "/answers", "{\"answer\": 1}", 200);
+            assertEquals(i == 1, answer.get("finished").asBoolean());
+        }
+        assertTrue(call("GET", "/api/sessions/" + sessionId + "/question", null, 200).get("finished").asBoolean());
+        
+        JsonNode result = call("DELETE", "/api/sessions/" + sessionId, null, 200);
+        assertEquals(2, result.get("totalQuestions").asInt());
+        call("GET", "/api/sessions/" + sessionId, null, 404);
+        
+        JsonNode metrics = call("GET", "/api/metrics", null, 200);
+        assertEquals(0, metrics.get("activeSessions").asInt());
+        assertTrue(metrics.get("requests").asLong() >= 8);
+        assertTrue(metrics.get("latencyMicros").has("p99"));
+        
+        JsonNode analytics = call("GET", "/api/analytics?top=3", null, 200);
+        assertEquals(1, analytics.get("results").asLong());
+        assertEquals(2, analytics.get("categories").get("Maven").get("attempts").asLong());
+        assertEquals(101, analytics.get("scoreDistribution").size());
+        assertTrue(analytics.get("mostMissed").size() <= 2);
+        call("GET", "/api/analytics?top=x", null, 400);
+        call("GET", "/api/analytics?top=0", null, 400);
+        call("GET", "/api/analytics?top=2000000000", null, 400);
+        call("GET", "/api/analytics?top=2147483647", null, 400);
+    }
+    
+    @Test
+    public void testErrors() throws Exception {
+        call("GET", "/api/nothing", null, 404);
+        call("PUT", "/api/categories", null, 405);
+        call("POST", "/api/sessions", "{not json", 400);
+        call("POST", "/api/sessions", "{\"questionCount\": 0}", 400);
+        call("GET", "/api/search?q=map&limit=0", null, 400);
+        call("GET", "/api/search?q=map&limit=2147483647", null, 400);
+        assertEquals(2, call("GET", "/api/search?q=map&limit=2", null, 200).size());
+        
+        String sessionId = call("POST", "/api/sessions", "{\"questionCount\": 1}", 200).get("sessionId").asText();
+        call("POST", "/api/sessions/" + sessionId + "/answers", "{\"answer\": 99}", 400);
+        call("POST", "/api/sessions/" + sessionId + "/answers", "{\"answer\": 1}", 200);
+        call("POST", "/api/sessions/" + sessionId + "/answers", "{\"answer\": 1}", 409);
+    }
+    
+    @Test
+    public void testRejectsOversizedBodies() throws Exception {
+        String candidate = "x".repeat(QuizApiHandler.MAX_BODY_BYTES);
+        String body = "{\"candidate\": \"" + candidate + "\", \"questionCount\": 1}";
+        call("POST", "/api/sessions", body, 413);
+        
+        // Without a Content-Length the body is sent chunked and capped while it is read
+        HttpRequest chunked = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/api/sessions"))
+            .POST(HttpRequest.BodyPublishers.ofInputStream(
+                () -> new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+            .build();
+        HttpResponse<String> response = client.send(chunked, HttpResponse.BodyHandlers.ofString());
+        assertEquals(413, response.statusCode(), response.body());
+        
+        String small = "{\"candidate\": \"" + "x".repeat(100) + "\", \"questionCount\": 1}";
+        call("POST", "/api/sessions", small, 200);
+    }
+    
+    private JsonNode call(String method, String path, String body, int expectedStatus) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+            .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), response.body());
+        return mapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,75 @@
+package com.interviewprep.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the indexed min-heap
+ */
+public class IndexedMinHeapTest {
+    
+    @Test
+    public void testUpdateAndRemove() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.set(0, 50);
+        heap.set(1, 20);
+        heap.set(7, 30);
+        assertEquals(1, heap.peek());
+        
+        heap.set(0, 10);
+        assertEquals(0, heap.peek());
+        heap.set(0, 99);
+        assertEquals(1, heap.peek());
+        assertEquals(99, heap.priority(0));
+        
+        assertTrue(heap.remove(1));
+        assertFalse(heap.remove(1));
+        assertFalse(heap.contains(1));
+        assertEquals(7, heap.poll());
+        assertEquals(0, heap.poll());
+        assertTrue(heap.isEmpty());
+        assertThrows(NoSuchElementException.class, heap::peek);
+        assertThrows(IllegalArgumentException.class, () -> heap.set(-1, 0));
+    }
+    
+    @Test
+    public void testMatchesPriorityQueue() {
+        Random random = new Random(42);
+        long[] priorities = new long[1000];
+        IndexedMinHeap heap = new IndexedMinHeap();
+        for (int key = 0; key < priorities.length; key++) {
+            priorities[key] = random.nextInt(10_000);
+            heap.set(key, priorities[key]);
+        }
+        // Reprioritize and remove a random subset
+        for (int i = 0; i < 2000; i++) {
+            int key = random.nextInt(priorities.length);
+            if (priorities[key] < 0) {
+                continue;
+            }
+            if (random.nextInt(4) == 0) {
+                heap.remove(key);
+                priorities[key] = -1;
+            } else {
+                priorities[key] = random.nextInt(10_000);
+                heap.set(key, priorities[key]);
+            }
+        }
+        
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        for (long priority : priorities) {
+            if (priority >= 0) {
+                expected.add(priority);
+            }
+        }
+        assertEquals(expected.size(), heap.size());
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll().longValue(), priorities[heap.poll()]);
+        }
+    }
+}
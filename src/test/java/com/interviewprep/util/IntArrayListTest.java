@@ -0,0 +1,58 @@
+package com.interviewprep.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the primitive int list
+ */
+public class IntArrayListTest {
+    
+    @Test
+    public void testInsertRemoveAndSort() {
+        IntArrayList list = new IntArrayList(0);
+        list.add(10);
+        list.add(0, 5);
+        list.add(15);
+        list.add(20);
+        assertEquals("[5, 10, 15, 20]", list.toString());
+        assertEquals(5, list.get(0));
+        assertEquals(20, list.get(list.size() - 1));
+        assertEquals(10, list.set(1, 30));
+        assertEquals(2, list.indexOf(15));
+        assertFalse(list.contains(10));
+        
+        assertEquals(5, list.removeAt(0));
+        list.sort();
+        assertArrayEquals(new int[] {15, 20, 30}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, 1));
+    }
+    
+    @Test
+    public void testMatchesArrayList() {
+        Random random = new Random(42);
+        IntArrayList list = new IntArrayList();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt();
+            if (!expected.isEmpty() && random.nextInt(4) == 0) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index).intValue(), list.removeAt(index));
+            } else {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, value);
+                list.add(index, value);
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).intValue(), list.get(i));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.interviewprep.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the primitive int min-heap
+ */
+public class IntBinaryHeapTest {
+    
+    @Test
+    public void testMatchesPriorityQueue() {
+        Random random = new Random(42);
+        IntBinaryHeap heap = new IntBinaryHeap(1);
+        PriorityQueue<Integer> expected = new PriorityQueue<>();
+        for (int i = 0; i < 50_000; i++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                assertEquals(expected.poll().intValue(), heap.poll());
+            } else {
+                int value = random.nextInt(1000) - 500;
+                expected.offer(value);
+                heap.offer(value);
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        while (!expected.isEmpty()) {
+            assertEquals(expected.peek().intValue(), heap.peek());
+            assertEquals(expected.poll().intValue(), heap.poll());
+        }
+        assertTrue(heap.isEmpty());
+        assertThrows(NoSuchElementException.class, heap::poll);
+    }
+}
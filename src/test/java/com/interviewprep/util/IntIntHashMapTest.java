@@ -0,0 +1,65 @@
+package com.interviewprep.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the open-addressing int-to-int map
+ */
+public class IntIntHashMapTest {
+    
+    @Test
+    public void testZeroKeyAndDefaults() {
+        IntIntHashMap map = new IntIntHashMap();
+        assertEquals(-1, map.get(0, -1));
+        assertEquals(-1, map.put(0, 7, -1));
+        assertEquals(7, map.put(0, 8, -1));
+        assertTrue(map.containsKey(0));
+        assertEquals(3, map.addTo(42, 3));
+        assertEquals(5, map.addTo(42, 2));
+        assertEquals(2, map.size());
+        assertEquals("{0=8, 42=5}", map.toString());
+        
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(1, map.size());
+    }
+    
+    @Test
+    public void testMatchesHashMapThroughResizesAndRemovals() {
+        Random random = new Random(42);
+        IntIntHashMap map = new IntIntHashMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // A small key range forces long probe runs, collisions and backward shifts
+            int key = random.nextInt(20_000) - 10_000;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.remove(key) != null, map.remove(key));
+                    break;
+                case 1:
+                    assertEquals(expected.merge(key, 1, Integer::sum).intValue(), map.addTo(key, 1));
+                    break;
+                default:
+                    Integer previous = expected.put(key, i);
+                    assertEquals(previous == null ? -1 : previous, map.put(key, i, -1));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -10_000; key < 10_000; key++) {
+            assertEquals(expected.getOrDefault(key, Integer.MIN_VALUE).intValue(), map.get(key, Integer.MIN_VALUE));
+        }
+        int[] visited = {0};
+        map.forEach((key, value) -> {
+            assertEquals(expected.get(key).intValue(), value);
+            visited[0]++;
+        });
+        assertEquals(expected.size(), visited[0]);
+    }
+}
@@ -0,0 +1,124 @@
+package com.interviewprep.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the B+-tree int-to-int map
+ */
+public class IntIntTreeMapTest {
+    
+    @Test
+    public void testNavigation() {
+        IntIntTreeMap map = new IntIntTreeMap();
+        assertThrows(NoSuchElementException.class, map::firstKey);
+        assertEquals(-1, map.floorKey(5, -1));
+        for (int key : new int[] {30, 10, 50, 20}) {
+            map.put(key, key * 2);
+        }
+        assertEquals(60, map.put(30, 31, -1));
+        assertEquals("{10=20, 20=40, 30=31, 50=100}", map.toString());
+        assertEquals(10, map.firstKey());
+        assertEquals(50, map.lastKey());
+        assertEquals(20, map.floorKey(25, -1));
+        assertEquals(20, map.floorKey(20, -1));
+        assertEquals(-1, map.floorKey(9, -1));
+        assertEquals(30, map.ceilingKey(25, -1));
+        assertEquals(-1, map.ceilingKey(51, -1));
+        assertEquals(10, map.lowerKey(20, -1));
+        assertEquals(30, map.higherKey(20, -1));
+        assertEquals(-1, map.higherKey(Integer.MAX_VALUE, -1));
+        assertEquals("[10, 20]", keys(map, 0, 25));
+    }
+    
+    @Test
+    public void testMatchesTreeMapAcrossSplitsAndRemovals() {
+        Random random = new Random(42);
+        IntIntTreeMap map = new IntIntTreeMap();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 300_000; i++) {
+            int key = random.nextInt(50_000) - 25_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, i);
+                assertEquals(previous == null ? -1 : previous, map.put(key, i, -1));
+            }
+        }
+        assertMatches(expected, map);
+        
+        // Removing whole key ranges empties leaves and inner nodes
+        for (int key = -25_000; key < 20_000; key++) {
+            assertEquals(expected.remove(key) != null, map.remove(key));
+        }
+        assertMatches(expected, map);
+        for (int key = 20_000; key < 25_000; key++) {
+            map.remove(key);
+        }
+        assertTrue(map.isEmpty());
+        assertEquals(-1, map.ceilingKey(0, -1));
+        map.put(7, 7);
+        assertEquals(7, map.firstKey());
+        assertEquals(7, map.lastKey());
+    }
+    
+    @Test
+    public void testAscendingInsertsFillLeaves() {
+        IntIntTreeMap map = new IntIntTreeMap();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int key = 0; key < 100_000; key++) {
+            map.put(key, -key);
+            expected.put(key, -key);
+        }
+        assertMatches(expected, map);
+        assertEquals("[99998, 99999]", keys(map, 99_998, Integer.MAX_VALUE));
+    }
+    
+    private static void assertMatches(TreeMap<Integer, Integer> expected, IntIntTreeMap map) {
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.firstKey().intValue(), map.firstKey());
+        assertEquals(expected.lastKey().intValue(), map.lastKey());
+        List<String> entries = new ArrayList<>();
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+        assertEquals(new ArrayList<>(expected.entrySet()).toString(), entries.toString());
+        
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            int key = expected.firstKey() - 10 + random.nextInt(expected.lastKey() - expected.firstKey() + 20);
+            assertEquals(expected.getOrDefault(key, -1).intValue(), map.get(key, -1));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(orDefault(expected.floorKey(key)), map.floorKey(key, Integer.MIN_VALUE));
+            assertEquals(orDefault(expected.ceilingKey(key)), map.ceilingKey(key, Integer.MIN_VALUE));
+            assertEquals(orDefault(expected.lowerKey(key)), map.lowerKey(key, Integer.MIN_VALUE));
+            assertEquals(orDefault(expected.higherKey(key)), map.higherKey(key, Integer.MIN_VALUE));
+        }
+        for (int i = 0; i < 200; i++) {
+            int from = expected.firstKey() + random.nextInt(expected.lastKey() - expected.firstKey() + 1);
+            int to = from + random.nextInt(2_000);
+            assertEquals(expected.subMap(from, to).keySet().toString(), keys(map, from, to));
+        }
+        List<Integer> head = new ArrayList<>();
+        map.headMap(0, (key, value) -> head.add(key));
+        assertEquals(new ArrayList<>(expected.headMap(0).keySet()), head);
+        List<Integer> tail = new ArrayList<>();
+        map.tailMap(0, (key, value) -> tail.add(key));
+        assertEquals(new ArrayList<>(expected.tailMap(0).keySet()), tail);
+    }
+    
+    private static int orDefault(Integer key) {
+        return key == null ? Integer.MIN_VALUE : key;
+    }
+    
+    private static String keys(IntIntTreeMap map, int from, int to) {
+        List<Integer> keys = new ArrayList<>();
+        map.subMap(from, to, (key, value) -> keys.add(key));
+        return keys.toString();
+    }
+}
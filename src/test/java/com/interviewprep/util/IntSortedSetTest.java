@@ -0,0 +1,63 @@
+package com.interviewprep.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the blocked sorted int set
+ */
+public class IntSortedSetTest {
+    
+    @Test
+    public void testNavigation() {
+        IntSortedSet set = new IntSortedSet();
+        assertThrows(NoSuchElementException.class, set::first);
+        for (int value : new int[] {30, 10, 50, 20, 10}) {
+            set.add(value);
+        }
+        assertEquals("[10, 20, 30, 50]", set.toString());
+        assertEquals(10, set.first());
+        assertEquals(50, set.last());
+        assertArrayEquals(new int[] {10, 20}, set.headSet(25));
+        assertArrayEquals(new int[] {20, 30, 50}, set.tailSet(15));
+        assertArrayEquals(new int[] {}, set.headSet(Integer.MIN_VALUE));
+    }
+    
+    @Test
+    public void testMatchesTreeSetAcrossBlockSplitsAndMerges() {
+        Random random = new Random(42);
+        IntSortedSet set = new IntSortedSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals(expected.first().intValue(), set.first());
+        assertEquals(expected.last().intValue(), set.last());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), set.toArray());
+        assertArrayEquals(expected.headSet(7_000).stream().mapToInt(Integer::intValue).toArray(), set.headSet(7_000));
+        assertArrayEquals(expected.tailSet(13_001).stream().mapToInt(Integer::intValue).toArray(), set.tailSet(13_001));
+        for (int value = 0; value < 20_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+        
+        // Emptying the set removes every block but the first
+        for (int value = 0; value < 20_000; value++) {
+            set.remove(value);
+        }
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(5));
+        assertTrue(set.add(5));
+        assertEquals(5, set.first());
+    }
+}
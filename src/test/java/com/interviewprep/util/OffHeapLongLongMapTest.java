@@ -0,0 +1,91 @@
+package com.interviewprep.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the off-heap long-to-long map, in memory and file-backed
+ */
+public class OffHeapLongLongMapTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void testMatchesHashMapThroughResizesAndRemovals() {
+        OffHeapLongLongMap map = OffHeapLongLongMap.allocate(1);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(20_000) - 10_000L;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.remove(key) != null, map.remove(key));
+                    break;
+                case 1:
+                    assertEquals(expected.merge(key, 3L, Long::sum).longValue(), map.addTo(key, 3));
+                    break;
+                default:
+                    expected.put(key, (long) i);
+                    map.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = -10_000; key < 10_000; key++) {
+            assertEquals(expected.getOrDefault(key, -1L).longValue(), map.get(key, -1));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        map.close();
+        assertThrows(IllegalStateException.class, () -> map.get(1, 0));
+    }
+    
+    @Test
+    public void testFileBackedMapSurvivesReopenAndResize() throws IOException {
+        Path file = directory.resolve("usage.map");
+        try (OffHeapLongLongMap map = OffHeapLongLongMap.open(file, 10)) {
+            // Key 0 lives in the header, which every resize has to carry over
+            map.put(0, 42);
+            for (long key = 0; key < 1000; key++) {
+                map.addTo(key << 32 | 7, key); // grows the file several times
+            }
+            assertEquals(1001, map.size());
+            assertEquals(42, map.get(0, -1));
+        }
+        assertFalse(Files.exists(directory.resolve("usage.map.resize")));
+        
+        try (OffHeapLongLongMap map = OffHeapLongLongMap.open(file, 10)) {
+            assertEquals(1001, map.size());
+            assertTrue(map.containsKey(0));
+            assertEquals(42, map.get(0, -1));
+            for (long key = 0; key < 1000; key++) {
+                assertEquals(key, map.get(key << 32 | 7, -1));
+            }
+            assertEquals(Files.size(file), map.getAllocatedBytes());
+            map.remove(7);
+            map.addTo(0, 8);
+        }
+        try (OffHeapLongLongMap map = OffHeapLongLongMap.open(file, 10)) {
+            assertEquals(1000, map.size());
+            assertEquals(50, map.get(0, -1));
+            assertTrue(map.remove(0));
+        }
+        try (OffHeapLongLongMap map = OffHeapLongLongMap.open(file, 10)) {
+            assertEquals(999, map.size());
+            assertFalse(map.containsKey(0));
+            assertEquals(-1, map.get(0, -1));
+        }
+        
+        Path garbage = directory.resolve("garbage.map");
+        Files.write(garbage, new byte[128]);
+        assertThrows(IOException.class, () -> OffHeapLongLongMap.open(garbage, 10));
+    }
+}
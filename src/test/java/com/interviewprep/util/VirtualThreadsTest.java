@@ -0,0 +1,30 @@
+package com.interviewprep.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the reflective virtual thread access, on whichever JDK runs them
+ */
+public class VirtualThreadsTest {
+    
+    @Test
+    public void testFactoryMatchesSupport() throws InterruptedException {
+        if (!VirtualThreads.isSupported()) {
+            assertThrows(UnsupportedOperationException.class, VirtualThreads::factory);
+            assertThrows(UnsupportedOperationException.class, VirtualThreads::newVirtualThreadPerTaskExecutor);
+            return;
+        }
+        ThreadFactory factory = VirtualThreads.factory();
+        AtomicBoolean ran = new AtomicBoolean();
+        Thread thread = factory.newThread(() -> ran.set(true));
+        assertEquals(Thread.State.NEW, thread.getState());
+        thread.start();
+        thread.join();
+        assertTrue(ran.get());
+    }
+}
@@ -0,0 +1,114 @@
+package com.interviewprep.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for chunked validation of candidate files
+ */
+public class CandidateFileValidatorTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    public void testFlagsEachInvalidField() throws IOException {
+        Path file = tempDir.resolve("candidates.csv");
+        Files.write(file, ("\uFEFFemail,\"Name\",Age\r\n"
+            + "ada@example.org,Ada,36\r\n"
+            + "bob.example.org,Bob,17\r\n"
+            + "\"cy@example.org\",\"Cy, Jr.\",\" 42 \"\r\n"
+            + "dee@example.org,Dee,n/a\r\n"
+            + "eve@example.org\r\n"
+            + "\r\n"
+            + "zoë@example.org,Zoë,18\r\n"
+            + "\r\n"
+            + "\n").getBytes(StandardCharsets.UTF_8));
+        
+        ValidationReport report = new CandidateFileValidator(2).validate(file);
+        
+        // Blank lines, in the middle and trailing, are valid rows, so row N stays line N + 1
+        assertEquals(9, report.getRows());
+        assertEquals(3, report.getInvalidRows());
+        assertEquals(3, report.getAgeErrors());
+        assertEquals(1, report.getEmailErrors());
+        assertFalse(report.isAgeInvalid(1) || report.isEmailInvalid(1));
+        assertTrue(report.isAgeInvalid(2) && report.isEmailInvalid(2));
+        assertFalse(report.isAgeInvalid(3) || report.isEmailInvalid(3));
+        assertTrue(report.isAgeInvalid(4));
+        assertTrue(report.isAgeInvalid(5) && !report.isEmailInvalid(5));
+        assertFalse(report.isAgeInvalid(6) || report.isEmailInvalid(6));
+        assertFalse(report.isAgeInvalid(7) || report.isEmailInvalid(7));
+        
+        ValidationReport.RowError first = report.getSamples().get(0);
+        assertEquals(2, first.getRow());
+        assertEquals(3, first.getLine());
+        assertSame(ValidationResult.AGE_UNDER_18, first.getResult());
+        assertEquals("17", first.getValue());
+        assertSame(ValidationResult.AGE_NOT_A_NUMBER, report.getSamples().get(2).getResult());
+        assertEquals("n/a", report.getSamples().get(2).getValue());
+    }
+    
+    @Test
+    public void testSmallChunksMatchALineByLineCount() throws IOException {
+        Path file = tempDir.resolve("sample.csv");
+        CandidateFileValidator.writeSample(file, 20_000, 7);
+        
+        // Tiny chunks put a boundary inside most rows
+        ValidationReport report = new CandidateFileValidator(3, 101).validate(file);
+        ValidationReport single = new CandidateFileValidator(1).validate(file);
+        
+        long rows = 0;
+        long ageErrors = 0;
+        long emailErrors = 0;
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            in.readLine();
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                rows++;
+                String[] fields = line.split(",");
+                boolean badAge = fields[2].equals("n/a") || Integer.parseInt(fields[2]) < 18;
+                boolean badEmail = !fields[3].contains("@");
+                ageErrors += badAge ? 1 : 0;
+                emailErrors += badEmail ? 1 : 0;
+                assertEquals(badAge, report.isAgeInvalid(rows), "age of row " + rows);
+                assertEquals(badEmail, report.isEmailInvalid(rows), "email of row " + rows);
+            }
+        }
+        assertEquals(rows, report.getRows());
+        assertEquals(ageErrors, report.getAgeErrors());
+        assertEquals(emailErrors, report.getEmailErrors());
+        assertEquals(single.getErrorBits(), report.getErrorBits());
+        assertEquals(ValidationReport.SAMPLE_LIMIT, report.getSamples().size());
+        assertEquals(single.getSamples().get(9).getRow(), report.getSamples().get(9).getRow());
+    }
+    
+    @Test
+    public void testRejectsFileWithoutTheColumns() throws IOException {
+        Path file = tempDir.resolve("names.csv");
+        Files.write(file, "id,name\n1,Ada\n".getBytes(StandardCharsets.UTF_8));
+        
+        IOException e = assertThrows(IOException.class, () -> new CandidateFileValidator(1).validate(file));
+        assertTrue(e.getMessage().contains("no age and email columns"));
+    }
+    
+    @Test
+    public void testRejectsOverlongRow() throws IOException {
+        Path file = tempDir.resolve("long.csv");
+        StringBuilder content = new StringBuilder("age,email\n20,");
+        for (int i = 0; i < 100_000; i++) {
+            content.append('x');
+        }
+        content.append("@example.org\n21,a@b.org\n");
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        
+        assertThrows(IOException.class, () -> new CandidateFileValidator(2, 1024).validate(file));
+    }
+}